@@ -0,0 +1,112 @@
+package com.toDoList.benchmarks;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.lang.reflect.Type;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.core.ParameterizedTypeReference;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpOutputMessage;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.GenericHttpMessageConverter;
+import org.springframework.http.converter.json.MappingJackson2HttpMessageConverter;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.toDoList.TaskPriority;
+import com.toDoList.config.CacheProperties;
+import com.toDoList.config.JacksonConfig;
+import com.toDoList.controllers.TaskJsonMessageConverter;
+import com.toDoList.models.Tasks;
+import com.toDoList.services.TaskJsonCache;
+import com.toDoList.services.TaskRepository;
+
+import io.micrometer.core.instrument.composite.CompositeMeterRegistry;
+
+/**
+ * Benchmarks of writing a GET /todos page as JSON through the Jackson message converter and
+ * through the converter copying the cached bytes of each task. Run with -prof gc for allocations.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class TaskJsonCacheBenchmark {
+
+    static final int PAGE_SIZE = 100;
+    private static final Type PAGE_TYPE = new ParameterizedTypeReference<List<Tasks>>() { }.getType();
+
+    private GenericHttpMessageConverter<Object> jacksonConverter;
+    private GenericHttpMessageConverter<Object> cachedConverter;
+    private List<Tasks> page;
+    private Response response;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        ObjectMapper objectMapper = new JacksonConfig().objectMapper();
+        TaskJsonCache taskJsonCache = new TaskJsonCache(new TaskRepository(), objectMapper, new CacheProperties(),
+                new CompositeMeterRegistry());
+        jacksonConverter = new MappingJackson2HttpMessageConverter(objectMapper);
+        cachedConverter = new TaskJsonMessageConverter(taskJsonCache);
+        page = new ArrayList<>();
+        for (int i = 1; i <= PAGE_SIZE; i++) {
+            Tasks pageTask = new Tasks(i, "Task " + i, TaskPriority.values()[i % 3], false, LocalDate.now().plusDays(i));
+            page.add(pageTask);
+        }
+        response = new Response();
+        // Warm the cache as repeated reads of the same page would
+        cachedConverter.write(page, PAGE_TYPE, MediaType.APPLICATION_JSON, response.reset());
+    }
+
+    @Benchmark
+    public int writePageWithJackson() throws IOException {
+        jacksonConverter.write(page, PAGE_TYPE, MediaType.APPLICATION_JSON, response.reset());
+        return response.body.size();
+    }
+
+    @Benchmark
+    public int writePageFromCache() throws IOException {
+        cachedConverter.write(page, PAGE_TYPE, MediaType.APPLICATION_JSON, response.reset());
+        return response.body.size();
+    }
+
+    // A response whose body buffer is reused, like the servlet container's output buffer
+    private static final class Response implements HttpOutputMessage {
+
+        private final ByteArrayOutputStream body = new ByteArrayOutputStream(64 * 1024);
+        private HttpHeaders headers = new HttpHeaders();
+
+        Response reset() {
+            body.reset();
+            headers = new HttpHeaders();
+            return this;
+        }
+
+        @Override
+        public OutputStream getBody() {
+            return body;
+        }
+
+        @Override
+        public HttpHeaders getHeaders() {
+            return headers;
+        }
+    }
+}
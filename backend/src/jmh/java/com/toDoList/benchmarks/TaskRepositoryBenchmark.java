@@ -0,0 +1,115 @@
+package com.toDoList.benchmarks;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.toDoList.TaskPriority;
+import com.toDoList.config.CacheProperties;
+import com.toDoList.config.StorageProperties;
+import com.toDoList.models.CompletionTimeReport;
+import com.toDoList.models.Tasks;
+import com.toDoList.services.TaskRepository;
+
+/**
+ * Benchmarks of the repository operations behind the task endpoints, by dataset size.
+ * The query cache is disabled so every findAll reaches the store.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class TaskRepositoryBenchmark {
+
+    static final int PAGE_SIZE = 50;
+
+    @State(Scope.Benchmark)
+    public static class Dataset {
+
+        @Param({ "1000", "100000", "1000000", "10000000" })
+        int taskCount;
+
+        // Storage engine: indexed objects, compact columns, indexed objects split into shards or mapped files
+        @Param({ "memory", "columnar", "sharded", "mapped" })
+        String store;
+
+        TaskRepository taskRepository;
+
+        @Setup(Level.Trial)
+        public void populate() {
+            CacheProperties cacheProperties = new CacheProperties();
+            cacheProperties.setMaxSize(0);
+            taskRepository = new TaskRepository(new StorageProperties(), cacheProperties, TaskStoreFootprint.populate(store, taskCount));
+        }
+    }
+
+    @State(Scope.Benchmark)
+    public static class Query {
+
+        // Filter selectivity: none, priority (1/3), completed (1/2) and name (1/100)
+        @Param({ "none", "priority", "completed", "name" })
+        String filter;
+
+        @Param({ "none", "priority", "taskDueDate" })
+        String sortBy;
+
+        String priority;
+        Boolean completed;
+        String taskName;
+
+        @Setup(Level.Trial)
+        public void resolve() {
+            priority = "priority".equals(filter) ? "HIGH" : null;
+            completed = "completed".equals(filter) ? Boolean.TRUE : null;
+            taskName = "name".equals(filter) ? "urgent" : null;
+        }
+    }
+
+    @Benchmark
+    public List<Tasks> findAll(Dataset dataset, Query query) {
+        return dataset.taskRepository.findAll(0, PAGE_SIZE, "none".equals(query.sortBy) ? null : query.sortBy, null,
+                query.priority, query.completed, query.taskName);
+    }
+
+    @Benchmark
+    public Tasks findById(Dataset dataset) {
+        return dataset.taskRepository.findById(ThreadLocalRandom.current().nextInt(1, dataset.taskCount + 1)).orElse(null);
+    }
+
+    @Benchmark
+    public boolean createAndDelete(Dataset dataset) {
+        Tasks task = new Tasks(null, "Benchmark task", TaskPriority.MEDIUM, false);
+        dataset.taskRepository.create(task);
+        return dataset.taskRepository.delete(task.getId());
+    }
+
+    @Benchmark
+    public double averageCompletionTime(Dataset dataset) {
+        return dataset.taskRepository.getAverageCompletionTime();
+    }
+
+    @Benchmark
+    public Map<TaskPriority, Double> averageCompletionTimePerPriority(Dataset dataset) {
+        return dataset.taskRepository.getAverageCompletionTimePerPriority();
+    }
+
+    @Benchmark
+    public CompletionTimeReport completionTimeDistribution(Dataset dataset) {
+        return dataset.taskRepository.getCompletionTimeDistribution();
+    }
+}
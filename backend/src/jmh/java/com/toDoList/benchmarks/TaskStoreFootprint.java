@@ -0,0 +1,96 @@
+package com.toDoList.benchmarks;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.lang.management.ManagementFactory;
+import java.nio.file.Files;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+import com.toDoList.TaskPriority;
+import com.toDoList.models.Tasks;
+import com.toDoList.services.ColumnarTaskStore;
+import com.toDoList.services.InMemoryTaskStore;
+import com.toDoList.services.MappedTaskStore;
+import com.toDoList.services.ShardedTaskStore;
+import com.toDoList.services.TaskStore;
+
+/**
+ * Measures the retained heap of the stores for the given task counts, by comparing
+ * the heap used after a full GC before and after populating each store.
+ * Arguments: the store modes to measure (memory, columnar, sharded, mapped) followed by the task counts.
+ * The mapped store writes its files to a temporary directory.
+ */
+public class TaskStoreFootprint {
+
+    public static void main(String[] args) {
+        List<String> modes = new ArrayList<>();
+        List<Integer> taskCounts = new ArrayList<>();
+        for (String arg : args) {
+            if (Character.isDigit(arg.charAt(0))) {
+                taskCounts.add(Integer.parseInt(arg));
+            } else {
+                modes.add(arg);
+            }
+        }
+        if (modes.isEmpty()) {
+            modes = List.of("memory", "columnar");
+        }
+        if (taskCounts.isEmpty()) {
+            taskCounts = List.of(1_000_000, 10_000_000);
+        }
+        System.out.printf("%-10s %12s %14s %12s%n", "store", "tasks", "heap (MB)", "bytes/task");
+        for (int taskCount : taskCounts) {
+            for (String mode : modes) {
+                long before = usedHeap();
+                TaskStore store = populate(mode, taskCount);
+                long retained = usedHeap() - before;
+                System.out.printf(Locale.ROOT, "%-10s %12d %14.1f %12.1f%n", mode, store.size(), retained / 1048576.0,
+                        (double) retained / taskCount);
+            }
+        }
+    }
+
+    static TaskStore populate(String mode, int taskCount) {
+        TaskStore store = switch (mode) {
+            case "columnar" -> new ColumnarTaskStore();
+            case "sharded" -> new ShardedTaskStore(Runtime.getRuntime().availableProcessors());
+            case "mapped" -> openMapped();
+            default -> new InMemoryTaskStore();
+        };
+        LocalDate today = LocalDate.now();
+        int created = 0;
+        while (created < taskCount) {
+            List<Tasks> chunk = new ArrayList<>();
+            for (int i = 0; i < 10000 && created < taskCount; i++, created++) {
+                // One task in a hundred carries the name searched by the "name" filter
+                String name = created % 100 == 0 ? "Task " + created + " urgent" : "Task " + created;
+                chunk.add(new Tasks(null, name, TaskPriority.values()[created % 3], false, today.plusDays(created % 365)));
+            }
+            store.insertAll(chunk);
+        }
+        for (int id = 2; id <= taskCount; id += 2) {
+            store.update(id, task -> task.setCompleted(true));
+        }
+        return store;
+    }
+
+    private static MappedTaskStore openMapped() {
+        try {
+            MappedTaskStore store = new MappedTaskStore(Files.createTempDirectory("tasks-mapped"));
+            store.open();
+            return store;
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static long usedHeap() {
+        for (int i = 0; i < 3; i++) {
+            System.gc();
+        }
+        return ManagementFactory.getMemoryMXBean().getHeapMemoryUsage().getUsed();
+    }
+}
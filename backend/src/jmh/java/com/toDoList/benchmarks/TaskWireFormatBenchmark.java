@@ -0,0 +1,94 @@
+package com.toDoList.benchmarks;
+
+import java.io.IOException;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.fasterxml.jackson.databind.JavaType;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.toDoList.TaskPriority;
+import com.toDoList.config.JacksonConfig;
+import com.toDoList.models.Tasks;
+
+/**
+ * Benchmarks of the (de)serialization done by the message converters, using the application's
+ * mappers for each wire format: a single task as in GET /todos/{id} and a page as in GET /todos.
+ * The payload sizes of each format are printed once per trial.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class TaskWireFormatBenchmark {
+
+    @Param({ "json", "cbor", "smile" })
+    public String format;
+
+    @Param({ "50", "1000" })
+    public int pageSize;
+
+    private ObjectMapper objectMapper;
+    private JavaType pageType;
+    private Tasks task;
+    private List<Tasks> page;
+    private byte[] taskBytes;
+    private byte[] pageBytes;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        JacksonConfig jacksonConfig = new JacksonConfig();
+        objectMapper = switch (format) {
+            case "cbor" -> jacksonConfig.cborMapper();
+            case "smile" -> jacksonConfig.smileMapper();
+            default -> jacksonConfig.objectMapper();
+        };
+        pageType = objectMapper.getTypeFactory().constructCollectionType(List.class, Tasks.class);
+        page = new ArrayList<>();
+        for (int i = 1; i <= pageSize; i++) {
+            Tasks pageTask = new Tasks(i, "Task " + i, TaskPriority.values()[i % 3], false, LocalDate.now().plusDays(i));
+            page.add(pageTask);
+        }
+        task = page.get(0);
+        taskBytes = objectMapper.writeValueAsBytes(task);
+        pageBytes = objectMapper.writeValueAsBytes(page);
+        System.out.printf("%n%s: %d bytes per task, %d bytes per page of %d tasks%n",
+                format, taskBytes.length, pageBytes.length, pageSize);
+    }
+
+    @Benchmark
+    public byte[] serializeTask() throws IOException {
+        return objectMapper.writeValueAsBytes(task);
+    }
+
+    @Benchmark
+    public byte[] serializePage() throws IOException {
+        return objectMapper.writeValueAsBytes(page);
+    }
+
+    @Benchmark
+    public Tasks deserializeTask() throws IOException {
+        return objectMapper.readValue(taskBytes, Tasks.class);
+    }
+
+    @Benchmark
+    public List<Tasks> deserializePage() throws IOException {
+        return objectMapper.readValue(pageBytes, pageType);
+    }
+}
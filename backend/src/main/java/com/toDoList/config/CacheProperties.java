@@ -0,0 +1,46 @@
+package com.toDoList.config;
+
+import java.time.Duration;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Settings for the findAll query result cache and the serialized task cache, bound from the
+ * todo.cache.* properties.
+ */
+@Configuration
+@ConfigurationProperties(prefix = "todo.cache")
+public class CacheProperties {
+
+    // Maximum number of cached query results; 0 disables the cache
+    private int maxSize = 256;
+    // How long a result may be served before it is reloaded, even without local mutations
+    private Duration ttl = Duration.ofSeconds(30);
+    // Maximum number of tasks whose JSON is kept; 0 disables the cache
+    private int jsonMaxSize = 100000;
+
+    public int getMaxSize() {
+        return maxSize;
+    }
+
+    public void setMaxSize(int maxSize) {
+        this.maxSize = maxSize;
+    }
+
+    public Duration getTtl() {
+        return ttl;
+    }
+
+    public void setTtl(Duration ttl) {
+        this.ttl = ttl;
+    }
+
+    public int getJsonMaxSize() {
+        return jsonMaxSize;
+    }
+
+    public void setJsonMaxSize(int jsonMaxSize) {
+        this.jsonMaxSize = jsonMaxSize;
+    }
+}
@@ -3,16 +3,52 @@ package com.toDoList.config;
 import com.fasterxml.jackson.annotation.JsonInclude;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.dataformat.cbor.databind.CBORMapper;
+import com.fasterxml.jackson.dataformat.smile.databind.SmileMapper;
 import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.http.converter.cbor.MappingJackson2CborHttpMessageConverter;
+import org.springframework.http.converter.smile.MappingJackson2SmileHttpMessageConverter;
 
 @Configuration
 public class JacksonConfig {
 
     @Bean
     public ObjectMapper objectMapper() {
-        ObjectMapper mapper = new ObjectMapper();
+        return configure(new ObjectMapper());
+    }
+
+    /**
+     * Reads and writes application/cbor bodies with the same settings as the JSON mapper. Replaces
+     * the converter Spring MVC would otherwise register with its own defaults.
+     *
+     * @return the CBOR message converter
+     */
+    @Bean
+    public MappingJackson2CborHttpMessageConverter cborHttpMessageConverter() {
+        return new MappingJackson2CborHttpMessageConverter(cborMapper());
+    }
+
+    /**
+     * Reads and writes application/x-jackson-smile bodies with the same settings as the JSON mapper.
+     *
+     * @return the Smile message converter
+     */
+    @Bean
+    public MappingJackson2SmileHttpMessageConverter smileHttpMessageConverter() {
+        return new MappingJackson2SmileHttpMessageConverter(smileMapper());
+    }
+
+    public CBORMapper cborMapper() {
+        return configure(new CBORMapper());
+    }
+
+    public SmileMapper smileMapper() {
+        return configure(new SmileMapper());
+    }
+
+    private static <M extends ObjectMapper> M configure(M mapper) {
         // Registrar módulo para manejar LocalDate y LocalDateTime
         mapper.registerModule(new JavaTimeModule());
         // Evitar escribir fechas como timestamps
@@ -0,0 +1,59 @@
+package com.toDoList.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Storage settings for the task repository, bound from the todo.storage.* properties.
+ */
+@Configuration
+@ConfigurationProperties(prefix = "todo.storage")
+public class StorageProperties {
+
+    public enum Mode {
+        MEMORY, COLUMNAR, SHARDED, MAPPED, JDBC
+    }
+
+    // Storage engine: in-memory indexes, compact in-memory columns, lock-striped in-memory shards,
+    // records in memory-mapped files, or the configured JDBC datasource
+    private Mode mode = Mode.MEMORY;
+    // Number of shards in sharded mode, one per core by default
+    private int shards = Runtime.getRuntime().availableProcessors();
+    // Directory for the write-ahead log and snapshots, or the mapped files in mapped mode;
+    // tasks are kept in memory only when unset
+    private String dataDir;
+    // Number of logged mutations after which a new snapshot is written and the log truncated
+    private int snapshotEvery = 10000;
+
+    public Mode getMode() {
+        return mode;
+    }
+
+    public void setMode(Mode mode) {
+        this.mode = mode;
+    }
+
+    public int getShards() {
+        return shards;
+    }
+
+    public void setShards(int shards) {
+        this.shards = shards;
+    }
+
+    public String getDataDir() {
+        return dataDir;
+    }
+
+    public void setDataDir(String dataDir) {
+        this.dataDir = dataDir;
+    }
+
+    public int getSnapshotEvery() {
+        return snapshotEvery;
+    }
+
+    public void setSnapshotEvery(int snapshotEvery) {
+        this.snapshotEvery = snapshotEvery;
+    }
+}
@@ -0,0 +1,65 @@
+package com.toDoList.config;
+
+import java.io.IOException;
+import java.nio.file.Path;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.toDoList.services.ColumnarTaskStore;
+import com.toDoList.services.InMemoryTaskStore;
+import com.toDoList.services.JdbcTaskStore;
+import com.toDoList.services.MappedTaskStore;
+import com.toDoList.services.ShardedTaskStore;
+import com.toDoList.services.TaskStore;
+
+@Configuration
+public class TaskStoreConfig {
+
+    // Default engine: everything on the heap, optionally made durable with todo.storage.data-dir
+    @Bean
+    @ConditionalOnProperty(name = "todo.storage.mode", havingValue = "memory", matchIfMissing = true)
+    public TaskStore inMemoryTaskStore() {
+        return new InMemoryTaskStore();
+    }
+
+    // Compact primitive columns on the heap, for datasets too large for the indexed store
+    @Bean
+    @ConditionalOnProperty(name = "todo.storage.mode", havingValue = "columnar")
+    public TaskStore columnarTaskStore() {
+        return new ColumnarTaskStore();
+    }
+
+    // Indexed heap store split into independently locked shards, for write-heavy loads on many cores
+    @Bean
+    @ConditionalOnProperty(name = "todo.storage.mode", havingValue = "sharded")
+    public TaskStore shardedTaskStore(StorageProperties storageProperties) {
+        return new ShardedTaskStore(storageProperties.getShards());
+    }
+
+    // Fixed-size records in memory-mapped files, for datasets larger than the heap; closed (and forced
+    // to disk) on shutdown through its inferred close method
+    @Bean
+    @ConditionalOnProperty(name = "todo.storage.mode", havingValue = "mapped")
+    public TaskStore mappedTaskStore(StorageProperties storageProperties) throws IOException {
+        if (storageProperties.getDataDir() == null) {
+            throw new IllegalStateException("todo.storage.data-dir must be set when todo.storage.mode=mapped");
+        }
+        MappedTaskStore store = new MappedTaskStore(Path.of(storageProperties.getDataDir()));
+        store.open();
+        return store;
+    }
+
+    // Tasks kept in the configured datasource, with filtering, sorting and paging done in SQL
+    @Bean
+    @ConditionalOnProperty(name = "todo.storage.mode", havingValue = "jdbc")
+    public TaskStore jdbcTaskStore(JdbcTemplate jdbcTemplate, PlatformTransactionManager transactionManager) {
+        JdbcTaskStore store = new JdbcTaskStore(jdbcTemplate, new TransactionTemplate(transactionManager));
+        store.initialize();
+        return store;
+    }
+}
@@ -1,12 +1,20 @@
 package com.toDoList.controllers;
 
+import java.io.IOException;
+import java.io.InputStream;
 import java.net.URI;
+import java.util.ArrayList;
+import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
+import java.util.Optional;
+import java.util.stream.Stream;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.web.bind.annotation.CrossOrigin;
@@ -16,35 +24,75 @@ import org.springframework.web.bind.annotation.PatchMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
 import com.toDoList.TaskPriority;
 import com.toDoList.exceptions.EntityNotFoundException;
+import com.toDoList.models.BulkItemResult;
+import com.toDoList.models.BulkResponse;
+import com.toDoList.models.CompletionTimeReport;
+import com.toDoList.models.ImportReport;
+import com.toDoList.models.QueryCacheStats;
+import com.toDoList.models.TaskPage;
 import com.toDoList.models.Tasks;
+import com.toDoList.services.TaskDueScheduler;
+import com.toDoList.services.TaskEventBus;
+import com.toDoList.services.TaskImporter;
 import com.toDoList.services.TaskRepository;
+import com.toDoList.services.TaskValidator;
 
 import jakarta.validation.Valid;
 
 /**
  * REST Controller for managing tasks.
  */
-@CrossOrigin(origins = "http://localhost:8080")
+@CrossOrigin(origins = "http://localhost:8080", exposedHeaders = { TaskController.NEXT_CURSOR_HEADER, HttpHeaders.ETAG })
 @RestController
 @RequestMapping("/todos")
 public class TaskController {
 
     private static final Logger logger = LoggerFactory.getLogger(TaskController.class);
+    static final String NEXT_CURSOR_HEADER = "X-Next-Cursor";
+    static final int MAX_BULK_ITEMS = 10000;
+    static final String NDJSON_VALUE = "application/x-ndjson";
+    static final String CSV_VALUE = "text/csv";
     private final TaskRepository taskRepository;
+    private final TaskValidator taskValidator;
+    private final TaskImporter taskImporter;
+    private final ObjectMapper objectMapper;
+    private final TaskEventBus taskEventBus;
+    private final TaskDueScheduler taskDueScheduler;
 
     /**
-     * Constructor to inject the task repository.
+     * Constructor to inject the task repository, the validator used for bulk items, the
+     * importer, the object mapper used for streaming, the change feed's event bus and the
+     * due date scheduler.
      *
      * @param taskRepository the task repository
+     * @param taskValidator  the per-item task validator
+     * @param taskImporter   the streaming task importer
+     * @param objectMapper   the object mapper from JacksonConfig
+     * @param taskEventBus     the change feed's event bus
+     * @param taskDueScheduler the due date scheduler
      */
-    public TaskController(TaskRepository taskRepository) {
+    public TaskController(TaskRepository taskRepository, TaskValidator taskValidator, TaskImporter taskImporter,
+            ObjectMapper objectMapper, TaskEventBus taskEventBus, TaskDueScheduler taskDueScheduler) {
         this.taskRepository = taskRepository;
+        this.taskValidator = taskValidator;
+        this.taskImporter = taskImporter;
+        this.objectMapper = objectMapper;
+        this.taskEventBus = taskEventBus;
+        this.taskDueScheduler = taskDueScheduler;
     }
 
     /**
@@ -57,7 +105,9 @@ public class TaskController {
      * @param priority  the task priority (optional)
      * @param completed the completion status of the task (optional)
      * @param taskName  the name of the task (optional)
-     * @return a list of tasks
+     * @param cursor    the continuation token for cursor mode (optional, empty for the first page)
+     * @param request   the current request, for If-None-Match
+     * @return a list of tasks, or a 304 status if nothing changed since the client's copy
      */
     @GetMapping("")
     public ResponseEntity<List<Tasks>> findAll(
@@ -67,7 +117,28 @@ public class TaskController {
             @RequestParam(required = false) String filterBy,
             @RequestParam(required = false) String priority,
             @RequestParam(required = false) Boolean completed,
-            @RequestParam(required = false) String taskName) {
+            @RequestParam(required = false) String taskName,
+            @RequestParam(required = false) String cursor,
+            WebRequest request) {
+
+        // The store version changes with every mutation, so the same version means the same response.
+        // It is read before the tasks: a mutation in between only makes the tag older than the body.
+        if (request.checkNotModified(TaskETags.forStore(taskRepository.getVersion()))) {
+            return null;
+        }
+
+        // In cursor mode the next page token is returned in a response header
+        if (cursor != null) {
+            TaskPage taskPage = taskRepository.findPage(cursor, size, sortBy, priority, completed, taskName);
+            if (taskPage.tasks().isEmpty()) {
+                return new ResponseEntity<>(HttpStatus.NO_CONTENT);
+            }
+            ResponseEntity.BodyBuilder response = ResponseEntity.ok();
+            if (taskPage.nextCursor() != null) {
+                response.header(NEXT_CURSOR_HEADER, taskPage.nextCursor());
+            }
+            return response.body(taskPage.tasks());
+        }
         
         // Retrieve tasks from the repository with the given parameters
         List<Tasks> tasks = taskRepository.findAll(page, size, sortBy, filterBy, priority, completed, taskName);
@@ -81,22 +152,119 @@ public class TaskController {
         return new ResponseEntity<>(tasks, HttpStatus.OK);
     }
 
+    /**
+     * Exports all tasks matching the filters as newline-delimited JSON, one task per line.
+     * Tasks are written as they are read, so heap use stays constant whatever the size of the
+     * export, and a slow client simply slows down the reads.
+     *
+     * @param sortBy    the field to sort by (optional)
+     * @param priority  the task priority (optional)
+     * @param completed the completion status of the task (optional)
+     * @param taskName  the name of the task (optional)
+     * @return the streamed tasks
+     */
+    @GetMapping(value = "/export", produces = NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> export(
+            @RequestParam(required = false) String sortBy,
+            @RequestParam(required = false) String priority,
+            @RequestParam(required = false) Boolean completed,
+            @RequestParam(required = false) String taskName) {
+        // Resolve the query now, so invalid filters are reported before the response is committed
+        Stream<Tasks> tasks = taskRepository.streamAll(sortBy, priority, completed, taskName);
+        // Flushing is left to the output buffer rather than done after every task
+        ObjectWriter writer = objectMapper.writerFor(Tasks.class).without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+
+        StreamingResponseBody body = outputStream -> {
+            long count = 0;
+            try (Stream<Tasks> exported = tasks;
+                    JsonGenerator generator = objectMapper.getFactory().createGenerator(outputStream)) {
+                generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+                Iterator<Tasks> iterator = exported.iterator();
+                while (iterator.hasNext()) {
+                    writer.writeValue(generator, iterator.next());
+                    generator.writeRaw('\n');
+                    count++;
+                }
+            }
+            logger.info("Exported {} tasks", count);
+        };
+        return ResponseEntity.ok().contentType(MediaType.parseMediaType(NDJSON_VALUE)).body(body);
+    }
+
+    /**
+     * Searches tasks by partial name, most relevant first.
+     *
+     * @param q     the partial task name
+     * @param limit the maximum number of tasks (default is 10)
+     * @return the matching tasks
+     */
+    @GetMapping("/search")
+    public ResponseEntity<List<Tasks>> search(
+            @RequestParam String q,
+            @RequestParam(defaultValue = "10") int limit) {
+        List<Tasks> tasks = taskRepository.search(q, limit);
+        if (tasks.isEmpty()) {
+            return new ResponseEntity<>(HttpStatus.NO_CONTENT);
+        }
+        return new ResponseEntity<>(tasks, HttpStatus.OK);
+    }
+
+    /**
+     * Suggests task names for the search box.
+     *
+     * @param prefix the typed prefix
+     * @param limit  the maximum number of suggestions (default is 10)
+     * @return the suggested task names
+     */
+    @GetMapping("/autocomplete")
+    public ResponseEntity<List<String>> autocomplete(
+            @RequestParam String prefix,
+            @RequestParam(defaultValue = "10") int limit) {
+        return new ResponseEntity<>(taskRepository.autocomplete(prefix, limit), HttpStatus.OK);
+    }
+
+    /**
+     * Retrieves the open tasks whose due date has passed, the longest overdue first.
+     *
+     * @param limit the maximum number of tasks (default is 100)
+     * @return the overdue tasks
+     */
+    @GetMapping("/overdue")
+    public ResponseEntity<List<Tasks>> overdue(@RequestParam(defaultValue = "100") int limit) {
+        return new ResponseEntity<>(taskDueScheduler.findOverdue(limit), HttpStatus.OK);
+    }
+
+    /**
+     * Retrieves the open tasks due from today through the given number of days, soonest first.
+     *
+     * @param days  the number of days ahead, 0 for today only (default is 1)
+     * @param limit the maximum number of tasks (default is 100)
+     * @return the tasks due soon
+     */
+    @GetMapping("/due-soon")
+    public ResponseEntity<List<Tasks>> dueSoon(
+            @RequestParam(defaultValue = "1") int days,
+            @RequestParam(defaultValue = "100") int limit) {
+        return new ResponseEntity<>(taskDueScheduler.findDueSoon(days, limit), HttpStatus.OK);
+    }
+
     /**
      * Retrieves a task by its ID.
      *
-     * @param id the ID of the task
-     * @return the found task or a 404 status if not found
+     * @param id      the ID of the task
+     * @param request the current request, for If-None-Match
+     * @return the found task, a 304 status if it has not changed, or a 404 status if not found
      */
     @GetMapping("/{id}")
-    public ResponseEntity<Tasks> findById(@PathVariable Integer id) {
-        return taskRepository.findById(id)
-                .map(ResponseEntity::ok)
-                .orElseThrow(() -> {
-                    // Log a warning if the task is not found
-                    logger.warn("Task with ID {} not found", id);
-                    // Throw an exception to return a 404 status
-                    throw new EntityNotFoundException("Task with ID " + id + " not found", id);
-                });
+    public ResponseEntity<Tasks> findById(@PathVariable Integer id, WebRequest request) {
+        // Throw an exception to return a 404 status, which the exception handler logs
+        Tasks task = taskRepository.findById(id)
+                .orElseThrow(() -> new EntityNotFoundException("Task with ID " + id + " not found", id));
+        // The task version changes with every mutation, so the client's copy is current if it matches
+        if (request.checkNotModified(TaskETags.forTask(task))) {
+            return null;
+        }
+        return ResponseEntity.ok(task);
     }
 
     /**
@@ -125,6 +293,52 @@ public class TaskController {
         return new ResponseEntity<>(avgTimes, HttpStatus.OK);
     }
 
+    /**
+     * Retrieves the completion time distribution (p50/p90/p99 and histogram), overall and by priority.
+     *
+     * @return the completion time percentiles and histograms in minutes
+     */
+    @GetMapping("/done-time-stats")
+    public ResponseEntity<CompletionTimeReport> getCompletionTimeDistribution() {
+        return new ResponseEntity<>(taskRepository.getCompletionTimeDistribution(), HttpStatus.OK);
+    }
+
+    /**
+     * Retrieves the hit, miss, eviction and invalidation counters of the task list cache.
+     *
+     * @return the cache statistics
+     */
+    @GetMapping("/cache-stats")
+    public ResponseEntity<QueryCacheStats> getQueryCacheStats() {
+        return new ResponseEntity<>(taskRepository.getQueryCacheStats(), HttpStatus.OK);
+    }
+
+    /**
+     * Streams task changes as Server-Sent Events. Each event is named after the change (created,
+     * updated, done, undone, deleted, or overdue when an open task passes its due date) and its id
+     * is the run's epoch and the event's sequence number, so a reconnecting EventSource resumes
+     * through Last-Event-ID; a reset event means changes were missed, for example across a
+     * restart, and the task list must be reloaded.
+     *
+     * @param since       the id of the last event seen (optional, overrides Last-Event-ID)
+     * @param lastEventId the last event id the browser received (optional)
+     * @return the event stream
+     */
+    @GetMapping(path = "/events", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter events(@RequestParam(required = false) String since,
+            @RequestHeader(name = "Last-Event-ID", required = false) String lastEventId) {
+        SseEmitter emitter = new SseEmitter();
+        TaskEventBus.Subscription subscription = taskEventBus.resume(since != null ? since : lastEventId,
+                event -> emitter.send(SseEmitter.event()
+                        .id(taskEventBus.eventId(event))
+                        .name(event.type().name().toLowerCase())
+                        .data(event, MediaType.APPLICATION_JSON)));
+        emitter.onCompletion(subscription::cancel);
+        emitter.onTimeout(subscription::cancel);
+        emitter.onError(error -> subscription.cancel());
+        return emitter;
+    }
+
     /**
      * Creates a new task.
      *
@@ -135,8 +349,6 @@ public class TaskController {
     public ResponseEntity<Void> create(@Valid @RequestBody Tasks task) {
         // Create the task in the repository
         taskRepository.create(task);
-        // Log the creation of the task
-        logger.info("Task created: {}", task);
         // Return a 201 Created status with the location of the new task
         return ResponseEntity.created(URI.create("/todos/" + task.getId())).build();
     }
@@ -144,90 +356,196 @@ public class TaskController {
     /**
      * Marks a task as completed.
      *
-     * @param id the ID of the task
-     * @return a 200 status if the task is marked as completed, or 404 if not found
+     * @param id      the ID of the task
+     * @param ifMatch the ETag the client last read, to reject the change if the task has changed since (optional)
+     * @return a 200 status if the task is marked as completed, 404 if not found, or 412 if the ETag no longer matches
      */
     @Transactional
 
     @PatchMapping("/{id}/done")
-    public ResponseEntity<Void> markTaskAsDone(@PathVariable Integer id) {
-        return taskRepository.markAsDone(id)
-                .map(task -> {
-                    logger.info("Task with ID {} marked as done", id);
-                    return new ResponseEntity<Void>(HttpStatus.OK);
-                })
-                .orElseThrow(() -> {
-                    logger.warn("Task with ID {} not found for marking as done", id);
-                    throw new EntityNotFoundException("Task with ID " + id + " not found", id);
-                });
+    public ResponseEntity<Void> markTaskAsDone(@PathVariable Integer id,
+            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
+        return taskRepository.markAsDone(id, TaskETags.expectedVersion(ifMatch, id))
+                .map(task -> ResponseEntity.ok().eTag(TaskETags.forTask(task)).<Void>build())
+                .orElseThrow(() -> new EntityNotFoundException("Task with ID " + id + " not found", id));
 
     }
 
     /**
      * Marks a task as not completed.
      *
-     * @param id the ID of the task
-     * @return a 200 status if the task is marked as not completed, or 404 if not found
+     * @param id      the ID of the task
+     * @param ifMatch the ETag the client last read, to reject the change if the task has changed since (optional)
+     * @return a 200 status if the task is marked as not completed, 404 if not found, or 412 if the ETag no longer matches
      */
     @Transactional //used for possible db implementation 
 
     @PatchMapping("/{id}/undone")
-    public ResponseEntity<Void> markTaskAsUnDone(@PathVariable Integer id) {
-        return taskRepository.markAsUnDone(id)
-                .map(task -> {
-                    logger.info("Task with ID {} marked as undone", id);
-                    return new ResponseEntity<Void>(HttpStatus.OK);
-                })
-                .orElseThrow(() -> {
-                    logger.warn("Task with ID {} not found for marking as undone", id);
-                    throw new EntityNotFoundException("Task with ID " + id + " not found", id);
-                });
+    public ResponseEntity<Void> markTaskAsUnDone(@PathVariable Integer id,
+            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
+        return taskRepository.markAsUnDone(id, TaskETags.expectedVersion(ifMatch, id))
+                .map(task -> ResponseEntity.ok().eTag(TaskETags.forTask(task)).<Void>build())
+                .orElseThrow(() -> new EntityNotFoundException("Task with ID " + id + " not found", id));
 
 } 
 
     /**
      * Updates a task.
      *
-     * @param task the updated task
-     * @param id   the ID of the task to update
-     * @return a 200 status if the task is updated successfully
+     * @param task    the updated task
+     * @param id      the ID of the task to update
+     * @param ifMatch the ETag the client last read, to reject the change if the task has changed since (optional)
+     * @return a 200 status if the task is updated successfully, 404 if not found, or 412 if the ETag no longer matches
      */
     @Transactional
     @PatchMapping("/{id}")
-    public ResponseEntity<Void> update(@Valid @RequestBody Tasks task, @PathVariable Integer id) {
-        if (!taskRepository.findById(id).isPresent()) {
-            // Log a warning if the task is not found
-            logger.warn("Task with ID {} not found for update", id);
-            // Throw an exception to return a 404 status
-            throw new EntityNotFoundException("Task with ID " + id + " not found", id);
-        }
-        // Update the task in the repository
-        taskRepository.patchUpdate(id, task);
-        // Log the task update
-        logger.info("Task with ID {} updated successfully", id);
-        // Return a 200 OK status
-        return ResponseEntity.ok().build();
+    public ResponseEntity<Void> update(@Valid @RequestBody Tasks task, @PathVariable Integer id,
+            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
+        // Update the task in the repository, if it is still at the version the client read;
+        // the repository reports a missing task, which returns a 404 status
+        Tasks updated = taskRepository.patchUpdate(id, task, TaskETags.expectedVersion(ifMatch, id));
+        // Return a 200 OK status with the new ETag
+        return ResponseEntity.ok().eTag(TaskETags.forTask(updated)).build();
     }
 
     /**
      * Deletes a task.
      *
      * @param id the ID of the task to delete
-     * @return a 204 status if the task is deleted successfully
+     * @return a 204 status if the task is deleted successfully, or 404 if not found
      */
     @DeleteMapping("/{id}")
     public ResponseEntity<Void> delete(@PathVariable Integer id) {
-        if (!taskRepository.findById(id).isPresent()) {
-            // Log a warning if the task is not found
-            logger.warn("Task with ID {} not found for deletion", id);
-            // Throw an exception to return a 404 status
-            throw new EntityNotFoundException("Task with ID " + id + " not found", id);
-        }
-        // Delete the task from the repository
+        // Delete the task from the repository, which reports a missing task as a 404 status
         taskRepository.delete(id);
-        // Log the task deletion
-        logger.info("Task with ID {} deleted successfully", id);
         // Return a 204 No Content status
         return new ResponseEntity<>(HttpStatus.NO_CONTENT);
     }
-}
\ No newline at end of file
+
+    /**
+     * Creates several tasks in one request. Every item is validated, then the valid ones are
+     * stored as a single batch.
+     *
+     * @param tasks the tasks to create
+     * @return a result per item; 200 if all succeeded, 207 otherwise
+     */
+    @PostMapping("/bulk")
+    public ResponseEntity<BulkResponse> createAll(@RequestBody List<Tasks> tasks) {
+        checkBulkSize(tasks.size());
+        BulkItemResult[] results = new BulkItemResult[tasks.size()];
+        List<Tasks> accepted = new ArrayList<>(tasks.size());
+        List<Integer> positions = new ArrayList<>(tasks.size());
+        for (int i = 0; i < tasks.size(); i++) {
+            Tasks task = tasks.get(i);
+            String error = taskValidator.violations(task);
+            if (error != null) {
+                results[i] = BulkItemResult.failed(i, task == null ? null : task.getId(), HttpStatus.BAD_REQUEST.value(), error);
+            } else if (taskRepository.findById(task.getId()).isPresent()) {
+                results[i] = BulkItemResult.failed(i, task.getId(), HttpStatus.CONFLICT.value(), "Task already exists");
+            } else {
+                accepted.add(task);
+                positions.add(i);
+            }
+        }
+
+        taskRepository.createAll(accepted);
+        for (int k = 0; k < accepted.size(); k++) {
+            results[positions.get(k)] = BulkItemResult.succeeded(positions.get(k), accepted.get(k).getId(), HttpStatus.CREATED.value());
+        }
+        return bulkResponse(results);
+    }
+
+    /**
+     * Updates several tasks in one request. Each item carries the ID of the task to update.
+     *
+     * @param tasks the updated tasks
+     * @return a result per item; 200 if all succeeded, 207 otherwise
+     */
+    @PatchMapping("/bulk")
+    public ResponseEntity<BulkResponse> updateAll(@RequestBody List<Tasks> tasks) {
+        checkBulkSize(tasks.size());
+        BulkItemResult[] results = new BulkItemResult[tasks.size()];
+        List<Tasks> accepted = new ArrayList<>(tasks.size());
+        List<Integer> positions = new ArrayList<>(tasks.size());
+        for (int i = 0; i < tasks.size(); i++) {
+            Tasks task = tasks.get(i);
+            String error = task != null && task.getId() == null ? "id: must not be null" : taskValidator.violations(task);
+            if (error != null) {
+                results[i] = BulkItemResult.failed(i, task == null ? null : task.getId(), HttpStatus.BAD_REQUEST.value(), error);
+            } else {
+                accepted.add(task);
+                positions.add(i);
+            }
+        }
+
+        List<Optional<Tasks>> updated = taskRepository.patchUpdateAll(accepted);
+        for (int k = 0; k < accepted.size(); k++) {
+            int index = positions.get(k);
+            Integer id = accepted.get(k).getId();
+            results[index] = updated.get(k).isPresent()
+                    ? BulkItemResult.succeeded(index, id, HttpStatus.OK.value())
+                    : BulkItemResult.failed(index, id, HttpStatus.NOT_FOUND.value(), "Task with ID " + id + " not found");
+        }
+        return bulkResponse(results);
+    }
+
+    /**
+     * Deletes several tasks in one request.
+     *
+     * @param ids the IDs of the tasks to delete
+     * @return a result per item; 200 if all succeeded, 207 otherwise
+     */
+    @DeleteMapping("/bulk")
+    public ResponseEntity<BulkResponse> deleteAll(@RequestBody List<Integer> ids) {
+        checkBulkSize(ids.size());
+        List<Boolean> deleted = taskRepository.deleteAll(ids);
+        BulkItemResult[] results = new BulkItemResult[ids.size()];
+        for (int i = 0; i < ids.size(); i++) {
+            results[i] = deleted.get(i)
+                    ? BulkItemResult.succeeded(i, ids.get(i), HttpStatus.NO_CONTENT.value())
+                    : BulkItemResult.failed(i, ids.get(i), HttpStatus.NOT_FOUND.value(), "Task with ID " + ids.get(i) + " not found");
+        }
+        return bulkResponse(results);
+    }
+
+    /**
+     * Imports a newline-delimited JSON dump, one task per line. Rows are validated in parallel
+     * and stored in batches; invalid rows are listed in the report.
+     *
+     * @param body the NDJSON request body
+     * @return the import report; 200 if every row was imported, 207 otherwise
+     * @throws IOException if the body cannot be read
+     */
+    @PostMapping(value = "/import", consumes = NDJSON_VALUE)
+    public ResponseEntity<ImportReport> importNdjson(InputStream body) throws IOException {
+        return importResponse(taskImporter.importNdjson(body));
+    }
+
+    /**
+     * Imports a CSV dump with a header row (taskName, taskPriority, completed, taskDueDate).
+     *
+     * @param body the CSV request body
+     * @return the import report; 200 if every row was imported, 207 otherwise
+     * @throws IOException if the body cannot be read
+     */
+    @PostMapping(value = "/import", consumes = CSV_VALUE)
+    public ResponseEntity<ImportReport> importCsv(InputStream body) throws IOException {
+        return importResponse(taskImporter.importCsv(body));
+    }
+
+    private static ResponseEntity<ImportReport> importResponse(ImportReport report) {
+        return ResponseEntity.status(report.failed() == 0 ? HttpStatus.OK : HttpStatus.MULTI_STATUS).body(report);
+    }
+
+    private static void checkBulkSize(int size) {
+        if (size > MAX_BULK_ITEMS) {
+            throw new IllegalArgumentException("Too many items in bulk request: " + size + " (max " + MAX_BULK_ITEMS + ")");
+        }
+    }
+
+    private static ResponseEntity<BulkResponse> bulkResponse(BulkItemResult[] results) {
+        BulkResponse response = BulkResponse.of(List.of(results));
+        logger.info("Bulk request: {} succeeded, {} failed", response.succeeded(), response.failed());
+        return ResponseEntity.status(response.failed() == 0 ? HttpStatus.OK : HttpStatus.MULTI_STATUS).body(response);
+    }
+}
@@ -0,0 +1,50 @@
+package com.toDoList.controllers;
+
+import com.toDoList.models.Tasks;
+
+/**
+ * Strong ETags built from the store and task version counters. The counters start over when the
+ * application restarts, so every tag also carries the startup time to keep old tags from matching.
+ */
+final class TaskETags {
+
+    private static final String EPOCH = Long.toString(System.currentTimeMillis(), 36);
+    // Never a real version, so a tag from another epoch or task always fails an If-Match check
+    private static final long NO_VERSION = -1;
+
+    private TaskETags() {
+    }
+
+    static String forStore(long storeVersion) {
+        return "\"" + EPOCH + "-" + storeVersion + "\"";
+    }
+
+    static String forTask(Tasks task) {
+        return "\"" + EPOCH + "-" + task.getId() + "-" + task.getVersion() + "\"";
+    }
+
+    /**
+     * Resolves an If-Match header to the task version it expects.
+     *
+     * @param ifMatch the header value (may be null)
+     * @param id      the ID of the task being changed
+     * @return the expected version, or null when the header is absent or "*"
+     */
+    static Long expectedVersion(String ifMatch, Integer id) {
+        if (ifMatch == null || ifMatch.isBlank() || ifMatch.trim().equals("*")) {
+            return null;
+        }
+        String prefix = "\"" + EPOCH + "-" + id + "-";
+        for (String tag : ifMatch.split(",")) {
+            tag = tag.trim();
+            if (tag.startsWith(prefix) && tag.endsWith("\"")) {
+                try {
+                    return Long.parseLong(tag.substring(prefix.length(), tag.length() - 1));
+                } catch (NumberFormatException e) {
+                    return NO_VERSION;
+                }
+            }
+        }
+        return NO_VERSION;
+    }
+}
@@ -0,0 +1,95 @@
+package com.toDoList.controllers;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.lang.reflect.ParameterizedType;
+import java.lang.reflect.Type;
+import java.util.Collection;
+
+import org.springframework.http.HttpInputMessage;
+import org.springframework.http.HttpOutputMessage;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.AbstractGenericHttpMessageConverter;
+import org.springframework.http.converter.HttpMessageNotReadableException;
+import org.springframework.stereotype.Component;
+
+import com.toDoList.models.Tasks;
+import com.toDoList.services.TaskJsonCache;
+
+/**
+ * Writes JSON responses made of tasks, a single task or a list of them, by copying each task's
+ * cached bytes into the response buffer. Registered ahead of the Jackson converter, which still
+ * reads request bodies and writes every other type and format.
+ */
+@Component
+public class TaskJsonMessageConverter extends AbstractGenericHttpMessageConverter<Object> {
+
+    private final TaskJsonCache taskJsonCache;
+
+    /**
+     * Constructor to inject the serialized task cache.
+     *
+     * @param taskJsonCache the serialized task cache
+     */
+    public TaskJsonMessageConverter(TaskJsonCache taskJsonCache) {
+        super(MediaType.APPLICATION_JSON);
+        this.taskJsonCache = taskJsonCache;
+    }
+
+    @Override
+    protected boolean supports(Class<?> clazz) {
+        return Tasks.class.isAssignableFrom(clazz);
+    }
+
+    @Override
+    public boolean canWrite(Type type, Class<?> clazz, MediaType mediaType) {
+        if (!canWrite(mediaType)) {
+            return false;
+        }
+        // Lists are only recognized from the declared return type, since their elements are erased
+        if (type instanceof ParameterizedType parameterized && parameterized.getRawType() instanceof Class<?> raw
+                && Collection.class.isAssignableFrom(raw)) {
+            return parameterized.getActualTypeArguments()[0] == Tasks.class;
+        }
+        return supports(clazz);
+    }
+
+    @Override
+    public boolean canRead(Type type, Class<?> contextClass, MediaType mediaType) {
+        return false;
+    }
+
+    @Override
+    protected boolean canRead(MediaType mediaType) {
+        return false;
+    }
+
+    @Override
+    protected void writeInternal(Object body, Type type, HttpOutputMessage outputMessage) throws IOException {
+        OutputStream out = outputMessage.getBody();
+        if (body instanceof Tasks task) {
+            out.write(taskJsonCache.json(task));
+            return;
+        }
+        out.write('[');
+        boolean first = true;
+        for (Object task : (Collection<?>) body) {
+            if (!first) {
+                out.write(',');
+            }
+            out.write(taskJsonCache.json((Tasks) task));
+            first = false;
+        }
+        out.write(']');
+    }
+
+    @Override
+    public Object read(Type type, Class<?> contextClass, HttpInputMessage inputMessage) {
+        throw new HttpMessageNotReadableException("Task bodies are read by the Jackson converter", inputMessage);
+    }
+
+    @Override
+    protected Object readInternal(Class<?> clazz, HttpInputMessage inputMessage) {
+        throw new HttpMessageNotReadableException("Task bodies are read by the Jackson converter", inputMessage);
+    }
+}
@@ -13,10 +13,37 @@ import org.springframework.web.bind.MethodArgumentNotValidException;
 import org.springframework.web.bind.annotation.ExceptionHandler;
 import org.springframework.web.bind.annotation.RestControllerAdvice;
 
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+
 @RestControllerAdvice
 public class GlobalExceptionHandler {
 
     private static final Logger logger = LoggerFactory.getLogger(GlobalExceptionHandler.class);
+    private final Counter validationErrors;
+    private final Counter notFoundErrors;
+    private final Counter preconditionFailedErrors;
+    private final Counter invalidArgumentErrors;
+    private final Counter databaseErrors;
+    private final Counter jsonParseErrors;
+    private final Counter internalErrors;
+
+    public GlobalExceptionHandler(MeterRegistry meterRegistry) {
+        validationErrors = counter(meterRegistry, "validation");
+        notFoundErrors = counter(meterRegistry, "not_found");
+        preconditionFailedErrors = counter(meterRegistry, "precondition_failed");
+        invalidArgumentErrors = counter(meterRegistry, "invalid_argument");
+        databaseErrors = counter(meterRegistry, "database");
+        jsonParseErrors = counter(meterRegistry, "json_parse");
+        internalErrors = counter(meterRegistry, "internal");
+    }
+
+    private static Counter counter(MeterRegistry meterRegistry, String type) {
+        return Counter.builder("todo.errors")
+                .description("Errors answered by the exception handler")
+                .tag("type", type)
+                .register(meterRegistry);
+    }
 
     // Handling data validation exceptions
     @ExceptionHandler(MethodArgumentNotValidException.class)
@@ -25,6 +52,7 @@ public class GlobalExceptionHandler {
         ex.getBindingResult().getFieldErrors().forEach(error ->
             errors.put(error.getField(), error.getDefaultMessage())
         );
+        validationErrors.increment();
         logger.warn("Validation error: {}", errors);
         return new ResponseEntity<>(errors, HttpStatus.BAD_REQUEST);
     }
@@ -32,13 +60,31 @@ public class GlobalExceptionHandler {
     // Handling not found exceptions
     @ExceptionHandler(EntityNotFoundException.class)
     public ResponseEntity<String> handleEntityNotFoundException(EntityNotFoundException ex) {
+        notFoundErrors.increment();
         logger.warn("Entity not found: {}", ex.getMessage());
         return ResponseEntity.status(HttpStatus.NOT_FOUND).body(ex.getMessage());
     }
 
+    // Handling If-Match conditions that no longer hold (the task changed since it was read)
+    @ExceptionHandler(PreconditionFailedException.class)
+    public ResponseEntity<String> handlePreconditionFailedException(PreconditionFailedException ex) {
+        preconditionFailedErrors.increment();
+        logger.warn("Precondition failed: {}", ex.getMessage());
+        return ResponseEntity.status(HttpStatus.PRECONDITION_FAILED).body(ex.getMessage());
+    }
+
+    // Handling invalid request values (e.g., unknown priority or malformed cursor)
+    @ExceptionHandler(IllegalArgumentException.class)
+    public ResponseEntity<String> handleIllegalArgumentException(IllegalArgumentException ex) {
+        invalidArgumentErrors.increment();
+        logger.warn("Invalid argument: {}", ex.getMessage());
+        return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(ex.getMessage());
+    }
+
     // Handling database integrity violations (e.g., duplicate keys, constraint violations)
     @ExceptionHandler(DataIntegrityViolationException.class)
     public ResponseEntity<String> handleDatabaseExceptions(DataIntegrityViolationException ex) {
+        databaseErrors.increment();
         logger.error("Database error: {}", ex.getMessage());
         return ResponseEntity.status(HttpStatus.CONFLICT).body("Database integrity violation: " + ex.getMessage());
     }
@@ -46,6 +92,7 @@ public class GlobalExceptionHandler {
     // Handling JSON parsing errors (e.g., incorrect request body)
     @ExceptionHandler(HttpMessageNotReadableException.class)
     public ResponseEntity<String> handleJsonParseException(HttpMessageNotReadableException ex) {
+        jsonParseErrors.increment();
         logger.error("JSON parsing error: {}", ex.getMessage());
         return ResponseEntity.status(HttpStatus.BAD_REQUEST).body("Invalid JSON format: " + ex.getMessage());
     }
@@ -53,6 +100,7 @@ public class GlobalExceptionHandler {
     // Handling generic exceptions
     @ExceptionHandler(Exception.class)
     public ResponseEntity<String> handleGenericException(Exception ex) {
+        internalErrors.increment();
         logger.error("Internal server error: {}", ex.getMessage(), ex);
         return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body("Internal server error: " + ex.getMessage());
     }
@@ -0,0 +1,14 @@
+package com.toDoList.exceptions;
+
+public class PreconditionFailedException extends RuntimeException {
+    private final Integer entityId;
+
+    public PreconditionFailedException(String message, Integer entityId) {
+        super(message);
+        this.entityId = entityId;
+    }
+
+    public Integer getEntityId() {
+        return entityId;
+    }
+}
@@ -0,0 +1,16 @@
+package com.toDoList.models;
+
+/**
+ * Outcome of one item of a bulk request: its position in the request, the task ID (when known),
+ * the HTTP status it would have had as a single request and, on failure, the reason.
+ */
+public record BulkItemResult(int index, Integer id, int status, String error) {
+
+    public static BulkItemResult succeeded(int index, Integer id, int status) {
+        return new BulkItemResult(index, id, status, null);
+    }
+
+    public static BulkItemResult failed(int index, Integer id, int status, String error) {
+        return new BulkItemResult(index, id, status, error);
+    }
+}
@@ -0,0 +1,14 @@
+package com.toDoList.models;
+
+import java.util.List;
+
+/**
+ * Response of a bulk request: success and failure counts plus one result per item, in request order.
+ */
+public record BulkResponse(int succeeded, int failed, List<BulkItemResult> results) {
+
+    public static BulkResponse of(List<BulkItemResult> results) {
+        int failed = (int) results.stream().filter(result -> result.error() != null).count();
+        return new BulkResponse(results.size() - failed, failed, results);
+    }
+}
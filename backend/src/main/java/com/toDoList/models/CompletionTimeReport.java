@@ -0,0 +1,11 @@
+package com.toDoList.models;
+
+import java.util.Map;
+
+import com.toDoList.TaskPriority;
+
+/**
+ * Completion time distribution over all completed tasks and for each priority.
+ */
+public record CompletionTimeReport(CompletionTimeStats overall, Map<TaskPriority, CompletionTimeStats> perPriority) {
+}
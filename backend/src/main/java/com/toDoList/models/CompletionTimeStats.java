@@ -0,0 +1,9 @@
+package com.toDoList.models;
+
+import java.util.Map;
+
+/**
+ * Completion time distribution in minutes: percentiles plus a histogram keyed by range label.
+ */
+public record CompletionTimeStats(long count, long p50, long p90, long p99, Map<String, Long> histogram) {
+}
@@ -0,0 +1,7 @@
+package com.toDoList.models;
+
+/**
+ * A rejected row of an import: its line number in the uploaded file and the reason.
+ */
+public record ImportError(long line, String error) {
+}
@@ -0,0 +1,10 @@
+package com.toDoList.models;
+
+import java.util.List;
+
+/**
+ * Result of an import: how many rows were stored and rejected, plus the first rejected rows
+ * (the list is capped, while failed counts all of them).
+ */
+public record ImportReport(long imported, long failed, List<ImportError> errors) {
+}
@@ -0,0 +1,7 @@
+package com.toDoList.models;
+
+/**
+ * Counters of the findAll query result cache since startup.
+ */
+public record QueryCacheStats(int size, long hits, long misses, long evictions, long invalidations) {
+}
@@ -0,0 +1,13 @@
+package com.toDoList.models;
+
+/**
+ * A change pushed to change-feed subscribers. The sequence number orders all events and is
+ * used to resume a feed; OVERDUE reports an open task passing its due date, and RESET tells the
+ * subscriber it missed events and must reload the tasks.
+ */
+public record TaskEvent(long sequence, Type type, Integer taskId, Tasks task) {
+
+    public enum Type {
+        CREATED, UPDATED, DONE, UNDONE, DELETED, OVERDUE, RESET
+    }
+}
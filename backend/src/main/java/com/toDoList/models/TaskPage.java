@@ -0,0 +1,10 @@
+package com.toDoList.models;
+
+import java.util.List;
+
+/**
+ * A page of tasks returned in cursor mode, with the token for the next page
+ * (null when there are no more tasks).
+ */
+public record TaskPage(List<Tasks> tasks, String nextCursor) {
+}
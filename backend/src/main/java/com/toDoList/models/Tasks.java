@@ -5,6 +5,7 @@ import java.time.LocalDateTime;
 
 import org.springframework.data.annotation.Id;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import com.fasterxml.jackson.annotation.JsonProperty;
 import com.toDoList.TaskPriority;
 
@@ -30,6 +31,9 @@ public class Tasks { //more validations added
     private LocalDate taskDueDate;
     @FutureOrPresent
     private LocalDateTime doneDate;
+    // Bumped by the store on every change, backs the task's ETag
+    @JsonIgnore
+    private long version;
 
     // this bcause json serialization and des
     public Tasks() {
@@ -120,4 +124,17 @@ public class Tasks { //more validations added
         this.doneDate = doneDate;
     }
 
+    public long getVersion() {
+        return version;
+    }
+
+    public void setVersion(long version) {
+        this.version = version;
+    }
+
+    @Override
+    public String toString() {
+        return "Tasks{id=" + id + ", taskName='" + taskName + "', taskPriority=" + taskPriority + ", completed=" + completed
+                + ", taskDueDate=" + taskDueDate + ", version=" + version + "}";
+    }
 }
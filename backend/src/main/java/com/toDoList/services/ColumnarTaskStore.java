@@ -0,0 +1,775 @@
+package com.toDoList.services;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+import java.util.NoSuchElementException;
+import java.util.Optional;
+import java.util.PrimitiveIterator;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.TreeMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.IntPredicate;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+import com.toDoList.TaskPriority;
+import com.toDoList.models.CompletionTimeReport;
+import com.toDoList.models.Tasks;
+
+/**
+ * Compact heap store: each task field lives in a primitive array indexed by id - 1, with dates
+ * as epoch days or nanoseconds, the priority as its ordinal and names interned in a shared
+ * dictionary. A task costs a few dozen bytes instead of a graph of boxed and date objects plus
+ * index entries, and {@link Tasks} instances are only materialized for the tasks a caller reads.
+ * There are no per-task indexes: filters and the priority order are answered by scanning the
+ * columns, and the due date order by sorted arrays of packed keys that every write keeps current.
+ * Suited to large, read-mostly datasets; lookups by id stay constant time.
+ */
+public class ColumnarTaskStore implements TaskStore {
+
+    private static final int INITIAL_CAPACITY = 1024;
+    private static final byte PRESENT = 1;
+    private static final byte COMPLETED_SET = 2;
+    private static final byte COMPLETED = 4;
+    private static final byte NO_PRIORITY = -1;
+    private static final int NO_DATE = Integer.MIN_VALUE;
+    private static final long NO_TIME = Long.MIN_VALUE;
+    private static final long NANOS_PER_SECOND = 1_000_000_000L;
+    private static final TaskPriority[] PRIORITIES = TaskPriority.values();
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    // Columns, one entry per allocated id; deleted tasks leave their slot without the PRESENT flag
+    private byte[] flags = new byte[INITIAL_CAPACITY];
+    private byte[] priorities = new byte[INITIAL_CAPACITY];
+    private int[] nameRefs = new int[INITIAL_CAPACITY];
+    private int[] dueDays = new int[INITIAL_CAPACITY];
+    private long[] creationTimes = new long[INITIAL_CAPACITY];
+    private long[] doneTimes = new long[INITIAL_CAPACITY];
+    private long[] versions = new long[INITIAL_CAPACITY];
+    private final NameDictionary names = new NameDictionary();
+    private final CompletionStats stats = new CompletionStats();
+    private final AtomicInteger currentId = new AtomicInteger();
+    private final AtomicInteger size = new AtomicInteger();
+    private final AtomicLong version = new AtomicLong();
+    private final AtomicIntegerArray counts = new AtomicIntegerArray(PRIORITIES.length * 2);
+    private final List<TaskMutationListener> listeners = new CopyOnWriteArrayList<>();
+    // Slots by due date (no due date last) then id, kept up to date by every write
+    private final DueOrder dueOrder = new DueOrder();
+
+    @Override
+    public Tasks insert(Tasks task) {
+        Row row = Row.of(task);
+        lock.writeLock().lock();
+        try {
+            // The slot the task is about to get
+            dueOrder.add(orderKey(row.dueDay(), currentId.get()));
+            return applyInsert(task, row);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Inserts all the tasks under a single write lock acquisition.
+     */
+    @Override
+    public List<Tasks> insertAll(List<Tasks> tasks) {
+        // Converted first, so a task that cannot be stored rejects the batch before anything is written
+        List<Row> rows = tasks.stream().map(Row::of).toList();
+        lock.writeLock().lock();
+        try {
+            // Ordered in one merge rather than one task at a time, by the slots the tasks are about to get
+            long[] keys = new long[rows.size()];
+            int firstSlot = currentId.get();
+            for (int i = 0; i < keys.length; i++) {
+                keys[i] = orderKey(rows.get(i).dueDay(), firstSlot + i);
+            }
+            dueOrder.addAll(keys);
+            for (int i = 0; i < tasks.size(); i++) {
+                applyInsert(tasks.get(i), rows.get(i));
+            }
+            return tasks;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public Optional<Tasks> get(Integer id) {
+        if (id == null) {
+            return Optional.empty();
+        }
+        lock.readLock().lock();
+        try {
+            return isPresent(id - 1) ? Optional.of(materialize(id - 1)) : Optional.empty();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    @Override
+    public Optional<Tasks> update(Integer id, Consumer<Tasks> mutator) {
+        if (id == null) {
+            return Optional.empty();
+        }
+        lock.writeLock().lock();
+        try {
+            return applyUpdate(id, mutator);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Applies all the changes under a single write lock acquisition.
+     */
+    @Override
+    public List<Optional<Tasks>> updateAll(List<Integer> ids, List<Consumer<Tasks>> mutators) {
+        List<Optional<Tasks>> updated = new ArrayList<>(ids.size());
+        lock.writeLock().lock();
+        try {
+            for (int i = 0; i < ids.size(); i++) {
+                updated.add(ids.get(i) == null ? Optional.empty() : applyUpdate(ids.get(i), mutators.get(i)));
+            }
+            return updated;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public Optional<Tasks> remove(Integer id) {
+        if (id == null) {
+            return Optional.empty();
+        }
+        lock.writeLock().lock();
+        try {
+            return applyRemove(id);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Removes all the tasks under a single write lock acquisition.
+     */
+    @Override
+    public List<Optional<Tasks>> removeAll(List<Integer> ids) {
+        List<Optional<Tasks>> removed = new ArrayList<>(ids.size());
+        lock.writeLock().lock();
+        try {
+            for (Integer id : ids) {
+                removed.add(id == null ? Optional.empty() : applyRemove(id));
+            }
+            return removed;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public long version() {
+        return version.get();
+    }
+
+    /**
+     * Runs the query under the read lock as a scan over the columns in the requested order,
+     * starting right after the cursor when one is given. Only the tasks of the requested page
+     * are materialized.
+     */
+    @Override
+    public <R> R select(TaskQuery query, Function<Stream<Tasks>, R> reader) {
+        lock.readLock().lock();
+        try {
+            TaskCursor after = query.after();
+            IntPredicate matches = filter(query.priority(), query.completed(), query.taskName());
+            IntStream slots = switch (query.sort()) {
+                case ID -> IntStream.range(after == null ? 0 : after.id(), currentId.get()).filter(matches);
+                case PRIORITY -> byPriority(after, query.priority()).filter(matches);
+                case DUE_DATE -> byDueDate(after).filter(matches);
+            };
+            return reader.apply(slots.skip(query.offset()).limit(query.limit()).mapToObj(this::materialize));
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Ranks the tasks whose name contains the query like the in-memory store does: exact names,
+     * then prefixes, then word prefixes, then other matches.
+     */
+    @Override
+    public List<Tasks> search(String query, int limit) {
+        String lowerQuery = query.toLowerCase(Locale.ROOT);
+        lock.readLock().lock();
+        try {
+            BitSet refs = names.containing(lowerQuery);
+            if (refs.isEmpty()) {
+                return List.of();
+            }
+            Comparator<Integer> relevance = Comparator
+                    .comparingInt((Integer slot) -> TaskNameIndex.tier(names.lower(nameRefs[slot]), lowerQuery))
+                    .thenComparingInt(slot -> names.lower(nameRefs[slot]).indexOf(lowerQuery))
+                    .thenComparingInt(slot -> names.lower(nameRefs[slot]).length())
+                    .thenComparing(Comparator.naturalOrder());
+            return IntStream.range(0, currentId.get())
+                    .filter(slot -> isPresent(slot) && nameRefs[slot] >= 0 && refs.get(nameRefs[slot]))
+                    .boxed()
+                    .sorted(relevance)
+                    .limit(limit)
+                    .map(this::materialize)
+                    .toList();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Suggests distinct names in alphabetical order of their lower-cased form, reporting each
+     * under the spelling of the oldest task carrying it.
+     */
+    @Override
+    public List<String> complete(String prefix, int limit) {
+        String lowerPrefix = prefix.toLowerCase(Locale.ROOT);
+        lock.readLock().lock();
+        try {
+            TreeMap<String, List<Integer>> refsByName = names.startingWith(lowerPrefix);
+            List<String> suggestions = new ArrayList<>();
+            for (List<Integer> refs : refsByName.values()) {
+                if (suggestions.size() == limit) {
+                    break;
+                }
+                // Names differing only by case share a suggestion; the oldest task decides the spelling
+                suggestions.add(refs.size() == 1 ? names.get(refs.get(0)) : oldestSpelling(refs));
+            }
+            return suggestions;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    @Override
+    public double averageCompletionTime() {
+        lock.readLock().lock();
+        try {
+            return stats.average();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    @Override
+    public Map<TaskPriority, Double> averageCompletionTimePerPriority() {
+        lock.readLock().lock();
+        try {
+            return stats.averagePerPriority();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    @Override
+    public CompletionTimeReport completionTimeDistribution() {
+        lock.readLock().lock();
+        try {
+            return stats.distribution();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    @Override
+    public List<Tasks> findDueBetween(LocalDate from, LocalDate to) {
+        lock.readLock().lock();
+        try {
+            PrimitiveIterator.OfLong keys = dueOrder.after(((long) toEpochDay(from) << 32) - 1);
+            long end = ((long) toEpochDay(to) << 32) | 0xFFFFFFFFL;
+            List<Tasks> due = new ArrayList<>();
+            while (keys.hasNext()) {
+                long key = keys.nextLong();
+                if (key > end) {
+                    break;
+                }
+                due.add(materialize((int) key));
+            }
+            return due;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    @Override
+    public void addListener(TaskMutationListener listener) {
+        listeners.add(listener);
+    }
+
+    @Override
+    public int size() {
+        return size.get();
+    }
+
+    @Override
+    public int count(TaskPriority priority, boolean completed) {
+        return counts.get(countSlot(priority, completed));
+    }
+
+    private IntPredicate filter(TaskPriority priority, Boolean completed, String taskName) {
+        BitSet refs = taskName == null || taskName.isEmpty() ? null : names.containing(taskName.toLowerCase(Locale.ROOT));
+        byte wantedPriority = priority == null ? NO_PRIORITY : (byte) priority.ordinal();
+        byte completedMask = completed == null ? 0 : (byte) (COMPLETED_SET | COMPLETED);
+        byte completedValue = completed == null ? 0 : (byte) (COMPLETED_SET | (completed ? COMPLETED : 0));
+        return slot -> {
+            byte flag = flags[slot];
+            if ((flag & PRESENT) == 0 || (flag & completedMask) != completedValue) {
+                return false;
+            }
+            if (priority != null && priorities[slot] != wantedPriority) {
+                return false;
+            }
+            return refs == null || (nameRefs[slot] >= 0 && refs.get(nameRefs[slot]));
+        };
+    }
+
+    // One pass over the columns per priority, from the cursor's priority and id onwards
+    private IntStream byPriority(TaskCursor after, TaskPriority priority) {
+        TaskPriority from = after == null ? null : after.priority();
+        IntStream walk = IntStream.empty();
+        for (TaskPriority bucket : PRIORITIES) {
+            if ((from != null && bucket.compareTo(from) < 0) || (priority != null && bucket != priority)) {
+                continue;
+            }
+            byte ordinal = (byte) bucket.ordinal();
+            int start = bucket == from ? after.id() : 0;
+            walk = IntStream.concat(walk, IntStream.range(start, currentId.get()).filter(slot -> priorities[slot] == ordinal));
+        }
+        return walk;
+    }
+
+    private IntStream byDueDate(TaskCursor after) {
+        long from = after == null ? Long.MIN_VALUE : orderKey(dueKey(after.dueDate()), after.id() - 1);
+        return StreamSupport.longStream(Spliterators.spliteratorUnknownSize(dueOrder.after(from), Spliterator.ORDERED), false)
+                .mapToInt(key -> (int) key);
+    }
+
+    // Packs a slot's position in the due date order; tasks without a due date sort last
+    private static long orderKey(int dueDay, int slot) {
+        return ((long) (dueDay == NO_DATE ? Integer.MAX_VALUE : dueDay) << 32) | slot;
+    }
+
+    private String oldestSpelling(List<Integer> refs) {
+        BitSet wanted = new BitSet();
+        refs.forEach(wanted::set);
+        for (int slot = 0; slot < currentId.get(); slot++) {
+            if (isPresent(slot) && nameRefs[slot] >= 0 && wanted.get(nameRefs[slot])) {
+                return names.get(nameRefs[slot]);
+            }
+        }
+        return names.get(refs.get(0));
+    }
+
+    // Must be called with the write lock held, once the caller has added the slot to the due date order
+    private Tasks applyInsert(Tasks task, Row row) {
+        int id = currentId.incrementAndGet();
+        int slot = id - 1;
+        ensureCapacity(id);
+        task.setId(id);
+        nameRefs[slot] = names.intern(task.getTaskName());
+        write(slot, row);
+        stats.add(CompletionStats.Sample.of(task));
+        versions[slot] = 1;
+        task.setVersion(1);
+        size.incrementAndGet();
+        publish(TaskMutation.Type.CREATED, task, null);
+        return task;
+    }
+
+    // Must be called with the write lock held
+    private Optional<Tasks> applyUpdate(int id, Consumer<Tasks> mutator) {
+        int slot = id - 1;
+        if (!isPresent(slot)) {
+            return Optional.empty();
+        }
+        Tasks task = materialize(slot);
+        Tasks previous = TaskMutation.copyOf(task);
+        CompletionStats.Sample sampleBefore = CompletionStats.Sample.of(task);
+        mutator.accept(task);
+        task.setId(id);
+        // May throw, which leaves the slot untouched since the mutator only changed a copy
+        Row row = Row.of(task);
+        if (!Objects.equals(previous.getTaskName(), task.getTaskName())) {
+            names.release(nameRefs[slot]);
+            nameRefs[slot] = names.intern(task.getTaskName());
+        }
+        int dueDayBefore = dueDays[slot];
+        unwrite(slot);
+        write(slot, row);
+        if (dueDays[slot] != dueDayBefore) {
+            dueOrder.remove(orderKey(dueDayBefore, slot));
+            dueOrder.add(orderKey(dueDays[slot], slot));
+        }
+        CompletionStats.Sample sampleAfter = CompletionStats.Sample.of(task);
+        if (!Objects.equals(sampleBefore, sampleAfter)) {
+            stats.remove(sampleBefore);
+            stats.add(sampleAfter);
+        }
+        task.setVersion(++versions[slot]);
+        if (!Objects.equals(previous.getCompleted(), task.getCompleted())) {
+            publish(Boolean.TRUE.equals(task.getCompleted()) ? TaskMutation.Type.COMPLETED : TaskMutation.Type.REOPENED, task, previous);
+        } else {
+            publish(TaskMutation.Type.UPDATED, task, previous);
+        }
+        return Optional.of(task);
+    }
+
+    // Must be called with the write lock held
+    private Optional<Tasks> applyRemove(int id) {
+        int slot = id - 1;
+        if (!isPresent(slot)) {
+            return Optional.empty();
+        }
+        Tasks removed = materialize(slot);
+        unwrite(slot);
+        names.release(nameRefs[slot]);
+        stats.remove(CompletionStats.Sample.of(removed));
+        dueOrder.remove(orderKey(dueDays[slot], slot));
+        flags[slot] = 0;
+        size.decrementAndGet();
+        publish(TaskMutation.Type.DELETED, removed, null);
+        return Optional.of(removed);
+    }
+
+    // Writes every column but the name and version, and counts the task; callers maintain the due order
+    private void write(int slot, Row row) {
+        flags[slot] = row.flags();
+        priorities[slot] = row.priority();
+        dueDays[slot] = row.dueDay();
+        creationTimes[slot] = row.creationTime();
+        doneTimes[slot] = row.doneTime();
+        if (row.priority() != NO_PRIORITY) {
+            counts.incrementAndGet(countSlot(PRIORITIES[row.priority()], (row.flags() & COMPLETED) != 0));
+        }
+    }
+
+    // Uncounts the task, before it is rewritten or removed
+    private void unwrite(int slot) {
+        if (priorities[slot] != NO_PRIORITY) {
+            counts.decrementAndGet(countSlot(PRIORITIES[priorities[slot]], (flags[slot] & COMPLETED) != 0));
+        }
+    }
+
+    private Tasks materialize(int slot) {
+        Tasks task = new Tasks();
+        task.setId(slot + 1);
+        task.setTaskName(names.get(nameRefs[slot]));
+        task.setTaskPriority(priorities[slot] == NO_PRIORITY ? null : PRIORITIES[priorities[slot]]);
+        if ((flags[slot] & COMPLETED_SET) != 0) {
+            task.setCompleted((flags[slot] & COMPLETED) != 0);
+        }
+        task.setCreationDate(toDateTime(creationTimes[slot]));
+        task.setTaskDueDate(dueDays[slot] == NO_DATE ? null : LocalDate.ofEpochDay(dueDays[slot]));
+        // Set after completed, which would otherwise stamp the current time
+        task.setDoneDate(toDateTime(doneTimes[slot]));
+        task.setVersion(versions[slot]);
+        return task;
+    }
+
+    // Every change goes through here with the write lock held
+    private void publish(TaskMutation.Type type, Tasks task, Tasks previous) {
+        version.incrementAndGet();
+        TaskMutation mutation = new TaskMutation(type, task, previous);
+        for (TaskMutationListener listener : listeners) {
+            listener.onMutation(mutation);
+        }
+    }
+
+    private boolean isPresent(int slot) {
+        return slot >= 0 && slot < currentId.get() && (flags[slot] & PRESENT) != 0;
+    }
+
+    private void ensureCapacity(int slots) {
+        if (slots <= flags.length) {
+            return;
+        }
+        int capacity = Math.max(slots, flags.length + (flags.length >> 1));
+        flags = Arrays.copyOf(flags, capacity);
+        priorities = Arrays.copyOf(priorities, capacity);
+        nameRefs = Arrays.copyOf(nameRefs, capacity);
+        dueDays = Arrays.copyOf(dueDays, capacity);
+        creationTimes = Arrays.copyOf(creationTimes, capacity);
+        doneTimes = Arrays.copyOf(doneTimes, capacity);
+        versions = Arrays.copyOf(versions, capacity);
+    }
+
+    private static int countSlot(TaskPriority priority, boolean completed) {
+        return priority.ordinal() * 2 + (completed ? 1 : 0);
+    }
+
+    private static int dueKey(LocalDate dueDate) {
+        return dueDate == null ? Integer.MAX_VALUE : toEpochDay(dueDate);
+    }
+
+    private static int toEpochDay(LocalDate date) {
+        return Math.toIntExact(date.toEpochDay());
+    }
+
+    private static long toNanos(LocalDateTime dateTime) {
+        if (dateTime == null) {
+            return NO_TIME;
+        }
+        return Math.addExact(Math.multiplyExact(dateTime.toEpochSecond(ZoneOffset.UTC), NANOS_PER_SECOND), dateTime.getNano());
+    }
+
+    private static LocalDateTime toDateTime(long nanos) {
+        if (nanos == NO_TIME) {
+            return null;
+        }
+        return LocalDateTime.ofEpochSecond(Math.floorDiv(nanos, NANOS_PER_SECOND), (int) Math.floorMod(nanos, NANOS_PER_SECOND), ZoneOffset.UTC);
+    }
+
+    /**
+     * The column values of a task. Converting them can fail (dates beyond the int epoch day or long
+     * nanosecond range), so they are all computed before any column or count is changed.
+     */
+    private record Row(byte flags, byte priority, int dueDay, long creationTime, long doneTime) {
+
+        static Row of(Tasks task) {
+            Boolean completed = task.getCompleted();
+            try {
+                return new Row(
+                        (byte) (PRESENT | (completed == null ? 0 : COMPLETED_SET | (completed ? COMPLETED : 0))),
+                        task.getTaskPriority() == null ? NO_PRIORITY : (byte) task.getTaskPriority().ordinal(),
+                        task.getTaskDueDate() == null ? NO_DATE : toEpochDay(task.getTaskDueDate()),
+                        toNanos(task.getCreationDate()),
+                        toNanos(task.getDoneDate()));
+            } catch (ArithmeticException e) {
+                throw new IllegalArgumentException("Task dates are out of the range the columnar store can hold", e);
+            }
+        }
+    }
+
+    /**
+     * Slots ordered by due date then id, as keys packed by {@link #orderKey}. Most keys sit in a
+     * large sorted run; new keys go to a small sorted run and removals from the large one are only
+     * marked, until the pending changes outgrow a bound of a few times the square root of the large
+     * run and both runs are merged. A change thus costs a binary search and a short array copy, the
+     * merges are amortized over many changes, and reads walk both runs side by side.
+     * Not thread-safe on its own: the store guards it with its read/write lock.
+     */
+    private static final class DueOrder {
+
+        private static final int MIN_PENDING = 1024;
+
+        private long[] run = new long[0];
+        private final BitSet removed = new BitSet();
+        private int removedCount;
+        private long[] recent = new long[64];
+        private int recentCount;
+
+        void add(long key) {
+            int position = Arrays.binarySearch(run, key);
+            if (position >= 0 && removed.get(position)) {
+                // Back where it was, as when a due date is changed and changed back
+                removed.clear(position);
+                removedCount--;
+                return;
+            }
+            int at = -Arrays.binarySearch(recent, 0, recentCount, key) - 1;
+            if (recentCount == recent.length) {
+                recent = Arrays.copyOf(recent, recentCount * 2);
+            }
+            System.arraycopy(recent, at, recent, at + 1, recentCount - at);
+            recent[at] = key;
+            recentCount++;
+            mergeIfDue();
+        }
+
+        /**
+         * Adds keys that are not in the order yet, merging a large batch in a single pass.
+         */
+        void addAll(long[] keys) {
+            if (keys.length < MIN_PENDING) {
+                for (long key : keys) {
+                    add(key);
+                }
+                return;
+            }
+            Arrays.sort(keys);
+            merge(recent, recentCount);
+            recentCount = 0;
+            merge(keys, keys.length);
+        }
+
+        void remove(long key) {
+            int at = Arrays.binarySearch(recent, 0, recentCount, key);
+            if (at >= 0) {
+                System.arraycopy(recent, at + 1, recent, at, recentCount - at - 1);
+                recentCount--;
+                return;
+            }
+            int position = Arrays.binarySearch(run, key);
+            if (position >= 0 && !removed.get(position)) {
+                removed.set(position);
+                removedCount++;
+                mergeIfDue();
+            }
+        }
+
+        /**
+         * Iterates over the keys greater than the given one, in order.
+         */
+        PrimitiveIterator.OfLong after(long key) {
+            return new PrimitiveIterator.OfLong() {
+
+                private int inRun = removed.nextClearBit(firstAfter(run, run.length, key));
+                private int inRecent = firstAfter(recent, recentCount, key);
+
+                @Override
+                public boolean hasNext() {
+                    return inRun < run.length || inRecent < recentCount;
+                }
+
+                @Override
+                public long nextLong() {
+                    if (!hasNext()) {
+                        throw new NoSuchElementException();
+                    }
+                    if (inRecent >= recentCount || (inRun < run.length && run[inRun] < recent[inRecent])) {
+                        long next = run[inRun];
+                        inRun = removed.nextClearBit(inRun + 1);
+                        return next;
+                    }
+                    return recent[inRecent++];
+                }
+            };
+        }
+
+        private void mergeIfDue() {
+            if (recentCount + removedCount > Math.max(MIN_PENDING, 4 * (int) Math.sqrt(run.length))) {
+                merge(recent, recentCount);
+                recentCount = 0;
+            }
+        }
+
+        // Rebuilds the large run from its unmarked keys and the given sorted keys
+        private void merge(long[] keys, int count) {
+            long[] merged = new long[run.length - removedCount + count];
+            int inRun = removed.nextClearBit(0);
+            int inKeys = 0;
+            int next = 0;
+            while (inRun < run.length || inKeys < count) {
+                if (inKeys >= count || (inRun < run.length && run[inRun] < keys[inKeys])) {
+                    merged[next++] = run[inRun];
+                    inRun = removed.nextClearBit(inRun + 1);
+                } else {
+                    merged[next++] = keys[inKeys++];
+                }
+            }
+            run = merged;
+            removed.clear();
+            removedCount = 0;
+        }
+
+        // Index of the first key greater than the given one
+        private static int firstAfter(long[] keys, int length, long key) {
+            int position = Arrays.binarySearch(keys, 0, length, key);
+            return position >= 0 ? position + 1 : -position - 1;
+        }
+    }
+
+    /**
+     * Interned task names with reference counts, so repeated names are stored once.
+     * Not thread-safe on its own: the store guards it with its read/write lock.
+     */
+    static final class NameDictionary {
+
+        private final Map<String, Integer> refs = new HashMap<>();
+        private String[] values = new String[64];
+        private String[] lowerValues = new String[64];
+        private int[] useCounts = new int[64];
+        private int[] freeRefs = new int[16];
+        private int freeCount;
+        private int nextRef;
+
+        int intern(String name) {
+            if (name == null) {
+                return -1;
+            }
+            Integer existing = refs.get(name);
+            if (existing != null) {
+                useCounts[existing]++;
+                return existing;
+            }
+            int ref = freeCount > 0 ? freeRefs[--freeCount] : nextRef++;
+            if (ref == values.length) {
+                values = Arrays.copyOf(values, ref * 2);
+                lowerValues = Arrays.copyOf(lowerValues, ref * 2);
+                useCounts = Arrays.copyOf(useCounts, ref * 2);
+            }
+            values[ref] = name;
+            lowerValues[ref] = name.toLowerCase(Locale.ROOT);
+            useCounts[ref] = 1;
+            refs.put(name, ref);
+            return ref;
+        }
+
+        void release(int ref) {
+            if (ref < 0 || --useCounts[ref] > 0) {
+                return;
+            }
+            refs.remove(values[ref]);
+            values[ref] = null;
+            lowerValues[ref] = null;
+            if (freeCount == freeRefs.length) {
+                freeRefs = Arrays.copyOf(freeRefs, freeCount * 2);
+            }
+            freeRefs[freeCount++] = ref;
+        }
+
+        String get(int ref) {
+            return ref < 0 ? null : values[ref];
+        }
+
+        String lower(int ref) {
+            return lowerValues[ref];
+        }
+
+        // Each distinct name is checked once, however many tasks carry it
+        BitSet containing(String lowerQuery) {
+            BitSet matches = new BitSet(nextRef);
+            for (int ref = 0; ref < nextRef; ref++) {
+                if (lowerValues[ref] != null && lowerValues[ref].contains(lowerQuery)) {
+                    matches.set(ref);
+                }
+            }
+            return matches;
+        }
+
+        TreeMap<String, List<Integer>> startingWith(String lowerPrefix) {
+            TreeMap<String, List<Integer>> matches = new TreeMap<>();
+            for (int ref = 0; ref < nextRef; ref++) {
+                if (lowerValues[ref] != null && lowerValues[ref].startsWith(lowerPrefix)) {
+                    matches.computeIfAbsent(lowerValues[ref], name -> new ArrayList<>()).add(ref);
+                }
+            }
+            return matches;
+        }
+    }
+}
@@ -0,0 +1,116 @@
+package com.toDoList.services;
+
+import java.util.Arrays;
+
+/**
+ * HDR-style log-linear histogram of completion times in minutes.
+ * Values below 128 are counted exactly; larger values fall into one of 64 sub-buckets per
+ * power of two, keeping the relative error under 1.6% with a fixed-size array no matter
+ * how many tasks are recorded. Counts can be decremented, so reopened and deleted tasks
+ * are taken back out, and histograms merge by adding their counts. Values are also counted per
+ * range of a fixed set of bounds as they are recorded, since a bound inside a wide bucket could
+ * not be placed from the bucket alone.
+ * Not thread-safe on its own: {@link TaskStore} guards it with its read/write lock.
+ */
+class CompletionHistogram {
+
+    private static final int SUB_BUCKET_BITS = 7;
+    private static final int SUB_BUCKETS = 1 << SUB_BUCKET_BITS;
+    private static final int HALF_SUB_BUCKETS = SUB_BUCKETS / 2;
+    private static final int BUCKETS = SUB_BUCKETS + (Long.SIZE - SUB_BUCKET_BITS) * HALF_SUB_BUCKETS;
+
+    private final long[] counts = new long[BUCKETS];
+    private final long[] upperBounds;
+    private final long[] rangeCounts;
+    private long total;
+
+    /**
+     * Creates an empty histogram.
+     *
+     * @param upperBounds exclusive upper bounds in minutes of the ranges to count, in increasing order
+     */
+    CompletionHistogram(long[] upperBounds) {
+        this.upperBounds = upperBounds.clone();
+        this.rangeCounts = new long[upperBounds.length + 1];
+    }
+
+    void record(long minutes, long delta) {
+        long value = Math.max(0, minutes);
+        counts[indexOf(value)] += delta;
+        rangeCounts[rangeOf(value)] += delta;
+        total += delta;
+    }
+
+    /**
+     * Adds the counts of a histogram created with the same bounds.
+     */
+    void merge(CompletionHistogram other) {
+        for (int i = 0; i < BUCKETS; i++) {
+            counts[i] += other.counts[i];
+        }
+        for (int i = 0; i < rangeCounts.length; i++) {
+            rangeCounts[i] += other.rangeCounts[i];
+        }
+        total += other.total;
+    }
+
+    long count() {
+        return total;
+    }
+
+    /**
+     * Returns the value at the given percentile, or 0 when nothing has been recorded.
+     *
+     * @param percentile the percentile, between 0 and 100
+     * @return the completion time in minutes
+     */
+    long percentile(double percentile) {
+        if (total == 0) {
+            return 0;
+        }
+        long rank = Math.max(1, (long) Math.ceil(percentile / 100.0 * total));
+        long seen = 0;
+        for (int i = 0; i < BUCKETS; i++) {
+            seen += counts[i];
+            if (seen >= rank) {
+                return middleOf(i);
+            }
+        }
+        return middleOf(BUCKETS - 1);
+    }
+
+    /**
+     * Returns the exact number of recorded values in each range delimited by the upper bounds.
+     * The returned array has one more entry than the bounds, for values from the last one up.
+     *
+     * @return the count per range
+     */
+    long[] rangeCounts() {
+        return rangeCounts.clone();
+    }
+
+    // A value equal to a bound belongs to the range above it
+    private int rangeOf(long value) {
+        int position = Arrays.binarySearch(upperBounds, value);
+        return position >= 0 ? position + 1 : -position - 1;
+    }
+
+    private static int indexOf(long value) {
+        if (value < SUB_BUCKETS) {
+            return (int) value;
+        }
+        int shift = (Long.SIZE - 1 - Long.numberOfLeadingZeros(value)) - (SUB_BUCKET_BITS - 1);
+        return SUB_BUCKETS + (shift - 1) * HALF_SUB_BUCKETS + (int) ((value >>> shift) - HALF_SUB_BUCKETS);
+    }
+
+    private static long middleOf(int index) {
+        if (index < SUB_BUCKETS) {
+            return index;
+        }
+        int offset = index - SUB_BUCKETS;
+        int shift = offset / HALF_SUB_BUCKETS + 1;
+        long subBucket = offset % HALF_SUB_BUCKETS + HALF_SUB_BUCKETS;
+        long lowest = subBucket << shift;
+        return lowest + ((1L << shift) - 1) / 2;
+    }
+}
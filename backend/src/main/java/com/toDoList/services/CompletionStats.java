@@ -0,0 +1,161 @@
+package com.toDoList.services;
+
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import com.toDoList.TaskPriority;
+import com.toDoList.models.CompletionTimeReport;
+import com.toDoList.models.CompletionTimeStats;
+import com.toDoList.models.Tasks;
+
+/**
+ * Running completion-time aggregates per priority, so the average endpoints are O(1),
+ * and a histogram per priority for percentiles in constant memory.
+ * {@link TaskStore} feeds it a sample before and after every mutation of a task.
+ * Not thread-safe on its own: each store guards it with its own lock.
+ */
+class CompletionStats {
+
+    // Histogram ranges reported by the distribution endpoint
+    private static final long[] RANGE_BOUNDS = { 15, 60, 240, 1440, 10080, 43200 };
+    private static final String[] RANGE_LABELS = { "<15m", "15m-1h", "1h-4h", "4h-1d", "1d-7d", "7d-30d", ">=30d" };
+
+    private final long[] counts = new long[TaskPriority.values().length];
+    private final long[] minuteSums = new long[TaskPriority.values().length];
+    private final CompletionHistogram[] histograms = new CompletionHistogram[TaskPriority.values().length];
+
+    CompletionStats() {
+        for (TaskPriority priority : TaskPriority.values()) {
+            histograms[priority.ordinal()] = new CompletionHistogram(RANGE_BOUNDS);
+        }
+    }
+
+    /**
+     * What a task contributes to the aggregates: its priority and whole minutes from
+     * creation to completion, or null when it is not completed.
+     */
+    record Sample(TaskPriority priority, long minutes) {
+        static Sample of(Tasks task) {
+            if (!Boolean.TRUE.equals(task.getCompleted()) || task.getTaskPriority() == null
+                    || task.getCreationDate() == null || task.getDoneDate() == null) {
+                return null;
+            }
+            // toMinutes truncates, matching the floor applied by the previous full scans
+            return new Sample(task.getTaskPriority(), Duration.between(task.getCreationDate(), task.getDoneDate()).toMinutes());
+        }
+    }
+
+    void add(Sample sample) {
+        if (sample != null) {
+            counts[sample.priority().ordinal()]++;
+            minuteSums[sample.priority().ordinal()] += sample.minutes();
+            histograms[sample.priority().ordinal()].record(sample.minutes(), 1);
+        }
+    }
+
+    void remove(Sample sample) {
+        if (sample != null) {
+            counts[sample.priority().ordinal()]--;
+            minuteSums[sample.priority().ordinal()] -= sample.minutes();
+            histograms[sample.priority().ordinal()].record(sample.minutes(), -1);
+        }
+    }
+
+    double average() {
+        return average(counts, minuteSums);
+    }
+
+    Map<TaskPriority, Double> averagePerPriority() {
+        return averagePerPriority(counts, minuteSums);
+    }
+
+    /**
+     * Returns a copy of the completed task counts and minute sums, enough to compute the averages.
+     */
+    Totals totals() {
+        return new Totals(counts.clone(), minuteSums.clone());
+    }
+
+    /**
+     * Adds the samples of another instance to this one, histograms included.
+     */
+    void merge(CompletionStats other) {
+        for (TaskPriority priority : TaskPriority.values()) {
+            counts[priority.ordinal()] += other.counts[priority.ordinal()];
+            minuteSums[priority.ordinal()] += other.minuteSums[priority.ordinal()];
+            histograms[priority.ordinal()].merge(other.histograms[priority.ordinal()]);
+        }
+    }
+
+    /**
+     * Completed task counts and minute sums per priority, detached from the store that produced them.
+     * Unlike the averages themselves, totals from several stores can be added up.
+     */
+    record Totals(long[] counts, long[] minuteSums) {
+        Totals plus(Totals other) {
+            long[] mergedCounts = counts.clone();
+            long[] mergedSums = minuteSums.clone();
+            for (int i = 0; i < mergedCounts.length; i++) {
+                mergedCounts[i] += other.counts[i];
+                mergedSums[i] += other.minuteSums[i];
+            }
+            return new Totals(mergedCounts, mergedSums);
+        }
+
+        double average() {
+            return CompletionStats.average(counts, minuteSums);
+        }
+
+        Map<TaskPriority, Double> averagePerPriority() {
+            return CompletionStats.averagePerPriority(counts, minuteSums);
+        }
+    }
+
+    private static double average(long[] counts, long[] minuteSums) {
+        long count = 0;
+        long sum = 0;
+        for (TaskPriority priority : TaskPriority.values()) {
+            count += counts[priority.ordinal()];
+            sum += minuteSums[priority.ordinal()];
+        }
+        return count == 0 ? 0.0 : (double) sum / count;
+    }
+
+    private static Map<TaskPriority, Double> averagePerPriority(long[] counts, long[] minuteSums) {
+        // Only priorities with completed tasks are reported, as with groupingBy
+        Map<TaskPriority, Double> averages = new EnumMap<>(TaskPriority.class);
+        for (TaskPriority priority : TaskPriority.values()) {
+            long count = counts[priority.ordinal()];
+            if (count > 0) {
+                averages.put(priority, (double) minuteSums[priority.ordinal()] / count);
+            }
+        }
+        return averages;
+    }
+
+    CompletionTimeReport distribution() {
+        // The overall distribution is the merge of the per-priority histograms
+        CompletionHistogram overall = new CompletionHistogram(RANGE_BOUNDS);
+        Map<TaskPriority, CompletionTimeStats> perPriority = new EnumMap<>(TaskPriority.class);
+        for (TaskPriority priority : TaskPriority.values()) {
+            CompletionHistogram histogram = histograms[priority.ordinal()];
+            overall.merge(histogram);
+            if (histogram.count() > 0) {
+                perPriority.put(priority, describe(histogram));
+            }
+        }
+        return new CompletionTimeReport(describe(overall), perPriority);
+    }
+
+    private static CompletionTimeStats describe(CompletionHistogram histogram) {
+        long[] rangeCounts = histogram.rangeCounts();
+        Map<String, Long> ranges = new LinkedHashMap<>();
+        for (int i = 0; i < RANGE_LABELS.length; i++) {
+            ranges.put(RANGE_LABELS[i], rangeCounts[i]);
+        }
+        return new CompletionTimeStats(histogram.count(), histogram.percentile(50), histogram.percentile(90),
+                histogram.percentile(99), ranges);
+    }
+}
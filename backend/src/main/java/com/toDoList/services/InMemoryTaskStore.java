@@ -0,0 +1,538 @@
+package com.toDoList.services;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.NavigableSet;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.ConcurrentSkipListSet;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import com.toDoList.TaskPriority;
+import com.toDoList.models.CompletionTimeReport;
+import com.toDoList.models.Tasks;
+
+/**
+ * Concurrent in-memory {@link TaskStore}, the default storage engine.
+ * Tasks are kept in an id-keyed primary index so lookups, updates and deletes are O(1),
+ * ids are allocated atomically, and an ordered id set preserves creation order for scans.
+ * Secondary indexes on priority, completion status and due date are maintained on every
+ * mutation so filtered queries only visit the matching tasks. The priority buckets and the
+ * due date map double as pre-sorted views, so sorted queries are a bounded walk rather than a sort.
+ * Task names are covered by a trigram index for partial-match search, and completion-time
+ * aggregates are updated alongside the indexes.
+ */
+public class InMemoryTaskStore implements TaskStore {
+
+    private final ConcurrentHashMap<Integer, Tasks> tasksById = new ConcurrentHashMap<>();
+    private final ConcurrentSkipListSet<Integer> ids = new ConcurrentSkipListSet<>();
+    private final AtomicInteger currentId;
+    private final int idStride;
+    // Secondary indexes, each holding ids in creation order
+    private final Map<TaskPriority, NavigableSet<Integer>> idsByPriority = new EnumMap<>(TaskPriority.class);
+    private final NavigableSet<Integer> completedIds = new ConcurrentSkipListSet<>();
+    // Task count per priority and completion state, readable without the lock
+    private final AtomicIntegerArray counts = new AtomicIntegerArray(TaskPriority.values().length * 2);
+    private final NavigableSet<Integer> openIds = new ConcurrentSkipListSet<>();
+    private final ConcurrentSkipListMap<LocalDate, NavigableSet<Integer>> idsByDueDate = new ConcurrentSkipListMap<>();
+    private final NavigableSet<Integer> noDueDateIds = new ConcurrentSkipListSet<>();
+    private final TaskNameIndex names = new TaskNameIndex();
+    private final CompletionStats stats = new CompletionStats();
+    private final List<TaskMutationListener> listeners = new CopyOnWriteArrayList<>();
+    private final AtomicLong version = new AtomicLong();
+    // Writers take the write lock so a task and its index entries always change together
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+
+    public InMemoryTaskStore() {
+        this(1, 1);
+    }
+
+    /**
+     * Creates a store allocating the ids firstId, firstId + idStride, firstId + 2 * idStride and so on,
+     * so that several stores can share one id space.
+     *
+     * @param firstId  the first id to allocate
+     * @param idStride the gap between consecutive ids
+     */
+    InMemoryTaskStore(int firstId, int idStride) {
+        this.currentId = new AtomicInteger(firstId - idStride);
+        this.idStride = idStride;
+        for (TaskPriority priority : TaskPriority.values()) {
+            idsByPriority.put(priority, new ConcurrentSkipListSet<>());
+        }
+    }
+
+    @Override
+    public Tasks insert(Tasks task) {
+        lock.writeLock().lock();
+        try {
+            int id = currentId.addAndGet(idStride);
+            task.setId(id);
+            put(id, task);
+            publish(TaskMutation.Type.CREATED, task, null);
+            return task;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Stores the tasks under a single write lock acquisition, reserving their id range at once.
+     */
+    @Override
+    public List<Tasks> insertAll(List<Tasks> tasks) {
+        lock.writeLock().lock();
+        try {
+            int id = currentId.getAndAdd(tasks.size() * idStride);
+            for (Tasks task : tasks) {
+                id += idStride;
+                task.setId(id);
+                put(id, task);
+                publish(TaskMutation.Type.CREATED, task, null);
+            }
+            return tasks;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public Optional<Tasks> get(Integer id) {
+        if (id == null) {
+            return Optional.empty();
+        }
+        lock.readLock().lock();
+        try {
+            return Optional.ofNullable(tasksById.get(id));
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    @Override
+    public Optional<Tasks> update(Integer id, Consumer<Tasks> mutator) {
+        if (id == null) {
+            return Optional.empty();
+        }
+        lock.writeLock().lock();
+        try {
+            return applyUpdate(id, mutator);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Applies all the changes under a single write lock acquisition.
+     */
+    @Override
+    public List<Optional<Tasks>> updateAll(List<Integer> ids, List<Consumer<Tasks>> mutators) {
+        List<Optional<Tasks>> updated = new ArrayList<>(ids.size());
+        lock.writeLock().lock();
+        try {
+            for (int i = 0; i < ids.size(); i++) {
+                updated.add(ids.get(i) == null ? Optional.empty() : applyUpdate(ids.get(i), mutators.get(i)));
+            }
+            return updated;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public Optional<Tasks> remove(Integer id) {
+        if (id == null) {
+            return Optional.empty();
+        }
+        lock.writeLock().lock();
+        try {
+            return applyRemove(id);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Removes all the tasks under a single write lock acquisition.
+     */
+    @Override
+    public List<Optional<Tasks>> removeAll(List<Integer> ids) {
+        List<Optional<Tasks>> removed = new ArrayList<>(ids.size());
+        lock.writeLock().lock();
+        try {
+            for (Integer id : ids) {
+                removed.add(id == null ? Optional.empty() : applyRemove(id));
+            }
+            return removed;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Puts a task back under its existing id, replacing any stored version, without publishing
+     * a mutation. Used when recovering persisted state.
+     *
+     * @param task the task to restore
+     */
+    public void restore(Tasks task) {
+        lock.writeLock().lock();
+        try {
+            evict(task.getId());
+            put(task.getId(), task);
+            advanceCurrentId(task.getId());
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Removes a task without publishing a mutation. Used when recovering persisted state.
+     *
+     * @param id the ID of the task
+     */
+    public void restoreRemoval(Integer id) {
+        lock.writeLock().lock();
+        try {
+            evict(id);
+            advanceCurrentId(id);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Makes sure ids up to the given value are never allocated again.
+     *
+     * @param id the highest id known to have been allocated
+     */
+    public void advanceCurrentId(int id) {
+        currentId.accumulateAndGet(id, Math::max);
+    }
+
+    /**
+     * Returns the last allocated id.
+     *
+     * @return the current id
+     */
+    public int currentId() {
+        return currentId.get();
+    }
+
+    @Override
+    public long version() {
+        return version.get();
+    }
+
+    @Override
+    public void addListener(TaskMutationListener listener) {
+        listeners.add(listener);
+    }
+
+    /**
+     * Runs the query under the read lock, walking the sorted index for the requested order and
+     * probing the other indexes. When a cursor is given the walk resumes right after it, so
+     * deep pages cost the same as the first one.
+     */
+    @Override
+    public <R> R select(TaskQuery query, Function<Stream<Tasks>, R> reader) {
+        lock.readLock().lock();
+        try {
+            TaskCursor after = query.after();
+            TaskPriority priority = query.priority();
+            Boolean completed = query.completed();
+            String taskName = query.taskName();
+            NavigableSet<Integer> byPriority = priority == null ? null : idsByPriority.get(priority);
+            NavigableSet<Integer> byCompleted = completed == null ? null : (completed ? completedIds : openIds);
+            Set<Integer> byName = taskName == null || taskName.isEmpty() ? null : names.search(taskName);
+            Stream<Integer> matching = switch (query.sort()) {
+                case ID -> walkById(after, byPriority, byCompleted, byName);
+                case PRIORITY -> probe(probe(walkByPriority(after, priority), byCompleted), byName);
+                case DUE_DATE -> probe(probe(probe(walkByDueDate(after), byPriority), byCompleted), byName);
+            };
+            return reader.apply(matching.skip(query.offset()).limit(query.limit()).map(tasksById::get));
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    @Override
+    public List<Tasks> search(String query, int limit) {
+        lock.readLock().lock();
+        try {
+            return names.rank(query, limit).stream().map(tasksById::get).collect(Collectors.toList());
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    @Override
+    public List<String> complete(String prefix, int limit) {
+        lock.readLock().lock();
+        try {
+            return names.complete(prefix, limit).stream()
+                    .map(id -> tasksById.get(id).getTaskName())
+                    .collect(Collectors.toList());
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    @Override
+    public double averageCompletionTime() {
+        lock.readLock().lock();
+        try {
+            return stats.average();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    @Override
+    public Map<TaskPriority, Double> averageCompletionTimePerPriority() {
+        lock.readLock().lock();
+        try {
+            return stats.averagePerPriority();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    @Override
+    public CompletionTimeReport completionTimeDistribution() {
+        lock.readLock().lock();
+        try {
+            return stats.distribution();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Hands the completion-time aggregates to the reader under the read lock, so that
+     * {@link ShardedTaskStore} can merge them across shards.
+     */
+    <R> R readStats(Function<CompletionStats, R> reader) {
+        lock.readLock().lock();
+        try {
+            return reader.apply(stats);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    @Override
+    public List<Tasks> findDueBetween(LocalDate from, LocalDate to) {
+        lock.readLock().lock();
+        try {
+            return idsByDueDate.subMap(from, true, to, true).values().stream()
+                    .flatMap(NavigableSet::stream)
+                    .map(tasksById::get)
+                    .collect(Collectors.toList());
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    @Override
+    public int size() {
+        return tasksById.size();
+    }
+
+    @Override
+    public int count(TaskPriority priority, boolean completed) {
+        return counts.get(countSlot(priority, completed));
+    }
+
+    private Stream<Integer> walkById(TaskCursor after, NavigableSet<Integer> byPriority, NavigableSet<Integer> byCompleted,
+            Set<Integer> byName) {
+        // Drive the scan from the smallest index and probe the others
+        List<Set<Integer>> filters = new ArrayList<>();
+        for (Set<Integer> filter : Arrays.asList(byPriority, byCompleted, byName)) {
+            if (filter != null) {
+                filters.add(filter);
+            }
+        }
+        if (filters.isEmpty()) {
+            return tail(ids, after).stream();
+        }
+        filters.sort(Comparator.comparingInt(Set::size));
+        Set<Integer> smallest = filters.remove(0);
+        NavigableSet<Integer> driver = smallest instanceof NavigableSet<Integer> sorted ? sorted : new TreeSet<>(smallest);
+        Stream<Integer> walk = tail(driver, after).stream();
+        for (Set<Integer> filter : filters) {
+            walk = probe(walk, filter);
+        }
+        return walk;
+    }
+
+    private Stream<Integer> walkByPriority(TaskCursor after, TaskPriority priority) {
+        TaskPriority from = after == null ? null : after.priority();
+        List<NavigableSet<Integer>> buckets = new ArrayList<>();
+        for (TaskPriority bucket : TaskPriority.values()) {
+            if ((from != null && bucket.compareTo(from) < 0) || (priority != null && bucket != priority)) {
+                continue;
+            }
+            buckets.add(bucket == from ? tail(idsByPriority.get(bucket), after) : idsByPriority.get(bucket));
+        }
+        return buckets.stream().flatMap(NavigableSet::stream);
+    }
+
+    private Stream<Integer> walkByDueDate(TaskCursor after) {
+        // Tasks without a due date come last, matching Comparator.nullsLast
+        if (after != null && after.dueDate() == null) {
+            return tail(noDueDateIds, after).stream();
+        }
+        LocalDate from = after == null ? null : after.dueDate();
+        NavigableMap<LocalDate, NavigableSet<Integer>> dates = from == null ? idsByDueDate : idsByDueDate.tailMap(from, true);
+        Stream<Integer> dated = dates.entrySet().stream()
+                .flatMap(entry -> (entry.getKey().equals(from) ? tail(entry.getValue(), after) : entry.getValue()).stream());
+        return Stream.concat(dated, noDueDateIds.stream());
+    }
+
+    private static NavigableSet<Integer> tail(NavigableSet<Integer> set, TaskCursor after) {
+        return after == null ? set : set.tailSet(after.id(), false);
+    }
+
+    private static Stream<Integer> probe(Stream<Integer> walk, Set<Integer> index) {
+        return index == null ? walk : walk.filter(index::contains);
+    }
+
+    // Must be called with the write lock held
+    private Optional<Tasks> applyUpdate(int id, Consumer<Tasks> mutator) {
+        Tasks task = tasksById.get(id);
+        if (task == null) {
+            return Optional.empty();
+        }
+        Tasks previous = TaskMutation.copyOf(task);
+        IndexKey before = IndexKey.of(task);
+        String nameBefore = task.getTaskName();
+        CompletionStats.Sample sampleBefore = CompletionStats.Sample.of(task);
+        mutator.accept(task);
+        IndexKey after = IndexKey.of(task);
+        if (!before.equals(after)) {
+            unindex(id, before);
+            index(id, after);
+        }
+        if (!Objects.equals(nameBefore, task.getTaskName())) {
+            names.remove(id);
+            names.add(id, task.getTaskName());
+        }
+        CompletionStats.Sample sampleAfter = CompletionStats.Sample.of(task);
+        if (!Objects.equals(sampleBefore, sampleAfter)) {
+            stats.remove(sampleBefore);
+            stats.add(sampleAfter);
+        }
+        if (!Objects.equals(before.completed(), after.completed())) {
+            publish(Boolean.TRUE.equals(after.completed()) ? TaskMutation.Type.COMPLETED : TaskMutation.Type.REOPENED, task, previous);
+        } else {
+            publish(TaskMutation.Type.UPDATED, task, previous);
+        }
+        return Optional.of(task);
+    }
+
+    // Must be called with the write lock held
+    private Optional<Tasks> applyRemove(int id) {
+        Tasks removed = evict(id);
+        if (removed != null) {
+            publish(TaskMutation.Type.DELETED, removed, null);
+        }
+        return Optional.ofNullable(removed);
+    }
+
+    private void put(Integer id, Tasks task) {
+        tasksById.put(id, task);
+        ids.add(id);
+        index(id, IndexKey.of(task));
+        names.add(id, task.getTaskName());
+        stats.add(CompletionStats.Sample.of(task));
+    }
+
+    private Tasks evict(Integer id) {
+        Tasks removed = tasksById.remove(id);
+        if (removed != null) {
+            ids.remove(id);
+            unindex(id, IndexKey.of(removed));
+            names.remove(id);
+            stats.remove(CompletionStats.Sample.of(removed));
+        }
+        return removed;
+    }
+
+    // Every change goes through here with the write lock held, so this is where versions are bumped
+    private void publish(TaskMutation.Type type, Tasks task, Tasks previous) {
+        version.incrementAndGet();
+        if (type != TaskMutation.Type.DELETED) {
+            task.setVersion(task.getVersion() + 1);
+        }
+        TaskMutation mutation = new TaskMutation(type, task, previous);
+        for (TaskMutationListener listener : listeners) {
+            listener.onMutation(mutation);
+        }
+    }
+
+    private void index(Integer id, IndexKey key) {
+        if (key.priority() != null) {
+            idsByPriority.get(key.priority()).add(id);
+            counts.incrementAndGet(countSlot(key.priority(), Boolean.TRUE.equals(key.completed())));
+        }
+        if (key.completed() != null) {
+            (key.completed() ? completedIds : openIds).add(id);
+        }
+        if (key.dueDate() != null) {
+            idsByDueDate.computeIfAbsent(key.dueDate(), date -> new ConcurrentSkipListSet<>()).add(id);
+        } else {
+            noDueDateIds.add(id);
+        }
+    }
+
+    private void unindex(Integer id, IndexKey key) {
+        if (key.priority() != null) {
+            idsByPriority.get(key.priority()).remove(id);
+            counts.decrementAndGet(countSlot(key.priority(), Boolean.TRUE.equals(key.completed())));
+        }
+        if (key.completed() != null) {
+            (key.completed() ? completedIds : openIds).remove(id);
+        }
+        if (key.dueDate() != null) {
+            NavigableSet<Integer> sameDay = idsByDueDate.get(key.dueDate());
+            if (sameDay != null) {
+                sameDay.remove(id);
+                if (sameDay.isEmpty()) {
+                    idsByDueDate.remove(key.dueDate());
+                }
+            }
+        } else {
+            noDueDateIds.remove(id);
+        }
+    }
+
+    private static int countSlot(TaskPriority priority, boolean completed) {
+        return priority.ordinal() * 2 + (completed ? 1 : 0);
+    }
+
+    // Snapshot of the indexed fields of a task, taken before and after each mutation
+    private record IndexKey(TaskPriority priority, Boolean completed, LocalDate dueDate) {
+        static IndexKey of(Tasks task) {
+            return new IndexKey(task.getTaskPriority(), task.getCompleted(), task.getTaskDueDate());
+        }
+    }
+}
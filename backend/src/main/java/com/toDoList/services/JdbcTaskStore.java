@@ -0,0 +1,553 @@
+package com.toDoList.services;
+
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Types;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.jdbc.support.GeneratedKeyHolder;
+import org.springframework.jdbc.support.KeyHolder;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.toDoList.TaskPriority;
+import com.toDoList.models.CompletionTimeReport;
+import com.toDoList.models.Tasks;
+
+/**
+ * {@link TaskStore} backed by a relational database through JDBC, for datasets larger than the heap.
+ * Filters, ordering and pagination are pushed down into indexed SQL, so only the requested page
+ * is ever loaded. Completion-time aggregates and task counts are rebuilt from the table at
+ * startup and then maintained in memory, assuming this application is the only writer.
+ * Writers hold the store's write lock until their transaction has committed and its mutations
+ * are published, so listeners see them in commit order like with the other engines.
+ */
+public class JdbcTaskStore implements TaskStore {
+
+    private static final Logger logger = LoggerFactory.getLogger(JdbcTaskStore.class);
+    private static final int BATCH_SIZE = 1000;
+    private static final String COLUMNS = "id, task_name, task_priority, completed, creation_date, task_due_date, done_date, version";
+    private static final String INSERT = "INSERT INTO tasks (task_name, task_priority, completed, creation_date, task_due_date, "
+            + "done_date, completion_minutes, version) VALUES (?, ?, ?, ?, ?, ?, ?, ?)";
+    private static final String UPDATE = "UPDATE tasks SET task_name = ?, task_priority = ?, completed = ?, creation_date = ?, "
+            + "task_due_date = ?, done_date = ?, completion_minutes = ?, version = ? WHERE id = ?";
+    private static final String DUE_DATE_ORDER = " ORDER BY no_due_date, task_due_date, id";
+
+    private static final RowMapper<Tasks> TASK_MAPPER = (rs, rowNum) -> {
+        Tasks task = new Tasks();
+        task.setId(rs.getInt("id"));
+        task.setTaskName(rs.getString("task_name"));
+        int priority = rs.getInt("task_priority");
+        task.setTaskPriority(rs.wasNull() ? null : TaskPriority.values()[priority]);
+        boolean completed = rs.getBoolean("completed");
+        if (!rs.wasNull()) {
+            task.setCompleted(completed);
+        }
+        task.setCreationDate(rs.getObject("creation_date", LocalDateTime.class));
+        task.setTaskDueDate(rs.getObject("task_due_date", LocalDate.class));
+        // Set after completed, which would otherwise stamp the current time
+        task.setDoneDate(rs.getObject("done_date", LocalDateTime.class));
+        task.setVersion(rs.getLong("version"));
+        return task;
+    };
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final CompletionStats stats = new CompletionStats();
+    // Guards the in-memory aggregates, which are adjusted after each commit
+    private final ReentrantLock statsLock = new ReentrantLock();
+    // Held from a writer's first statement until its changes are committed and published
+    private final ReentrantLock writeLock = new ReentrantLock();
+    private final AtomicInteger size = new AtomicInteger();
+    private final AtomicIntegerArray counts = new AtomicIntegerArray(TaskPriority.values().length * 2);
+    private final List<TaskMutationListener> listeners = new CopyOnWriteArrayList<>();
+    // Store-wide change counter; per-task versions are kept in the table
+    private final AtomicLong version = new AtomicLong();
+
+    /**
+     * Creates a store over the given database.
+     *
+     * @param jdbcTemplate        the template for the task datasource
+     * @param transactionTemplate the template running multi-statement changes in one transaction
+     */
+    public JdbcTaskStore(JdbcTemplate jdbcTemplate, TransactionTemplate transactionTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = transactionTemplate;
+    }
+
+    /**
+     * Creates the table and its indexes if needed, then loads the completion-time aggregates
+     * and the task counts.
+     */
+    public void initialize() {
+        jdbcTemplate.execute("""
+                CREATE TABLE IF NOT EXISTS tasks (
+                    id INTEGER GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+                    task_name VARCHAR(255),
+                    task_name_lower VARCHAR(255) GENERATED ALWAYS AS (LOWER(task_name)),
+                    task_priority TINYINT,
+                    completed BOOLEAN,
+                    creation_date TIMESTAMP(9),
+                    task_due_date DATE,
+                    no_due_date BOOLEAN GENERATED ALWAYS AS (task_due_date IS NULL),
+                    done_date TIMESTAMP(9),
+                    completion_minutes BIGINT,
+                    version BIGINT DEFAULT 0 NOT NULL
+                )""");
+        jdbcTemplate.execute("CREATE INDEX IF NOT EXISTS idx_tasks_priority ON tasks (task_priority, id)");
+        jdbcTemplate.execute("CREATE INDEX IF NOT EXISTS idx_tasks_completed ON tasks (completed, id)");
+        jdbcTemplate.execute("CREATE INDEX IF NOT EXISTS idx_tasks_due_date ON tasks (no_due_date, task_due_date, id)");
+        jdbcTemplate.execute("CREATE INDEX IF NOT EXISTS idx_tasks_name ON tasks (task_name_lower)");
+
+        statsLock.lock();
+        try {
+            jdbcTemplate.query("SELECT task_priority, completion_minutes FROM tasks WHERE completion_minutes IS NOT NULL",
+                    rs -> {
+                        stats.add(new CompletionStats.Sample(TaskPriority.values()[rs.getInt(1)], rs.getLong(2)));
+                    });
+        } finally {
+            statsLock.unlock();
+        }
+        jdbcTemplate.query("SELECT task_priority, COALESCE(completed, FALSE), COUNT(*) FROM tasks GROUP BY 1, 2", rs -> {
+            int priority = rs.getInt(1);
+            if (!rs.wasNull()) {
+                counts.addAndGet(countSlot(TaskPriority.values()[priority], rs.getBoolean(2)), rs.getInt(3));
+            }
+            size.addAndGet(rs.getInt(3));
+        });
+        logger.info("JDBC task store ready with {} tasks", size());
+    }
+
+    @Override
+    public Tasks insert(Tasks task) {
+        return write(() -> {
+            task.setVersion(1);
+            KeyHolder keyHolder = new GeneratedKeyHolder();
+            jdbcTemplate.update(connection -> {
+                PreparedStatement statement = connection.prepareStatement(INSERT, new String[] { "id" });
+                bind(statement, task);
+                return statement;
+            }, keyHolder);
+            task.setId(Objects.requireNonNull(keyHolder.getKey()).intValue());
+            return task;
+        }, inserted -> {
+            adjust(null, inserted);
+            publish(TaskMutation.Type.CREATED, inserted, null);
+        });
+    }
+
+    /**
+     * Inserts the tasks with batched prepared statements in a single transaction.
+     */
+    @Override
+    public List<Tasks> insertAll(List<Tasks> tasks) {
+        return write(() -> insertBatches(tasks), inserted -> {
+            for (Tasks task : inserted) {
+                adjust(null, task);
+                publish(TaskMutation.Type.CREATED, task, null);
+            }
+        });
+    }
+
+    private List<Tasks> insertBatches(List<Tasks> tasks) {
+        transactionTemplate.executeWithoutResult(status -> jdbcTemplate.execute((ConnectionCallback<Void>) connection -> {
+            try (PreparedStatement statement = connection.prepareStatement(INSERT, new String[] { "id" })) {
+                for (int from = 0; from < tasks.size(); from += BATCH_SIZE) {
+                    List<Tasks> batch = tasks.subList(from, Math.min(from + BATCH_SIZE, tasks.size()));
+                    for (Tasks task : batch) {
+                        task.setVersion(1);
+                        bind(statement, task);
+                        statement.addBatch();
+                    }
+                    statement.executeBatch();
+                    try (ResultSet keys = statement.getGeneratedKeys()) {
+                        for (Tasks task : batch) {
+                            keys.next();
+                            task.setId(keys.getInt(1));
+                        }
+                    }
+                }
+            }
+            return null;
+        }));
+        return tasks;
+    }
+
+    @Override
+    public Optional<Tasks> get(Integer id) {
+        if (id == null) {
+            return Optional.empty();
+        }
+        return jdbcTemplate.query("SELECT " + COLUMNS + " FROM tasks WHERE id = ?", TASK_MAPPER, id).stream().findFirst();
+    }
+
+    @Override
+    public Optional<Tasks> update(Integer id, Consumer<Tasks> mutator) {
+        return updateAll(Collections.singletonList(id), List.of(mutator)).get(0);
+    }
+
+    /**
+     * Applies all the changes in a single transaction, then updates the aggregates and
+     * notifies listeners once it has committed, or once the enclosing transaction has.
+     */
+    @Override
+    public List<Optional<Tasks>> updateAll(List<Integer> ids, List<Consumer<Tasks>> mutators) {
+        List<Change> changes = write(() -> transactionTemplate.execute(status -> {
+            List<Change> applied = new ArrayList<>(ids.size());
+            for (int i = 0; i < ids.size(); i++) {
+                applied.add(applyUpdate(ids.get(i), mutators.get(i)));
+            }
+            return applied;
+        }), applied -> {
+            for (Change change : applied) {
+                if (change == null) {
+                    continue;
+                }
+                Tasks task = change.task();
+                adjust(change.previous(), task);
+                if (!Objects.equals(change.previous().getCompleted(), task.getCompleted())) {
+                    publish(Boolean.TRUE.equals(task.getCompleted()) ? TaskMutation.Type.COMPLETED : TaskMutation.Type.REOPENED,
+                            task, change.previous());
+                } else {
+                    publish(TaskMutation.Type.UPDATED, task, change.previous());
+                }
+            }
+        });
+        List<Optional<Tasks>> updated = new ArrayList<>(changes.size());
+        for (Change change : changes) {
+            updated.add(change == null ? Optional.empty() : Optional.of(change.task()));
+        }
+        return updated;
+    }
+
+    @Override
+    public Optional<Tasks> remove(Integer id) {
+        return removeAll(Collections.singletonList(id)).get(0);
+    }
+
+    /**
+     * Deletes all the tasks in a single transaction.
+     */
+    @Override
+    public List<Optional<Tasks>> removeAll(List<Integer> ids) {
+        return write(() -> transactionTemplate.execute(status -> {
+            List<Optional<Tasks>> deleted = new ArrayList<>(ids.size());
+            for (Integer id : ids) {
+                Optional<Tasks> current = id == null ? Optional.empty() : lockRow(id);
+                current.ifPresent(task -> jdbcTemplate.update("DELETE FROM tasks WHERE id = ?", id));
+                deleted.add(current);
+            }
+            return deleted;
+        }), removed -> {
+            for (Optional<Tasks> task : removed) {
+                task.ifPresent(deleted -> {
+                    adjust(deleted, null);
+                    publish(TaskMutation.Type.DELETED, deleted, null);
+                });
+            }
+        });
+    }
+
+    /**
+     * Translates the query into a single indexed SQL statement and streams its result set.
+     */
+    @Override
+    public <R> R select(TaskQuery query, Function<Stream<Tasks>, R> reader) {
+        StringBuilder sql = new StringBuilder("SELECT ").append(COLUMNS).append(" FROM tasks WHERE 1 = 1");
+        List<Object> args = new ArrayList<>();
+        if (query.priority() != null) {
+            sql.append(" AND task_priority = ?");
+            args.add(query.priority().ordinal());
+        }
+        if (query.completed() != null) {
+            sql.append(" AND completed = ?");
+            args.add(query.completed());
+        }
+        if (query.taskName() != null && !query.taskName().isEmpty()) {
+            sql.append(" AND task_name_lower LIKE ? ESCAPE '\\'");
+            args.add("%" + escapeLike(query.taskName()) + "%");
+        }
+
+        // Resume right after the cursor position, then order the same way as the in-memory views
+        TaskCursor after = query.after();
+        switch (query.sort()) {
+            case ID -> {
+                if (after != null) {
+                    sql.append(" AND id > ?");
+                    args.add(after.id());
+                }
+                sql.append(" ORDER BY id");
+            }
+            case PRIORITY -> {
+                sql.append(" AND task_priority IS NOT NULL");
+                if (after != null) {
+                    sql.append(" AND (task_priority > ? OR (task_priority = ? AND id > ?))");
+                    args.add(after.priority().ordinal());
+                    args.add(after.priority().ordinal());
+                    args.add(after.id());
+                }
+                sql.append(" ORDER BY task_priority, id");
+            }
+            case DUE_DATE -> {
+                if (after != null && after.dueDate() == null) {
+                    sql.append(" AND no_due_date AND id > ?");
+                    args.add(after.id());
+                } else if (after != null) {
+                    sql.append(" AND (no_due_date OR task_due_date > ? OR (task_due_date = ? AND id > ?))");
+                    args.add(after.dueDate());
+                    args.add(after.dueDate());
+                    args.add(after.id());
+                }
+                sql.append(DUE_DATE_ORDER);
+            }
+        }
+        sql.append(" OFFSET ? ROWS");
+        args.add(query.offset());
+        if (query.limit() != Long.MAX_VALUE) {
+            sql.append(" FETCH NEXT ? ROWS ONLY");
+            args.add(query.limit());
+        }
+
+        try (Stream<Tasks> tasks = jdbcTemplate.queryForStream(sql.toString(), TASK_MAPPER, args.toArray())) {
+            return reader.apply(tasks);
+        }
+    }
+
+    /**
+     * Ranks matches in SQL with the same tiers as the in-memory index; word matches are
+     * approximated as matches right after a space.
+     */
+    @Override
+    public List<Tasks> search(String query, int limit) {
+        String lowerQuery = query.toLowerCase(Locale.ROOT);
+        String escaped = escapeLike(query);
+        return jdbcTemplate.query("SELECT " + COLUMNS + " FROM tasks WHERE task_name_lower LIKE ? ESCAPE '\\' ORDER BY"
+                + " CASE WHEN task_name_lower = ? THEN 0 WHEN task_name_lower LIKE ? ESCAPE '\\' THEN 1"
+                + " WHEN task_name_lower LIKE ? ESCAPE '\\' THEN 2 ELSE 3 END,"
+                + " LOCATE(?, task_name_lower), LENGTH(task_name_lower), id FETCH FIRST ? ROWS ONLY",
+                TASK_MAPPER, "%" + escaped + "%", lowerQuery, escaped + "%", "% " + escaped + "%", lowerQuery, limit);
+    }
+
+    @Override
+    public List<String> complete(String prefix, int limit) {
+        return jdbcTemplate.queryForList("SELECT t.task_name FROM tasks t JOIN ("
+                + " SELECT MIN(id) AS id FROM tasks WHERE task_name_lower LIKE ? ESCAPE '\\'"
+                + " GROUP BY task_name_lower ORDER BY task_name_lower FETCH FIRST ? ROWS ONLY"
+                + ") m ON t.id = m.id ORDER BY t.task_name_lower",
+                String.class, escapeLike(prefix) + "%", limit);
+    }
+
+    @Override
+    public double averageCompletionTime() {
+        statsLock.lock();
+        try {
+            return stats.average();
+        } finally {
+            statsLock.unlock();
+        }
+    }
+
+    @Override
+    public Map<TaskPriority, Double> averageCompletionTimePerPriority() {
+        statsLock.lock();
+        try {
+            return stats.averagePerPriority();
+        } finally {
+            statsLock.unlock();
+        }
+    }
+
+    @Override
+    public CompletionTimeReport completionTimeDistribution() {
+        statsLock.lock();
+        try {
+            return stats.distribution();
+        } finally {
+            statsLock.unlock();
+        }
+    }
+
+    @Override
+    public List<Tasks> findDueBetween(LocalDate from, LocalDate to) {
+        return jdbcTemplate.query("SELECT " + COLUMNS + " FROM tasks WHERE task_due_date BETWEEN ? AND ?" + DUE_DATE_ORDER,
+                TASK_MAPPER, from, to);
+    }
+
+    @Override
+    public long version() {
+        return version.get();
+    }
+
+    @Override
+    public void addListener(TaskMutationListener listener) {
+        listeners.add(listener);
+    }
+
+    @Override
+    public int size() {
+        return size.get();
+    }
+
+    @Override
+    public int count(TaskPriority priority, boolean completed) {
+        return counts.get(countSlot(priority, completed));
+    }
+
+    // Must be called inside a transaction; returns null when the task does not exist
+    private Change applyUpdate(Integer id, Consumer<Tasks> mutator) {
+        Optional<Tasks> current = id == null ? Optional.empty() : lockRow(id);
+        if (current.isEmpty()) {
+            return null;
+        }
+        Tasks task = current.get();
+        Tasks previous = TaskMutation.copyOf(task);
+        mutator.accept(task);
+        task.setVersion(task.getVersion() + 1);
+        jdbcTemplate.update(UPDATE, statement -> {
+            bind(statement, task);
+            statement.setInt(9, id);
+        });
+        return new Change(task, previous);
+    }
+
+    private Optional<Tasks> lockRow(Integer id) {
+        return jdbcTemplate.query("SELECT " + COLUMNS + " FROM tasks WHERE id = ? FOR UPDATE", TASK_MAPPER, id)
+                .stream().findFirst();
+    }
+
+    /**
+     * Runs a change under the store's write lock and publishes it once it is visible to other
+     * connections. The store's transactions join any transaction already open on the thread (for
+     * example a @Transactional controller method), and publishing before that one commits would let
+     * a concurrent read cache the old rows under the new store version. The lock is then held
+     * until the enclosing transaction completes, so a later writer cannot publish first.
+     */
+    private <T> T write(Supplier<T> change, Consumer<T> publication) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            writeLock.lock();
+            try {
+                T result = change.get();
+                publication.accept(result);
+                return result;
+            } finally {
+                writeLock.unlock();
+            }
+        }
+        if (!TransactionSynchronizationManager.hasResource(writeLock)) {
+            writeLock.lock();
+            TransactionSynchronizationManager.bindResource(writeLock, Boolean.TRUE);
+            // Runs after every afterCommit callback, and on rollback
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    TransactionSynchronizationManager.unbindResourceIfPossible(writeLock);
+                    writeLock.unlock();
+                }
+            });
+        }
+        T result = change.get();
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                publication.accept(result);
+            }
+        });
+        return result;
+    }
+
+    // Moves a task between the aggregates and counts; null stands for a task that does not exist
+    private void adjust(Tasks before, Tasks after) {
+        if (before != null) {
+            size.decrementAndGet();
+            if (before.getTaskPriority() != null) {
+                counts.decrementAndGet(countSlot(before.getTaskPriority(), Boolean.TRUE.equals(before.getCompleted())));
+            }
+        }
+        if (after != null) {
+            size.incrementAndGet();
+            if (after.getTaskPriority() != null) {
+                counts.incrementAndGet(countSlot(after.getTaskPriority(), Boolean.TRUE.equals(after.getCompleted())));
+            }
+        }
+        CompletionStats.Sample sampleBefore = before == null ? null : CompletionStats.Sample.of(before);
+        CompletionStats.Sample sampleAfter = after == null ? null : CompletionStats.Sample.of(after);
+        if (Objects.equals(sampleBefore, sampleAfter)) {
+            return;
+        }
+        statsLock.lock();
+        try {
+            stats.remove(sampleBefore);
+            stats.add(sampleAfter);
+        } finally {
+            statsLock.unlock();
+        }
+    }
+
+    private void publish(TaskMutation.Type type, Tasks task, Tasks previous) {
+        version.incrementAndGet();
+        TaskMutation mutation = new TaskMutation(type, task, previous);
+        for (TaskMutationListener listener : listeners) {
+            listener.onMutation(mutation);
+        }
+    }
+
+    private static void bind(PreparedStatement statement, Tasks task) throws SQLException {
+        statement.setString(1, task.getTaskName());
+        if (task.getTaskPriority() == null) {
+            statement.setNull(2, Types.TINYINT);
+        } else {
+            statement.setInt(2, task.getTaskPriority().ordinal());
+        }
+        if (task.getCompleted() == null) {
+            statement.setNull(3, Types.BOOLEAN);
+        } else {
+            statement.setBoolean(3, task.getCompleted());
+        }
+        statement.setObject(4, task.getCreationDate());
+        statement.setObject(5, task.getTaskDueDate());
+        statement.setObject(6, task.getDoneDate());
+        CompletionStats.Sample sample = CompletionStats.Sample.of(task);
+        if (sample == null) {
+            statement.setNull(7, Types.BIGINT);
+        } else {
+            statement.setLong(7, sample.minutes());
+        }
+        statement.setLong(8, task.getVersion());
+    }
+
+    private static int countSlot(TaskPriority priority, boolean completed) {
+        return priority.ordinal() * 2 + (completed ? 1 : 0);
+    }
+
+    private static String escapeLike(String text) {
+        return text.toLowerCase(Locale.ROOT).replace("\\", "\\\\").replace("%", "\\%").replace("_", "\\_");
+    }
+
+    // The outcome of an update transaction, applied to the aggregates after commit
+    private record Change(Tasks task, Tasks previous) {
+    }
+}
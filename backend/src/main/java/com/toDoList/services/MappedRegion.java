@@ -0,0 +1,128 @@
+package com.toDoList.services;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * A file mapped into memory as a list of fixed-size segments, since a single
+ * {@link MappedByteBuffer} cannot exceed 2 GB. The file grows a segment at a time as positions
+ * beyond its end are reserved. Callers lay their data out so that no value straddles two segments.
+ * Not thread-safe on its own: reserving space must be guarded by the caller's write lock.
+ */
+final class MappedRegion implements AutoCloseable {
+
+    private final FileChannel channel;
+    private final int segmentShift;
+    private final long segmentMask;
+    private final boolean created;
+    private final List<MappedByteBuffer> segments = new ArrayList<>();
+
+    /**
+     * Opens or creates the file and maps its current contents.
+     *
+     * @param file         the file to map
+     * @param segmentShift the log2 of the segment size in bytes
+     * @throws IOException if the file cannot be opened or mapped
+     */
+    MappedRegion(Path file, int segmentShift) throws IOException {
+        this.channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        this.segmentShift = segmentShift;
+        this.segmentMask = (1L << segmentShift) - 1;
+        long size = channel.size();
+        this.created = size == 0;
+        reserve(Math.max(size, 1));
+    }
+
+    /**
+     * Returns whether the file was empty when opened.
+     */
+    boolean created() {
+        return created;
+    }
+
+    long segmentSize() {
+        return segmentMask + 1;
+    }
+
+    /**
+     * Maps enough segments for positions below the given end, growing the file if needed.
+     *
+     * @param end the position the mapping must reach
+     */
+    void reserve(long end) {
+        try {
+            while (((long) segments.size() << segmentShift) < end) {
+                long position = (long) segments.size() << segmentShift;
+                segments.add(channel.map(FileChannel.MapMode.READ_WRITE, position, segmentMask + 1));
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not grow the mapped file", e);
+        }
+    }
+
+    byte getByte(long position) {
+        return segment(position).get(offset(position));
+    }
+
+    void putByte(long position, byte value) {
+        segment(position).put(offset(position), value);
+    }
+
+    int getInt(long position) {
+        return segment(position).getInt(offset(position));
+    }
+
+    void putInt(long position, int value) {
+        segment(position).putInt(offset(position), value);
+    }
+
+    long getLong(long position) {
+        return segment(position).getLong(offset(position));
+    }
+
+    void putLong(long position, long value) {
+        segment(position).putLong(offset(position), value);
+    }
+
+    byte[] getBytes(long position, int length) {
+        byte[] bytes = new byte[length];
+        segment(position).get(offset(position), bytes);
+        return bytes;
+    }
+
+    void putBytes(long position, byte[] bytes) {
+        segment(position).put(offset(position), bytes);
+    }
+
+    /**
+     * Writes the modified pages back to the file.
+     */
+    void force() {
+        for (MappedByteBuffer segment : segments) {
+            segment.force();
+        }
+    }
+
+    /**
+     * Flushes the mapping and closes the file. The segments stay mapped until they are garbage collected.
+     */
+    @Override
+    public void close() throws IOException {
+        force();
+        channel.close();
+    }
+
+    private MappedByteBuffer segment(long position) {
+        return segments.get((int) (position >>> segmentShift));
+    }
+
+    private int offset(long position) {
+        return (int) (position & segmentMask);
+    }
+}
@@ -0,0 +1,858 @@
+package com.toDoList.services;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.PriorityQueue;
+import java.util.TreeMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.IntPredicate;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.toDoList.TaskPriority;
+import com.toDoList.models.CompletionTimeReport;
+import com.toDoList.models.Tasks;
+
+/**
+ * Off-heap store keeping tasks in memory-mapped files under the data directory, so the dataset
+ * is bounded by the disk and the page cache rather than the heap, and the garbage collector
+ * never sees stored tasks. Each task is a fixed-size record in tasks.dat; deleted records go on
+ * a free list and are reused by later inserts. Names are UTF-8 blocks in an arena, names.dat,
+ * with a free list per block size. As slots are reused, ids are mapped to slots by index.dat.
+ * Only the completion-time aggregates and task counts live on the heap; they are rebuilt by one
+ * pass over the records on startup, which otherwise just maps the files. {@link Tasks} instances
+ * are decoded from the records only for the tasks a caller reads. Like the columnar store there
+ * are no secondary indexes, so filters and sorts are scans.
+ * Changes reach the files through the page cache: they survive a crash of the application but
+ * are only forced to disk on close, and there is no write-ahead log. An insert marks its record
+ * present only once the index and header point to it, and a delete unindexes the record first, so
+ * a crash part-way leaves at worst a slot that {@link #open()} reclaims.
+ */
+public class MappedTaskStore implements TaskStore, AutoCloseable {
+
+    private static final Logger logger = LoggerFactory.getLogger(MappedTaskStore.class);
+    static final String RECORDS_FILE = "tasks.dat";
+    static final String NAMES_FILE = "names.dat";
+    static final String INDEX_FILE = "index.dat";
+    private static final int RECORDS_MAGIC = 0x54534B52;
+    private static final int NAMES_MAGIC = 0x54534B4E;
+    private static final int FORMAT = 1;
+    private static final int SEGMENT_SHIFT = 26;
+    private static final int INDEX_SEGMENT_SHIFT = 24;
+
+    // tasks.dat: a header, then one record per slot, both RECORD_BYTES long
+    private static final int RECORD_SHIFT = 6;
+    private static final int RECORD_BYTES = 1 << RECORD_SHIFT;
+    private static final int HEADER_SLOT_COUNT = 8;
+    private static final int HEADER_FREE_SLOT = 12;
+    private static final int HEADER_CURRENT_ID = 16;
+    private static final int HEADER_VERSION = 24;
+    private static final int FLAGS = 0;
+    private static final int PRIORITY = 1;
+    private static final int ID = 4;
+    // A free slot keeps the next free slot where the id was
+    private static final int NEXT_FREE = ID;
+    private static final int DUE_DAY = 8;
+    private static final int NAME_LENGTH = 12;
+    private static final int NAME_OFFSET = 16;
+    private static final int CREATION_TIME = 24;
+    private static final int DONE_TIME = 32;
+    private static final int VERSION = 40;
+
+    // names.dat: a header with the arena end and one free list head per block size, then the blocks
+    private static final int HEADER_ARENA_END = 8;
+    private static final int HEADER_FREE_BLOCKS = 16;
+    private static final int BLOCK_SHIFT = 4;
+    static final int MAX_NAME_BYTES = 1024;
+    private static final long ARENA_START = 1024;
+
+    private static final byte PRESENT = 1;
+    private static final byte COMPLETED_SET = 2;
+    private static final byte COMPLETED = 4;
+    private static final byte NO_PRIORITY = -1;
+    private static final int NO_DATE = Integer.MIN_VALUE;
+    private static final int NO_NAME = -1;
+    private static final long NO_TIME = Long.MIN_VALUE;
+    private static final long NANOS_PER_SECOND = 1_000_000_000L;
+    private static final TaskPriority[] PRIORITIES = TaskPriority.values();
+    // Up to this many tasks are picked with a bounded heap when sorting by due date, rather than a full sort
+    private static final long MAX_HEAP_WINDOW = 100_000;
+
+    private final Path directory;
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private final CompletionStats stats = new CompletionStats();
+    private final AtomicIntegerArray counts = new AtomicIntegerArray(PRIORITIES.length * 2);
+    private final List<TaskMutationListener> listeners = new CopyOnWriteArrayList<>();
+    private MappedRegion records;
+    private MappedRegion names;
+    private MappedRegion index;
+    // Copies of the header fields, kept in sync with the files under the write lock
+    private int slotCount;
+    private int freeSlot;
+    private int currentId;
+    private long version;
+    private long arenaEnd;
+    private volatile int size;
+
+    /**
+     * Creates a store over the files in the given directory.
+     *
+     * @param directory the directory holding the mapped files
+     */
+    public MappedTaskStore(Path directory) {
+        this.directory = directory;
+    }
+
+    /**
+     * Maps the files, creating them if needed, and rebuilds the counts, completion-time
+     * aggregates and free slot list from the records.
+     *
+     * @throws IOException if the files cannot be mapped or were not written by this store
+     */
+    public void open() throws IOException {
+        Files.createDirectories(directory);
+        records = new MappedRegion(directory.resolve(RECORDS_FILE), SEGMENT_SHIFT);
+        names = new MappedRegion(directory.resolve(NAMES_FILE), SEGMENT_SHIFT);
+        index = new MappedRegion(directory.resolve(INDEX_FILE), INDEX_SEGMENT_SHIFT);
+        if (records.created()) {
+            records.putInt(0, RECORDS_MAGIC);
+            records.putInt(4, FORMAT);
+            records.putInt(HEADER_FREE_SLOT, -1);
+            names.putInt(0, NAMES_MAGIC);
+            names.putInt(4, FORMAT);
+            names.putLong(HEADER_ARENA_END, ARENA_START);
+        } else if (records.getInt(0) != RECORDS_MAGIC || records.getInt(4) != FORMAT
+                || names.getInt(0) != NAMES_MAGIC || names.getInt(4) != FORMAT) {
+            throw new IOException("Not a task store written by this version: " + directory);
+        }
+        slotCount = records.getInt(HEADER_SLOT_COUNT);
+        freeSlot = records.getInt(HEADER_FREE_SLOT);
+        currentId = records.getInt(HEADER_CURRENT_ID);
+        version = records.getLong(HEADER_VERSION);
+        arenaEnd = names.getLong(HEADER_ARENA_END);
+        records.reserve(record(slotCount));
+        names.reserve(arenaEnd);
+        index.reserve((long) currentId * Integer.BYTES);
+
+        // A slot holds a task only if the index maps the task's id back to it; entries an interrupted
+        // insert left pointing at an unfinished record are dropped
+        BitSet live = new BitSet(slotCount);
+        for (int id = 1; id <= currentId; id++) {
+            int slot = index.getInt((long) (id - 1) * Integer.BYTES) - 1;
+            if (slot >= slotCount || (slot >= 0 && (!isPresent(slot) || records.getInt(record(slot) + ID) != id))) {
+                index.putInt((long) (id - 1) * Integer.BYTES, 0);
+            } else if (slot >= 0) {
+                live.set(slot);
+            }
+        }
+        // Every other slot goes on a new free list, including one an interrupted delete left present
+        int reclaimed = 0;
+        freeSlot = -1;
+        for (int slot = slotCount - 1; slot >= 0; slot--) {
+            if (live.get(slot)) {
+                count(slot, 1);
+                stats.add(sample(slot));
+            } else {
+                if (isPresent(slot)) {
+                    releaseName(slot);
+                    reclaimed++;
+                }
+                records.putByte(record(slot) + FLAGS, (byte) 0);
+                records.putInt(record(slot) + NEXT_FREE, freeSlot);
+                freeSlot = slot;
+            }
+        }
+        records.putInt(HEADER_FREE_SLOT, freeSlot);
+        size = live.cardinality();
+        if (reclaimed > 0) {
+            logger.warn("Reclaimed {} slots left by an interrupted write in {}", reclaimed, directory);
+        }
+        logger.info("Mapped {} tasks from {}", size, directory);
+    }
+
+    /**
+     * Forces the mapped files to disk and closes them.
+     *
+     * @throws IOException if a file cannot be closed
+     */
+    @Override
+    public void close() throws IOException {
+        lock.writeLock().lock();
+        try {
+            records.close();
+            names.close();
+            index.close();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public Tasks insert(Tasks task) {
+        lock.writeLock().lock();
+        try {
+            return applyInsert(task, Row.of(task));
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Inserts all the tasks under a single write lock acquisition.
+     */
+    @Override
+    public List<Tasks> insertAll(List<Tasks> tasks) {
+        // Converted first, so a task that cannot be stored rejects the batch before anything is written
+        List<Row> rows = tasks.stream().map(Row::of).toList();
+        lock.writeLock().lock();
+        try {
+            for (int i = 0; i < tasks.size(); i++) {
+                applyInsert(tasks.get(i), rows.get(i));
+            }
+            return tasks;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public Optional<Tasks> get(Integer id) {
+        if (id == null) {
+            return Optional.empty();
+        }
+        lock.readLock().lock();
+        try {
+            int slot = slotOf(id);
+            return slot < 0 ? Optional.empty() : Optional.of(materialize(slot));
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    @Override
+    public Optional<Tasks> update(Integer id, Consumer<Tasks> mutator) {
+        if (id == null) {
+            return Optional.empty();
+        }
+        lock.writeLock().lock();
+        try {
+            return applyUpdate(id, mutator);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Applies all the changes under a single write lock acquisition.
+     */
+    @Override
+    public List<Optional<Tasks>> updateAll(List<Integer> ids, List<Consumer<Tasks>> mutators) {
+        List<Optional<Tasks>> updated = new ArrayList<>(ids.size());
+        lock.writeLock().lock();
+        try {
+            for (int i = 0; i < ids.size(); i++) {
+                updated.add(ids.get(i) == null ? Optional.empty() : applyUpdate(ids.get(i), mutators.get(i)));
+            }
+            return updated;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public Optional<Tasks> remove(Integer id) {
+        if (id == null) {
+            return Optional.empty();
+        }
+        lock.writeLock().lock();
+        try {
+            return applyRemove(id);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Removes all the tasks under a single write lock acquisition.
+     */
+    @Override
+    public List<Optional<Tasks>> removeAll(List<Integer> ids) {
+        List<Optional<Tasks>> removed = new ArrayList<>(ids.size());
+        lock.writeLock().lock();
+        try {
+            for (Integer id : ids) {
+                removed.add(id == null ? Optional.empty() : applyRemove(id));
+            }
+            return removed;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public long version() {
+        lock.readLock().lock();
+        try {
+            return version;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Runs the query under the read lock as a scan of the records in the requested order,
+     * starting right after the cursor when one is given. Only the tasks of the requested page
+     * are decoded.
+     */
+    @Override
+    public <R> R select(TaskQuery query, Function<Stream<Tasks>, R> reader) {
+        lock.readLock().lock();
+        try {
+            TaskCursor after = query.after();
+            IntPredicate matches = filter(query.priority(), query.completed(), query.taskName());
+            IntStream slots = switch (query.sort()) {
+                case ID -> slotsFrom(after == null ? 1 : after.id() + 1).filter(matches);
+                case PRIORITY -> byPriority(after, query.priority()).filter(matches);
+                case DUE_DATE -> byDueDate(after, matches, query.offset(), query.limit());
+            };
+            return reader.apply(slots.skip(query.offset()).limit(query.limit()).mapToObj(this::materialize));
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Ranks the tasks whose name contains the query like the in-memory store does: exact names,
+     * then prefixes, then word prefixes, then other matches.
+     */
+    @Override
+    public List<Tasks> search(String query, int limit) {
+        String lowerQuery = query.toLowerCase(Locale.ROOT);
+        lock.readLock().lock();
+        try {
+            List<Match> matches = new ArrayList<>();
+            slotsFrom(1).forEach(slot -> {
+                String name = name(slot);
+                String lowerName = name == null ? null : name.toLowerCase(Locale.ROOT);
+                if (lowerName != null && lowerName.contains(lowerQuery)) {
+                    matches.add(new Match(slot, lowerName));
+                }
+            });
+            Comparator<Match> relevance = Comparator
+                    .comparingInt((Match match) -> TaskNameIndex.tier(match.lowerName(), lowerQuery))
+                    .thenComparingInt(match -> match.lowerName().indexOf(lowerQuery))
+                    .thenComparingInt(match -> match.lowerName().length())
+                    .thenComparingInt(match -> records.getInt(record(match.slot()) + ID));
+            return matches.stream().sorted(relevance).limit(limit).map(match -> materialize(match.slot())).toList();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Suggests distinct names in alphabetical order of their lower-cased form, reporting each
+     * under the spelling of the oldest task carrying it.
+     */
+    @Override
+    public List<String> complete(String prefix, int limit) {
+        String lowerPrefix = prefix.toLowerCase(Locale.ROOT);
+        lock.readLock().lock();
+        try {
+            // Walking in id order means the first spelling kept for a name is the oldest one
+            TreeMap<String, String> suggestions = new TreeMap<>();
+            slotsFrom(1).forEach(slot -> {
+                String name = name(slot);
+                if (name == null) {
+                    return;
+                }
+                String lowerName = name.toLowerCase(Locale.ROOT);
+                if (lowerName.startsWith(lowerPrefix) && suggestions.putIfAbsent(lowerName, name) == null
+                        && suggestions.size() > limit) {
+                    suggestions.pollLastEntry();
+                }
+            });
+            return new ArrayList<>(suggestions.values());
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    @Override
+    public double averageCompletionTime() {
+        lock.readLock().lock();
+        try {
+            return stats.average();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    @Override
+    public Map<TaskPriority, Double> averageCompletionTimePerPriority() {
+        lock.readLock().lock();
+        try {
+            return stats.averagePerPriority();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    @Override
+    public CompletionTimeReport completionTimeDistribution() {
+        lock.readLock().lock();
+        try {
+            return stats.distribution();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    @Override
+    public List<Tasks> findDueBetween(LocalDate from, LocalDate to) {
+        int first = toEpochDay(from);
+        int last = toEpochDay(to);
+        lock.readLock().lock();
+        try {
+            long[] keys = slotsFrom(1)
+                    .filter(slot -> {
+                        int dueDay = records.getInt(record(slot) + DUE_DAY);
+                        return dueDay != NO_DATE && dueDay >= first && dueDay <= last;
+                    })
+                    .mapToLong(this::dueKey)
+                    .sorted()
+                    .toArray();
+            return Arrays.stream(keys).mapToObj(key -> materialize(slotOf((int) key))).toList();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    @Override
+    public void addListener(TaskMutationListener listener) {
+        listeners.add(listener);
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    @Override
+    public int count(TaskPriority priority, boolean completed) {
+        return counts.get(countSlot(priority, completed));
+    }
+
+    /**
+     * Returns the number of record slots in the file, used or free. Deleted tasks free their slot
+     * for the next insert, so this only grows when there are no free slots.
+     *
+     * @return the slot count
+     */
+    public int slotCount() {
+        lock.readLock().lock();
+        try {
+            return slotCount;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // Slots of the stored tasks with ids from the given one, in id order
+    private IntStream slotsFrom(int firstId) {
+        return IntStream.rangeClosed(Math.max(firstId, 1), currentId).map(this::slotOf).filter(slot -> slot >= 0);
+    }
+
+    private IntPredicate filter(TaskPriority priority, Boolean completed, String taskName) {
+        String lowerName = taskName == null || taskName.isEmpty() ? null : taskName.toLowerCase(Locale.ROOT);
+        byte wantedPriority = priority == null ? NO_PRIORITY : (byte) priority.ordinal();
+        byte completedMask = completed == null ? 0 : (byte) (COMPLETED_SET | COMPLETED);
+        byte completedValue = completed == null ? 0 : (byte) (COMPLETED_SET | (completed ? COMPLETED : 0));
+        return slot -> {
+            long record = record(slot);
+            if ((records.getByte(record + FLAGS) & completedMask) != completedValue) {
+                return false;
+            }
+            if (priority != null && records.getByte(record + PRIORITY) != wantedPriority) {
+                return false;
+            }
+            if (lowerName == null) {
+                return true;
+            }
+            String name = name(slot);
+            return name != null && name.toLowerCase(Locale.ROOT).contains(lowerName);
+        };
+    }
+
+    // One pass over the records per priority, from the cursor's priority and id onwards
+    private IntStream byPriority(TaskCursor after, TaskPriority priority) {
+        TaskPriority from = after == null ? null : after.priority();
+        IntStream walk = IntStream.empty();
+        for (TaskPriority bucket : PRIORITIES) {
+            if ((from != null && bucket.compareTo(from) < 0) || (priority != null && bucket != priority)) {
+                continue;
+            }
+            byte ordinal = (byte) bucket.ordinal();
+            int start = bucket == from ? after.id() + 1 : 1;
+            walk = IntStream.concat(walk, slotsFrom(start).filter(slot -> records.getByte(record(slot) + PRIORITY) == ordinal));
+        }
+        return walk;
+    }
+
+    /**
+     * Collects the due keys of the matching tasks after the cursor and returns the slots of the
+     * first offset + limit of them. Small windows keep only that many keys in a bounded heap.
+     */
+    private IntStream byDueDate(TaskCursor after, IntPredicate matches, long offset, long limit) {
+        long from = after == null ? Long.MIN_VALUE : ((long) dueDay(after.dueDate()) << 32) | after.id();
+        IntStream candidates = slotsFrom(1).filter(slot -> dueKey(slot) > from).filter(matches);
+        long window = limit > Long.MAX_VALUE - offset ? Long.MAX_VALUE : offset + limit;
+        long[] keys;
+        if (window <= MAX_HEAP_WINDOW) {
+            PriorityQueue<Long> smallest = new PriorityQueue<>(Collections.reverseOrder());
+            candidates.forEach(slot -> {
+                long key = dueKey(slot);
+                if (smallest.size() < window) {
+                    smallest.add(key);
+                } else if (key < smallest.peek()) {
+                    smallest.poll();
+                    smallest.add(key);
+                }
+            });
+            keys = smallest.stream().mapToLong(Long::longValue).sorted().toArray();
+        } else {
+            keys = candidates.mapToLong(this::dueKey).sorted().toArray();
+        }
+        return Arrays.stream(keys).mapToInt(key -> slotOf((int) key));
+    }
+
+    // The task's position in due date order (no due date last) then id, packed into a long
+    private long dueKey(int slot) {
+        long record = record(slot);
+        int dueDay = records.getInt(record + DUE_DAY);
+        return ((long) (dueDay == NO_DATE ? Integer.MAX_VALUE : dueDay) << 32) | records.getInt(record + ID);
+    }
+
+    // Must be called with the write lock held
+    private Tasks applyInsert(Tasks task, Row row) {
+        int id = currentId + 1;
+        int slot = allocateSlot();
+        task.setId(id);
+        task.setVersion(1);
+        // The record is complete and indexed before it is marked present, which makes it a task
+        writeName(slot, row.name());
+        write(slot, row);
+        records.putInt(record(slot) + ID, id);
+        records.putLong(record(slot) + VERSION, 1);
+        stats.add(CompletionStats.Sample.of(task));
+        index.reserve((long) id * Integer.BYTES);
+        index.putInt((long) (id - 1) * Integer.BYTES, slot + 1);
+        currentId = id;
+        records.putInt(HEADER_CURRENT_ID, currentId);
+        records.putByte(record(slot) + FLAGS, (byte) (records.getByte(record(slot) + FLAGS) | PRESENT));
+        size++;
+        publish(TaskMutation.Type.CREATED, task, null);
+        return task;
+    }
+
+    // Must be called with the write lock held
+    private Optional<Tasks> applyUpdate(int id, Consumer<Tasks> mutator) {
+        int slot = slotOf(id);
+        if (slot < 0) {
+            return Optional.empty();
+        }
+        Tasks task = materialize(slot);
+        Tasks previous = TaskMutation.copyOf(task);
+        CompletionStats.Sample sampleBefore = CompletionStats.Sample.of(task);
+        mutator.accept(task);
+        task.setId(id);
+        // May throw, which leaves the record untouched since the mutator only changed a copy
+        Row row = Row.of(task);
+        if (!Objects.equals(previous.getTaskName(), task.getTaskName())) {
+            releaseName(slot);
+            writeName(slot, row.name());
+        }
+        count(slot, -1);
+        write(slot, row);
+        CompletionStats.Sample sampleAfter = CompletionStats.Sample.of(task);
+        if (!Objects.equals(sampleBefore, sampleAfter)) {
+            stats.remove(sampleBefore);
+            stats.add(sampleAfter);
+        }
+        long taskVersion = records.getLong(record(slot) + VERSION) + 1;
+        records.putLong(record(slot) + VERSION, taskVersion);
+        task.setVersion(taskVersion);
+        if (!Objects.equals(previous.getCompleted(), task.getCompleted())) {
+            publish(Boolean.TRUE.equals(task.getCompleted()) ? TaskMutation.Type.COMPLETED : TaskMutation.Type.REOPENED, task, previous);
+        } else {
+            publish(TaskMutation.Type.UPDATED, task, previous);
+        }
+        return Optional.of(task);
+    }
+
+    // Must be called with the write lock held
+    private Optional<Tasks> applyRemove(int id) {
+        int slot = slotOf(id);
+        if (slot < 0) {
+            return Optional.empty();
+        }
+        Tasks removed = materialize(slot);
+        count(slot, -1);
+        stats.remove(CompletionStats.Sample.of(removed));
+        // Unindexed, then no longer present, then its name released: the reverse of an insert
+        index.putInt((long) (id - 1) * Integer.BYTES, 0);
+        records.putByte(record(slot) + FLAGS, (byte) 0);
+        releaseName(slot);
+        freeSlot(slot);
+        size--;
+        publish(TaskMutation.Type.DELETED, removed, null);
+        return Optional.of(removed);
+    }
+
+    // Writes every field but the id, name, version and present flag, and counts the task
+    private void write(int slot, Row row) {
+        long record = record(slot);
+        records.putByte(record + FLAGS, (byte) (row.flags() | (records.getByte(record + FLAGS) & PRESENT)));
+        records.putByte(record + PRIORITY, row.priority());
+        records.putInt(record + DUE_DAY, row.dueDay());
+        records.putLong(record + CREATION_TIME, row.creationTime());
+        records.putLong(record + DONE_TIME, row.doneTime());
+        count(slot, 1);
+    }
+
+    private Tasks materialize(int slot) {
+        long record = record(slot);
+        byte flags = records.getByte(record + FLAGS);
+        byte priority = records.getByte(record + PRIORITY);
+        int dueDay = records.getInt(record + DUE_DAY);
+        Tasks task = new Tasks();
+        task.setId(records.getInt(record + ID));
+        task.setTaskName(name(slot));
+        task.setTaskPriority(priority == NO_PRIORITY ? null : PRIORITIES[priority]);
+        if ((flags & COMPLETED_SET) != 0) {
+            task.setCompleted((flags & COMPLETED) != 0);
+        }
+        task.setCreationDate(toDateTime(records.getLong(record + CREATION_TIME)));
+        task.setTaskDueDate(dueDay == NO_DATE ? null : LocalDate.ofEpochDay(dueDay));
+        // Set after completed, which would otherwise stamp the current time
+        task.setDoneDate(toDateTime(records.getLong(record + DONE_TIME)));
+        task.setVersion(records.getLong(record + VERSION));
+        return task;
+    }
+
+    // The aggregate sample of a stored task, read without decoding it
+    private CompletionStats.Sample sample(int slot) {
+        long record = record(slot);
+        byte priority = records.getByte(record + PRIORITY);
+        long creation = records.getLong(record + CREATION_TIME);
+        long done = records.getLong(record + DONE_TIME);
+        if ((records.getByte(record + FLAGS) & COMPLETED) == 0 || priority == NO_PRIORITY || creation == NO_TIME || done == NO_TIME) {
+            return null;
+        }
+        return new CompletionStats.Sample(PRIORITIES[priority], Duration.ofNanos(done - creation).toMinutes());
+    }
+
+    private void count(int slot, int delta) {
+        long record = record(slot);
+        byte priority = records.getByte(record + PRIORITY);
+        if (priority != NO_PRIORITY) {
+            counts.addAndGet(countSlot(PRIORITIES[priority], (records.getByte(record + FLAGS) & COMPLETED) != 0), delta);
+        }
+    }
+
+    // Every change goes through here with the write lock held
+    private void publish(TaskMutation.Type type, Tasks task, Tasks previous) {
+        records.putLong(HEADER_VERSION, ++version);
+        TaskMutation mutation = new TaskMutation(type, task, previous);
+        for (TaskMutationListener listener : listeners) {
+            listener.onMutation(mutation);
+        }
+    }
+
+    private int slotOf(int id) {
+        if (id < 1 || id > currentId) {
+            return -1;
+        }
+        return index.getInt((long) (id - 1) * Integer.BYTES) - 1;
+    }
+
+    private boolean isPresent(int slot) {
+        return (records.getByte(record(slot) + FLAGS) & PRESENT) != 0;
+    }
+
+    private static long record(int slot) {
+        // The header takes the first record's worth of bytes
+        return (long) (slot + 1) << RECORD_SHIFT;
+    }
+
+    // Must be called with the write lock held
+    private int allocateSlot() {
+        int slot;
+        if (freeSlot >= 0) {
+            slot = freeSlot;
+            freeSlot = records.getInt(record(slot) + NEXT_FREE);
+            records.putInt(HEADER_FREE_SLOT, freeSlot);
+        } else {
+            slot = slotCount++;
+            records.reserve(record(slot) + RECORD_BYTES);
+            records.putInt(HEADER_SLOT_COUNT, slotCount);
+        }
+        return slot;
+    }
+
+    // Must be called with the write lock held
+    private void freeSlot(int slot) {
+        records.putByte(record(slot) + FLAGS, (byte) 0);
+        records.putInt(record(slot) + NEXT_FREE, freeSlot);
+        freeSlot = slot;
+        records.putInt(HEADER_FREE_SLOT, freeSlot);
+    }
+
+    private String name(int slot) {
+        long record = record(slot);
+        int length = records.getInt(record + NAME_LENGTH);
+        if (length == NO_NAME) {
+            return null;
+        }
+        return length == 0 ? "" : new String(names.getBytes(records.getLong(record + NAME_OFFSET), length), StandardCharsets.UTF_8);
+    }
+
+    // Checked before anything is written, so an oversized name leaves the files untouched
+    private static byte[] encodeName(String name) {
+        if (name == null) {
+            return null;
+        }
+        byte[] bytes = name.getBytes(StandardCharsets.UTF_8);
+        if (bytes.length > MAX_NAME_BYTES) {
+            throw new IllegalArgumentException("Task names are limited to " + MAX_NAME_BYTES + " bytes in mapped storage");
+        }
+        return bytes;
+    }
+
+    // Must be called with the write lock held
+    private void writeName(int slot, byte[] bytes) {
+        long record = record(slot);
+        if (bytes == null) {
+            records.putInt(record + NAME_LENGTH, NO_NAME);
+            return;
+        }
+        long offset = bytes.length == 0 ? 0 : allocateBlock(bytes.length);
+        names.putBytes(offset, bytes);
+        records.putLong(record + NAME_OFFSET, offset);
+        records.putInt(record + NAME_LENGTH, bytes.length);
+    }
+
+    // Must be called with the write lock held
+    private void releaseName(int slot) {
+        long record = record(slot);
+        int length = records.getInt(record + NAME_LENGTH);
+        if (length > 0) {
+            long head = HEADER_FREE_BLOCKS + (long) (blockClass(length) - 1) * Long.BYTES;
+            long offset = records.getLong(record + NAME_OFFSET);
+            names.putLong(offset, names.getLong(head));
+            names.putLong(head, offset);
+        }
+        records.putInt(record + NAME_LENGTH, NO_NAME);
+    }
+
+    // Takes a block from the free list of its size, or from the end of the arena
+    private long allocateBlock(int length) {
+        int blockClass = blockClass(length);
+        long head = HEADER_FREE_BLOCKS + (long) (blockClass - 1) * Long.BYTES;
+        long offset = names.getLong(head);
+        if (offset != 0) {
+            names.putLong(head, names.getLong(offset));
+            return offset;
+        }
+        int blockBytes = blockClass << BLOCK_SHIFT;
+        offset = arenaEnd;
+        long segmentSize = names.segmentSize();
+        if (offset % segmentSize + blockBytes > segmentSize) {
+            // Blocks never straddle two mapped segments
+            offset = (offset / segmentSize + 1) * segmentSize;
+        }
+        arenaEnd = offset + blockBytes;
+        names.reserve(arenaEnd);
+        names.putLong(HEADER_ARENA_END, arenaEnd);
+        return offset;
+    }
+
+    // Blocks come in multiples of 16 bytes, each size with its own free list
+    private static int blockClass(int length) {
+        return (length + (1 << BLOCK_SHIFT) - 1) >>> BLOCK_SHIFT;
+    }
+
+    private static int countSlot(TaskPriority priority, boolean completed) {
+        return priority.ordinal() * 2 + (completed ? 1 : 0);
+    }
+
+    private static int dueDay(LocalDate dueDate) {
+        return dueDate == null ? Integer.MAX_VALUE : toEpochDay(dueDate);
+    }
+
+    private static int toEpochDay(LocalDate date) {
+        return Math.toIntExact(date.toEpochDay());
+    }
+
+    private static long toNanos(LocalDateTime dateTime) {
+        if (dateTime == null) {
+            return NO_TIME;
+        }
+        return Math.addExact(Math.multiplyExact(dateTime.toEpochSecond(ZoneOffset.UTC), NANOS_PER_SECOND), dateTime.getNano());
+    }
+
+    private static LocalDateTime toDateTime(long nanos) {
+        if (nanos == NO_TIME) {
+            return null;
+        }
+        return LocalDateTime.ofEpochSecond(Math.floorDiv(nanos, NANOS_PER_SECOND), (int) Math.floorMod(nanos, NANOS_PER_SECOND), ZoneOffset.UTC);
+    }
+
+    private record Match(int slot, String lowerName) {
+    }
+
+    /**
+     * The record fields and encoded name of a task. Converting them can fail (an oversized name, or
+     * dates beyond the int epoch day or long nanosecond range), so they are all computed before a
+     * slot is allocated or any byte of the files is written.
+     */
+    private record Row(byte[] name, byte flags, byte priority, int dueDay, long creationTime, long doneTime) {
+
+        static Row of(Tasks task) {
+            Boolean completed = task.getCompleted();
+            try {
+                return new Row(
+                        encodeName(task.getTaskName()),
+                        (byte) (completed == null ? 0 : COMPLETED_SET | (completed ? COMPLETED : 0)),
+                        task.getTaskPriority() == null ? NO_PRIORITY : (byte) task.getTaskPriority().ordinal(),
+                        task.getTaskDueDate() == null ? NO_DATE : toEpochDay(task.getTaskDueDate()),
+                        toNanos(task.getCreationDate()),
+                        toNanos(task.getDoneDate()));
+            } catch (ArithmeticException e) {
+                throw new IllegalArgumentException("Task dates are out of the range the mapped store can hold", e);
+            }
+        }
+    }
+}
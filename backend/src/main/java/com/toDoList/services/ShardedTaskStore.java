@@ -0,0 +1,336 @@
+package com.toDoList.services;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.PriorityQueue;
+import java.util.TreeMap;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.IntUnaryOperator;
+import java.util.stream.Stream;
+
+import com.toDoList.TaskPriority;
+import com.toDoList.models.CompletionTimeReport;
+import com.toDoList.models.Tasks;
+
+/**
+ * In-memory store split into shards, each an {@link InMemoryTaskStore} with its own lock and
+ * indexes, so that writers to different shards never wait for each other. New tasks are dealt
+ * to the shards in turn, and shard i of n allocates the ids i + 1, i + 1 + n and so on, so the
+ * shard owning an id is known without a lookup. Queries and aggregates fan out to every shard
+ * on the fork-join pool and the partial results are merged: sorted pages by a k-way merge of
+ * each shard's first offset + limit matches, completion times by adding up per-shard totals.
+ * Each shard answers from a consistent state, but the shards are not read at the same instant.
+ */
+public class ShardedTaskStore implements TaskStore {
+
+    private final InMemoryTaskStore[] shards;
+    // Picks the shard of the next insert
+    private final AtomicInteger nextShard = new AtomicInteger();
+
+    public ShardedTaskStore(int shardCount) {
+        if (shardCount < 1) {
+            throw new IllegalArgumentException("At least one shard is required, got " + shardCount);
+        }
+        shards = new InMemoryTaskStore[shardCount];
+        for (int i = 0; i < shardCount; i++) {
+            shards[i] = new InMemoryTaskStore(i + 1, shardCount);
+        }
+    }
+
+    @Override
+    public Tasks insert(Tasks task) {
+        return shards[Math.floorMod(nextShard.getAndIncrement(), shards.length)].insert(task);
+    }
+
+    /**
+     * Deals the tasks to the shards in turn and stores each shard's share as one batch.
+     * Ids are consecutive as long as no other insert runs at the same time.
+     */
+    @Override
+    public List<Tasks> insertAll(List<Tasks> tasks) {
+        int first = nextShard.getAndAdd(tasks.size());
+        List<List<Tasks>> batches = partition(tasks.size(), i -> Math.floorMod(first + i, shards.length), tasks);
+        for (int shard = 0; shard < shards.length; shard++) {
+            if (!batches.get(shard).isEmpty()) {
+                shards[shard].insertAll(batches.get(shard));
+            }
+        }
+        return tasks;
+    }
+
+    @Override
+    public Optional<Tasks> get(Integer id) {
+        return id == null ? Optional.empty() : shardOf(id).get(id);
+    }
+
+    @Override
+    public Optional<Tasks> update(Integer id, Consumer<Tasks> mutator) {
+        return id == null ? Optional.empty() : shardOf(id).update(id, mutator);
+    }
+
+    /**
+     * Applies the changes as one batch per shard.
+     */
+    @Override
+    public List<Optional<Tasks>> updateAll(List<Integer> ids, List<Consumer<Tasks>> mutators) {
+        List<Optional<Tasks>> updated = new ArrayList<>(ids.size());
+        for (int i = 0; i < ids.size(); i++) {
+            updated.add(Optional.empty());
+        }
+        List<List<Integer>> positions = positionsByShard(ids);
+        for (int shard = 0; shard < shards.length; shard++) {
+            List<Integer> at = positions.get(shard);
+            if (!at.isEmpty()) {
+                List<Optional<Tasks>> results = shards[shard].updateAll(at.stream().map(ids::get).toList(),
+                        at.stream().map(mutators::get).toList());
+                for (int i = 0; i < at.size(); i++) {
+                    updated.set(at.get(i), results.get(i));
+                }
+            }
+        }
+        return updated;
+    }
+
+    @Override
+    public Optional<Tasks> remove(Integer id) {
+        return id == null ? Optional.empty() : shardOf(id).remove(id);
+    }
+
+    /**
+     * Removes the tasks as one batch per shard.
+     */
+    @Override
+    public List<Optional<Tasks>> removeAll(List<Integer> ids) {
+        List<Optional<Tasks>> removed = new ArrayList<>(ids.size());
+        for (int i = 0; i < ids.size(); i++) {
+            removed.add(Optional.empty());
+        }
+        List<List<Integer>> positions = positionsByShard(ids);
+        for (int shard = 0; shard < shards.length; shard++) {
+            List<Integer> at = positions.get(shard);
+            if (!at.isEmpty()) {
+                List<Optional<Tasks>> results = shards[shard].removeAll(at.stream().map(ids::get).toList());
+                for (int i = 0; i < at.size(); i++) {
+                    removed.set(at.get(i), results.get(i));
+                }
+            }
+        }
+        return removed;
+    }
+
+    /**
+     * Returns the sum of the shard versions, which grows with every mutation of any shard.
+     */
+    @Override
+    public long version() {
+        long version = 0;
+        for (InMemoryTaskStore shard : shards) {
+            version += shard.version();
+        }
+        return version;
+    }
+
+    /**
+     * Asks every shard in parallel for its first offset + limit matches after the cursor, then
+     * merges them in the requested order. Each shard reports its matches with a sort key read
+     * under its lock, so the merge compares plain longs.
+     */
+    @Override
+    public <R> R select(TaskQuery query, Function<Stream<Tasks>, R> reader) {
+        long window = query.limit() > Long.MAX_VALUE - query.offset() ? Long.MAX_VALUE : query.offset() + query.limit();
+        TaskQuery shardQuery = new TaskQuery(query.sort(), query.after(), query.priority(), query.completed(),
+                query.taskName(), 0, window);
+        List<List<Keyed>> partials = fanOut(shard -> shard.select(shardQuery,
+                tasks -> tasks.map(task -> new Keyed(sortKey(query.sort(), task), task)).toList()));
+        return reader.apply(merge(partials).stream().skip(query.offset()).limit(query.limit()).map(Keyed::task));
+    }
+
+    /**
+     * Takes the best matches of every shard and ranks them again, as {@link TaskNameIndex} does.
+     */
+    @Override
+    public List<Tasks> search(String query, int limit) {
+        String lowerQuery = query.toLowerCase(Locale.ROOT);
+        Comparator<Tasks> relevance = Comparator
+                .comparingInt((Tasks task) -> TaskNameIndex.tier(task.getTaskName().toLowerCase(Locale.ROOT), lowerQuery))
+                .thenComparingInt(task -> task.getTaskName().toLowerCase(Locale.ROOT).indexOf(lowerQuery))
+                .thenComparingInt(task -> task.getTaskName().length())
+                .thenComparing(Tasks::getId);
+        return fanOut(shard -> shard.search(query, limit)).stream()
+                .flatMap(List::stream)
+                .sorted(relevance)
+                .limit(limit)
+                .toList();
+    }
+
+    /**
+     * Merges the suggestions of every shard in alphabetical order of their lower-cased form.
+     * A name spelled differently in several shards is reported under the first shard's spelling.
+     */
+    @Override
+    public List<String> complete(String prefix, int limit) {
+        TreeMap<String, String> suggestions = new TreeMap<>();
+        for (List<String> names : fanOut(shard -> shard.complete(prefix, limit))) {
+            for (String name : names) {
+                suggestions.putIfAbsent(name.toLowerCase(Locale.ROOT), name);
+            }
+        }
+        return suggestions.values().stream().limit(limit).toList();
+    }
+
+    @Override
+    public double averageCompletionTime() {
+        return totals().average();
+    }
+
+    @Override
+    public Map<TaskPriority, Double> averageCompletionTimePerPriority() {
+        return totals().averagePerPriority();
+    }
+
+    @Override
+    public CompletionTimeReport completionTimeDistribution() {
+        CompletionStats merged = new CompletionStats();
+        for (CompletionStats partial : fanOut(shard -> shard.readStats(stats -> {
+            CompletionStats copy = new CompletionStats();
+            copy.merge(stats);
+            return copy;
+        }))) {
+            merged.merge(partial);
+        }
+        return merged.distribution();
+    }
+
+    @Override
+    public List<Tasks> findDueBetween(LocalDate from, LocalDate to) {
+        List<List<Keyed>> partials = fanOut(shard -> shard.findDueBetween(from, to).stream()
+                .map(task -> new Keyed(sortKey(TaskSort.DUE_DATE, task), task))
+                .toList());
+        return merge(partials).stream().map(Keyed::task).toList();
+    }
+
+    @Override
+    public void addListener(TaskMutationListener listener) {
+        // Shards publish under their own locks, so the listener may be called from several writers at once
+        for (InMemoryTaskStore shard : shards) {
+            shard.addListener(listener);
+        }
+    }
+
+    @Override
+    public int size() {
+        int size = 0;
+        for (InMemoryTaskStore shard : shards) {
+            size += shard.size();
+        }
+        return size;
+    }
+
+    @Override
+    public int count(TaskPriority priority, boolean completed) {
+        int count = 0;
+        for (InMemoryTaskStore shard : shards) {
+            count += shard.count(priority, completed);
+        }
+        return count;
+    }
+
+    /**
+     * Returns the number of shards.
+     *
+     * @return the shard count
+     */
+    public int shardCount() {
+        return shards.length;
+    }
+
+    private InMemoryTaskStore shardOf(int id) {
+        return shards[Math.floorMod(id - 1, shards.length)];
+    }
+
+    private CompletionStats.Totals totals() {
+        return fanOut(shard -> shard.readStats(CompletionStats::totals)).stream()
+                .reduce(CompletionStats.Totals::plus)
+                .orElseThrow();
+    }
+
+    // Runs the work on every shard, forking all but the first shard to the pool and running that one here
+    private <T> List<T> fanOut(Function<InMemoryTaskStore, T> work) {
+        if (shards.length == 1) {
+            return List.of(work.apply(shards[0]));
+        }
+        List<ForkJoinTask<T>> tasks = new ArrayList<>(shards.length);
+        for (InMemoryTaskStore shard : shards) {
+            tasks.add(ForkJoinTask.adapt(() -> work.apply(shard)));
+        }
+        ForkJoinTask.invokeAll(tasks);
+        return tasks.stream().map(ForkJoinTask::join).toList();
+    }
+
+    private List<List<Integer>> positionsByShard(List<Integer> ids) {
+        List<Integer> positions = new ArrayList<>(ids.size());
+        for (int i = 0; i < ids.size(); i++) {
+            positions.add(i);
+        }
+        // Unknown ids go to the first shard, which reports them as missing
+        return partition(ids.size(), i -> ids.get(i) == null ? 0 : Math.floorMod(ids.get(i) - 1, shards.length), positions);
+    }
+
+    private <T> List<List<T>> partition(int size, IntUnaryOperator shardOfItem, List<T> items) {
+        List<List<T>> parts = new ArrayList<>(shards.length);
+        for (int shard = 0; shard < shards.length; shard++) {
+            parts.add(new ArrayList<>(size / shards.length + 1));
+        }
+        for (int i = 0; i < size; i++) {
+            parts.get(shardOfItem.applyAsInt(i)).add(items.get(i));
+        }
+        return parts;
+    }
+
+    // k-way merge of lists already sorted by key
+    private static List<Keyed> merge(List<List<Keyed>> partials) {
+        if (partials.size() == 1) {
+            return partials.get(0);
+        }
+        int total = 0;
+        PriorityQueue<int[]> heads = new PriorityQueue<>(
+                Comparator.comparingLong((int[] head) -> partials.get(head[0]).get(head[1]).key()));
+        for (int i = 0; i < partials.size(); i++) {
+            total += partials.get(i).size();
+            if (!partials.get(i).isEmpty()) {
+                heads.add(new int[] { i, 0 });
+            }
+        }
+        List<Keyed> merged = new ArrayList<>(total);
+        while (!heads.isEmpty()) {
+            int[] head = heads.poll();
+            List<Keyed> partial = partials.get(head[0]);
+            merged.add(partial.get(head[1]));
+            if (++head[1] < partial.size()) {
+                heads.add(head);
+            }
+        }
+        return merged;
+    }
+
+    // The position of a task in the given order packed into a long: the sort field above the id
+    private static long sortKey(TaskSort sort, Tasks task) {
+        long id = task.getId() & 0xFFFFFFFFL;
+        return switch (sort) {
+            case ID -> id;
+            case PRIORITY -> (long) (task.getTaskPriority() == null ? Integer.MAX_VALUE : task.getTaskPriority().ordinal()) << 32 | id;
+            case DUE_DATE -> (task.getTaskDueDate() == null ? Integer.MAX_VALUE : task.getTaskDueDate().toEpochDay()) << 32 | id;
+        };
+    }
+
+    private record Keyed(long key, Tasks task) {
+    }
+}
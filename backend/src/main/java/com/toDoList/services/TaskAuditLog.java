@@ -0,0 +1,99 @@
+package com.toDoList.services;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Service;
+
+import com.toDoList.TaskPriority;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+
+/**
+ * Structured audit log of task mutations, written by the com.toDoList.audit logger.
+ * The store only hands over a few fields of each mutation into a bounded queue; a background
+ * thread formats and logs them, so request threads never pay for formatting or I/O. When the
+ * queue is full the event is dropped and counted (todo.audit.dropped) rather than blocking
+ * a writer that holds the store lock.
+ */
+@Service
+public class TaskAuditLog implements TaskMutationListener {
+
+    private static final Logger logger = LoggerFactory.getLogger(TaskAuditLog.class);
+    private static final Logger auditLogger = LoggerFactory.getLogger("com.toDoList.audit");
+    static final int QUEUE_CAPACITY = 8192;
+
+    private final BlockingQueue<Event> queue = new ArrayBlockingQueue<>(QUEUE_CAPACITY);
+    private final Counter dropped;
+    private final Thread writer;
+    private volatile boolean closed;
+
+    /**
+     * Creates the audit log and subscribes it to the repository's mutations.
+     *
+     * @param taskRepository the task repository
+     * @param meterRegistry  the meter registry receiving the dropped event counter
+     */
+    public TaskAuditLog(TaskRepository taskRepository, MeterRegistry meterRegistry) {
+        dropped = Counter.builder("todo.audit.dropped")
+                .description("Task mutation audit events dropped because the audit queue was full")
+                .register(meterRegistry);
+        writer = new Thread(this::writeLoop, "task-audit-log");
+        writer.setDaemon(true);
+        writer.start();
+        taskRepository.addMutationListener(this);
+    }
+
+    @Override
+    public void onMutation(TaskMutation mutation) {
+        // Skip the snapshot entirely when nobody would see the event
+        if (!auditLogger.isInfoEnabled()) {
+            return;
+        }
+        if (!queue.offer(Event.of(mutation))) {
+            dropped.increment();
+        }
+    }
+
+    @PreDestroy
+    public void close() {
+        closed = true;
+        try {
+            writer.join(TimeUnit.SECONDS.toMillis(5));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private void writeLoop() {
+        try {
+            while (!closed || !queue.isEmpty()) {
+                Event event = queue.poll(100, TimeUnit.MILLISECONDS);
+                if (event != null) {
+                    auditLogger.atInfo()
+                            .addKeyValue("event", event.type())
+                            .addKeyValue("taskId", event.taskId())
+                            .addKeyValue("priority", event.priority())
+                            .addKeyValue("completed", event.completed())
+                            .addKeyValue("version", event.version())
+                            .log("Task mutation");
+                }
+            }
+        } catch (InterruptedException e) {
+            logger.warn("Audit log writer interrupted with {} events pending", queue.size());
+        }
+    }
+
+    // The fields of a mutation worth auditing, captured without formatting anything
+    private record Event(TaskMutation.Type type, Integer taskId, TaskPriority priority, Boolean completed, long version) {
+        static Event of(TaskMutation mutation) {
+            return new Event(mutation.type(), mutation.task().getId(), mutation.task().getTaskPriority(),
+                    mutation.task().getCompleted(), mutation.task().getVersion());
+        }
+    }
+}
@@ -0,0 +1,75 @@
+package com.toDoList.services;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+
+import com.toDoList.TaskPriority;
+import com.toDoList.models.Tasks;
+
+/**
+ * Compact binary encoding of a task, shared by the write-ahead log and snapshots.
+ * Dates are written as epoch days (plus nano of day for timestamps) and the priority
+ * as its ordinal, with sentinels for missing values.
+ */
+final class TaskCodec {
+
+    private static final long NO_DATE = Long.MIN_VALUE;
+    private static final byte NO_VALUE = -1;
+
+    private TaskCodec() {
+    }
+
+    static void write(DataOutput out, Tasks task) throws IOException {
+        out.writeInt(task.getId());
+        out.writeBoolean(task.getTaskName() != null);
+        if (task.getTaskName() != null) {
+            out.writeUTF(task.getTaskName());
+        }
+        out.writeByte(task.getTaskPriority() == null ? NO_VALUE : task.getTaskPriority().ordinal());
+        out.writeByte(task.getCompleted() == null ? NO_VALUE : (task.getCompleted() ? 1 : 0));
+        writeDateTime(out, task.getCreationDate());
+        out.writeLong(task.getTaskDueDate() == null ? NO_DATE : task.getTaskDueDate().toEpochDay());
+        writeDateTime(out, task.getDoneDate());
+    }
+
+    static Tasks read(DataInput in) throws IOException {
+        Tasks task = new Tasks();
+        task.setId(in.readInt());
+        if (in.readBoolean()) {
+            task.setTaskName(in.readUTF());
+        }
+        byte priority = in.readByte();
+        task.setTaskPriority(priority == NO_VALUE ? null : TaskPriority.values()[priority]);
+        byte completed = in.readByte();
+        if (completed != NO_VALUE) {
+            task.setCompleted(completed == 1);
+        }
+        task.setCreationDate(readDateTime(in));
+        long dueDate = in.readLong();
+        task.setTaskDueDate(dueDate == NO_DATE ? null : LocalDate.ofEpochDay(dueDate));
+        // Set after completed, which would otherwise stamp the current time
+        task.setDoneDate(readDateTime(in));
+        return task;
+    }
+
+    private static void writeDateTime(DataOutput out, LocalDateTime dateTime) throws IOException {
+        if (dateTime == null) {
+            out.writeLong(NO_DATE);
+            return;
+        }
+        out.writeLong(dateTime.toLocalDate().toEpochDay());
+        out.writeLong(dateTime.toLocalTime().toNanoOfDay());
+    }
+
+    private static LocalDateTime readDateTime(DataInput in) throws IOException {
+        long epochDay = in.readLong();
+        if (epochDay == NO_DATE) {
+            return null;
+        }
+        return LocalDateTime.of(LocalDate.ofEpochDay(epochDay), LocalTime.ofNanoOfDay(in.readLong()));
+    }
+}
@@ -0,0 +1,71 @@
+package com.toDoList.services;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.Base64;
+
+import com.toDoList.TaskPriority;
+import com.toDoList.models.Tasks;
+
+/**
+ * Continuation token for keyset pagination: the sort key and id of the last task returned.
+ * The next page resumes right after this position in the store's sorted index.
+ */
+public record TaskCursor(TaskSort sort, String key, int id) {
+
+    private static final String SEPARATOR = "|";
+
+    /**
+     * Builds the cursor positioned after the given task.
+     *
+     * @param sort the sort order of the page
+     * @param task the last task of the page
+     * @return the cursor
+     */
+    public static TaskCursor after(TaskSort sort, Tasks task) {
+        String key = switch (sort) {
+            case PRIORITY -> task.getTaskPriority().name();
+            case DUE_DATE -> task.getTaskDueDate() == null ? "" : task.getTaskDueDate().toString();
+            case ID -> "";
+        };
+        return new TaskCursor(sort, key, task.getId());
+    }
+
+    /**
+     * Decodes an opaque token produced by {@link #encode()}.
+     *
+     * @param token the token sent by the client
+     * @return the decoded cursor
+     */
+    public static TaskCursor decode(String token) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+            String[] parts = raw.split("\\|", -1);
+            TaskCursor cursor = new TaskCursor(TaskSort.valueOf(parts[0]), parts[1], Integer.parseInt(parts[2]));
+            // Validate the key eagerly so a tampered token fails here rather than mid-query
+            cursor.priority();
+            cursor.dueDate();
+            return cursor;
+        } catch (RuntimeException e) {
+            throw new IllegalArgumentException("Invalid cursor: " + token);
+        }
+    }
+
+    /**
+     * Encodes the cursor as an opaque URL-safe token.
+     *
+     * @return the token
+     */
+    public String encode() {
+        String raw = sort.name() + SEPARATOR + key + SEPARATOR + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    TaskPriority priority() {
+        return sort == TaskSort.PRIORITY ? TaskPriority.valueOf(key) : null;
+    }
+
+    LocalDate dueDate() {
+        return sort == TaskSort.DUE_DATE && !key.isEmpty() ? LocalDate.parse(key) : null;
+    }
+}
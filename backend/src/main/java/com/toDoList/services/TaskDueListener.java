@@ -0,0 +1,17 @@
+package com.toDoList.services;
+
+import com.toDoList.models.Tasks;
+
+/**
+ * Notified by {@link TaskDueScheduler} when open tasks pass their due date.
+ * Spring beans implementing it are registered with the scheduler automatically.
+ */
+public interface TaskDueListener {
+
+    /**
+     * Called once for each open task whose due date has just passed, on the scheduler's thread.
+     *
+     * @param task the task that became overdue
+     */
+    void onOverdue(Tasks task);
+}
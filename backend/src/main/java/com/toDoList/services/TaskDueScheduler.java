@@ -0,0 +1,220 @@
+package com.toDoList.services;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.ZonedDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.NavigableSet;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListSet;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+
+import com.toDoList.models.Tasks;
+
+import jakarta.annotation.PreDestroy;
+
+/**
+ * Keeps the open tasks that have a due date in due date order, so overdue and due-soon queries
+ * read a range of that order instead of scanning every task. The order is a skip list of keys
+ * packing the due day above the task id, maintained from the repository's mutations. At each
+ * midnight the scheduler takes the keys whose day just ended and reports those tasks as overdue
+ * to the {@link TaskDueListener}s. The work is proportional to the number of tasks crossing
+ * their due date, not to the number of tasks.
+ */
+@Service
+public class TaskDueScheduler implements TaskMutationListener {
+
+    private static final Logger logger = LoggerFactory.getLogger(TaskDueScheduler.class);
+
+    private final TaskRepository taskRepository;
+    private final List<TaskDueListener> listeners;
+    private final Clock clock;
+    private final NavigableSet<Long> openByDueDate = new ConcurrentSkipListSet<>();
+    private final ConcurrentHashMap<Integer, Long> keysById = new ConcurrentHashMap<>();
+    // Ids changed while the existing tasks are loaded, whose newer state the listener has; null once loaded
+    private volatile Set<Integer> changedWhileLoading = ConcurrentHashMap.newKeySet();
+    // Guards the day whose start was last processed: tasks due before it have been reported
+    private final ReentrantLock tickLock = new ReentrantLock();
+    private LocalDate today;
+    private final ScheduledExecutorService ticker = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "task-due-scheduler");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    /**
+     * Creates the scheduler on the system clock and time zone.
+     *
+     * @param taskRepository the task repository
+     * @param listeners      the listeners notified of tasks becoming overdue
+     */
+    @Autowired
+    public TaskDueScheduler(TaskRepository taskRepository, List<TaskDueListener> listeners) {
+        this(taskRepository, listeners, Clock.systemDefaultZone());
+    }
+
+    /**
+     * Creates the scheduler, loads the open tasks with a due date and arms the first midnight tick.
+     *
+     * @param taskRepository the task repository
+     * @param listeners      the listeners notified of tasks becoming overdue
+     * @param clock          the clock deciding the current day
+     */
+    public TaskDueScheduler(TaskRepository taskRepository, List<TaskDueListener> listeners, Clock clock) {
+        this.taskRepository = taskRepository;
+        this.listeners = List.copyOf(listeners);
+        this.clock = clock;
+        this.today = LocalDate.now(clock);
+        // Listening first, so no change made during the load is missed
+        taskRepository.addMutationListener(this);
+        // Tasks without a due date come last in due date order
+        taskRepository.streamAll("taskDueDate", null, false, null)
+                .takeWhile(task -> task.getTaskDueDate() != null)
+                .forEach(task -> keysById.compute(task.getId(),
+                        (id, previous) -> changedWhileLoading.contains(id) ? previous : move(id, previous, task)));
+        changedWhileLoading = null;
+        scheduleNextTick();
+    }
+
+    @Override
+    public void onMutation(TaskMutation mutation) {
+        // Called under the store's write lock; only the key of the changed task moves
+        Tasks task = mutation.type() == TaskMutation.Type.DELETED ? null : mutation.task();
+        keysById.compute(mutation.task().getId(), (id, previous) -> {
+            Set<Integer> changed = changedWhileLoading;
+            if (changed != null) {
+                changed.add(id);
+            }
+            return move(id, previous, task);
+        });
+    }
+
+    /**
+     * Returns the open tasks whose due date has passed, the longest overdue first.
+     *
+     * @param limit the maximum number of tasks to return
+     * @return the overdue tasks
+     */
+    public List<Tasks> findOverdue(int limit) {
+        LocalDate day = LocalDate.now(clock);
+        return load(openByDueDate.headSet(key(day, 0), false), LocalDate.MIN, day.minusDays(1), limit);
+    }
+
+    /**
+     * Returns the open tasks due from today through the given number of days ahead, soonest first.
+     *
+     * @param days  the number of days ahead to include, 0 for today only
+     * @param limit the maximum number of tasks to return
+     * @return the tasks due soon
+     */
+    public List<Tasks> findDueSoon(int days, int limit) {
+        if (days < 0) {
+            throw new IllegalArgumentException("days must not be negative: " + days);
+        }
+        LocalDate first = LocalDate.now(clock);
+        LocalDate last = first.plusDays(days);
+        return load(openByDueDate.subSet(key(first, 0), true, key(last, Integer.MAX_VALUE), true), first, last, limit);
+    }
+
+    /**
+     * Reports the open tasks that became overdue since the previous call, if the day has changed.
+     * Runs at every midnight; a no-op while the day is the same.
+     *
+     * @return the number of tasks reported
+     */
+    public int advance() {
+        tickLock.lock();
+        try {
+            LocalDate now = LocalDate.now(clock);
+            if (!now.isAfter(today)) {
+                return 0;
+            }
+            // Exactly the tasks due from the last processed day up to yesterday
+            List<Tasks> crossed = load(openByDueDate.subSet(key(today, 0), true, key(now, 0), false),
+                    today, now.minusDays(1), Integer.MAX_VALUE);
+            today = now;
+            for (Tasks task : crossed) {
+                for (TaskDueListener listener : listeners) {
+                    try {
+                        listener.onOverdue(task);
+                    } catch (RuntimeException e) {
+                        logger.warn("Overdue listener failed for task {}", task.getId(), e);
+                    }
+                }
+            }
+            if (!crossed.isEmpty()) {
+                logger.info("{} tasks became overdue on {}", crossed.size(), now);
+            }
+            return crossed.size();
+        } finally {
+            tickLock.unlock();
+        }
+    }
+
+    @PreDestroy
+    public void close() {
+        ticker.shutdownNow();
+    }
+
+    // Moves a task's key in the order, removing it for a deleted (null), done or undated task.
+    // Runs inside keysById.compute, so the map and the order change together for each id
+    private Long move(Integer id, Long previous, Tasks task) {
+        Long key = task == null || Boolean.TRUE.equals(task.getCompleted()) || task.getTaskDueDate() == null
+                ? null : key(task.getTaskDueDate(), id);
+        if (previous != null && !previous.equals(key)) {
+            openByDueDate.remove(previous);
+        }
+        if (key != null) {
+            openByDueDate.add(key);
+        }
+        return key;
+    }
+
+    // Reads the tasks of a range of keys, skipping any that changed since the key was read
+    private List<Tasks> load(NavigableSet<Long> keys, LocalDate first, LocalDate last, int limit) {
+        List<Tasks> tasks = new ArrayList<>();
+        for (Long key : keys) {
+            if (tasks.size() >= limit) {
+                break;
+            }
+            taskRepository.findById((int) key.longValue())
+                    .filter(task -> !Boolean.TRUE.equals(task.getCompleted()) && task.getTaskDueDate() != null
+                            && !task.getTaskDueDate().isBefore(first) && !task.getTaskDueDate().isAfter(last))
+                    .ifPresent(tasks::add);
+        }
+        return tasks;
+    }
+
+    private void scheduleNextTick() {
+        if (ticker.isShutdown()) {
+            return;
+        }
+        ZonedDateTime now = ZonedDateTime.now(clock);
+        ZonedDateTime midnight = now.toLocalDate().plusDays(1).atStartOfDay(clock.getZone());
+        ticker.schedule(() -> {
+            try {
+                advance();
+            } catch (RuntimeException e) {
+                logger.error("Due date tick failed", e);
+            } finally {
+                scheduleNextTick();
+            }
+        }, Duration.between(now, midnight).toMillis() + 1, TimeUnit.MILLISECONDS);
+    }
+
+    // The due day above the id, so the keys of a day range form a contiguous subset
+    private static long key(LocalDate dueDate, int id) {
+        return (dueDate.toEpochDay() << 32) | (id & 0xFFFFFFFFL);
+    }
+}
@@ -0,0 +1,364 @@
+package com.toDoList.services;
+
+import java.io.IOException;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Service;
+
+import com.toDoList.models.TaskEvent;
+import com.toDoList.models.Tasks;
+
+import jakarta.annotation.PreDestroy;
+
+/**
+ * In-process event bus turning store mutations into a change feed.
+ * Mutations are only recorded while the store lock is held; a dispatcher thread wakes at most
+ * every {@link #COALESCE_MILLIS} ms, collapses a burst of changes to the same task into one event
+ * and hands the batch to each subscriber's bounded buffer. Subscribers are drained on a small pool
+ * of {@link #SENDER_THREADS} platform threads, so only that many slow connections can delay the
+ * others; a subscriber whose buffer overflows gets a single RESET event instead of the backlog.
+ * The senders are not virtual threads: Spring MVC 6.1's {@code SseEmitter.send} is synchronized,
+ * so a blocking write to a slow client would pin the carrier shared with virtual request threads.
+ * The last {@link #HISTORY_SIZE} events are retained so a reconnecting subscriber can resume after
+ * the last event it saw. Event ids carry the epoch of this run, since sequence numbers start over
+ * on every restart; an id from an earlier run gets a RESET event.
+ */
+@Service
+public class TaskEventBus implements TaskMutationListener, TaskDueListener {
+
+    private static final Logger logger = LoggerFactory.getLogger(TaskEventBus.class);
+    static final long COALESCE_MILLIS = 100;
+    static final int HISTORY_SIZE = 10000;
+    static final int SUBSCRIBER_BUFFER_SIZE = 1000;
+    static final int SENDER_THREADS = 4;
+
+    /**
+     * Receives the events of one subscription, on a sender thread, one event at a time.
+     */
+    @FunctionalInterface
+    public interface Sink {
+        void send(TaskEvent event) throws IOException;
+    }
+
+    // Guards the sequence, the history and the undispatched events
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Condition published = lock.newCondition();
+    private final ArrayDeque<TaskEvent> history = new ArrayDeque<>();
+    private final List<TaskEvent> undispatched = new ArrayList<>();
+    private long sequence;
+    private long dispatchedSequence;
+    private boolean closed;
+
+    // Sequence numbers restart with the application, so event ids carry the startup time
+    private final String epoch = Long.toString(System.currentTimeMillis(), 36);
+    private final Set<Subscription> subscriptions = ConcurrentHashMap.newKeySet();
+    private final ExecutorService senders = Executors.newFixedThreadPool(SENDER_THREADS, new ThreadFactory() {
+        private final AtomicInteger count = new AtomicInteger();
+
+        @Override
+        public Thread newThread(Runnable runnable) {
+            Thread thread = new Thread(runnable, "task-event-sender-" + count.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        }
+    });
+    private final Thread dispatcher;
+
+    /**
+     * Creates the bus and subscribes it to the repository's mutations.
+     *
+     * @param taskRepository the task repository
+     */
+    public TaskEventBus(TaskRepository taskRepository) {
+        dispatcher = new Thread(this::dispatchLoop, "task-event-dispatcher");
+        dispatcher.setDaemon(true);
+        dispatcher.start();
+        taskRepository.addMutationListener(this);
+    }
+
+    @Override
+    public void onMutation(TaskMutation mutation) {
+        // Called under the store's write lock: copy the task and return
+        Tasks task = TaskMutation.copyOf(mutation.task());
+        TaskEvent.Type type = switch (mutation.type()) {
+            case CREATED -> TaskEvent.Type.CREATED;
+            case UPDATED -> TaskEvent.Type.UPDATED;
+            case COMPLETED -> TaskEvent.Type.DONE;
+            case REOPENED -> TaskEvent.Type.UNDONE;
+            case DELETED -> TaskEvent.Type.DELETED;
+        };
+        append(type, task);
+    }
+
+    @Override
+    public void onOverdue(Tasks task) {
+        append(TaskEvent.Type.OVERDUE, TaskMutation.copyOf(task));
+    }
+
+    private void append(TaskEvent.Type type, Tasks task) {
+        lock.lock();
+        try {
+            TaskEvent event = new TaskEvent(++sequence, type, task.getId(), type == TaskEvent.Type.DELETED ? null : task);
+            history.addLast(event);
+            if (history.size() > HISTORY_SIZE) {
+                history.removeFirst();
+            }
+            undispatched.add(event);
+            published.signal();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Subscribes to the feed, first replaying the retained events after the given sequence number.
+     * If some of those events are no longer retained, or the sequence number is ahead of the feed,
+     * the subscriber gets a RESET event instead.
+     *
+     * @param after the last sequence number the subscriber has seen, or null for new events only
+     * @param sink  where events are delivered
+     * @return the subscription, to cancel when the subscriber goes away
+     */
+    public Subscription subscribe(Long after, Sink sink) {
+        return subscribe(after, false, sink);
+    }
+
+    /**
+     * Subscribes to the feed from the id of the last event the subscriber received, as given by
+     * {@link #eventId}. Sequence numbers start over when the application restarts, so an id from
+     * another run, or one that cannot be parsed, gets a RESET event rather than a replay.
+     *
+     * @param lastEventId the id of the last event received, or null for new events only
+     * @param sink        where events are delivered
+     * @return the subscription, to cancel when the subscriber goes away
+     */
+    public Subscription resume(String lastEventId, Sink sink) {
+        if (lastEventId == null || lastEventId.isBlank()) {
+            return subscribe(null, false, sink);
+        }
+        String prefix = epoch + "-";
+        if (lastEventId.startsWith(prefix)) {
+            try {
+                return subscribe(Long.parseLong(lastEventId.substring(prefix.length())), false, sink);
+            } catch (NumberFormatException e) {
+                // Falls through to a reset
+            }
+        }
+        return subscribe(null, true, sink);
+    }
+
+    /**
+     * Returns the id under which an event is sent, its sequence number prefixed with the epoch
+     * of this run of the application.
+     *
+     * @param event the event
+     * @return the event id
+     */
+    public String eventId(TaskEvent event) {
+        return epoch + "-" + event.sequence();
+    }
+
+    private Subscription subscribe(Long after, boolean stale, Sink sink) {
+        Subscription subscription = new Subscription(sink);
+        lock.lock();
+        try {
+            // Registered under the lock, so the dispatcher delivers exactly the events after the replay
+            if (stale || (after != null && after > dispatchedSequence)) {
+                // From another run of the application, or never sent: nothing to replay from
+                subscription.offer(List.of(reset(dispatchedSequence)));
+            } else if (after != null && after < dispatchedSequence) {
+                long oldest = history.isEmpty() ? dispatchedSequence + 1 : history.peekFirst().sequence();
+                if (after < oldest - 1) {
+                    subscription.offer(List.of(reset(dispatchedSequence)));
+                } else {
+                    List<TaskEvent> replay = new ArrayList<>();
+                    for (TaskEvent event : history) {
+                        if (event.sequence() > after && event.sequence() <= dispatchedSequence) {
+                            replay.add(event);
+                        }
+                    }
+                    subscription.offer(replay);
+                }
+            }
+            subscriptions.add(subscription);
+        } finally {
+            lock.unlock();
+        }
+        logger.info("Change feed subscriber added ({} active)", subscriptions.size());
+        return subscription;
+    }
+
+    /**
+     * Returns the number of active subscriptions.
+     *
+     * @return the subscriber count
+     */
+    public int subscriberCount() {
+        return subscriptions.size();
+    }
+
+    @PreDestroy
+    public void close() {
+        lock.lock();
+        try {
+            closed = true;
+            published.signalAll();
+        } finally {
+            lock.unlock();
+        }
+        subscriptions.clear();
+        senders.shutdownNow();
+    }
+
+    private void dispatchLoop() {
+        while (true) {
+            List<TaskEvent> batch;
+            lock.lock();
+            try {
+                while (undispatched.isEmpty() && !closed) {
+                    published.awaitUninterruptibly();
+                }
+                if (closed) {
+                    return;
+                }
+            } finally {
+                lock.unlock();
+            }
+            // Let the rest of a burst arrive, so it goes out as one coalesced batch
+            try {
+                TimeUnit.MILLISECONDS.sleep(COALESCE_MILLIS);
+            } catch (InterruptedException e) {
+                return;
+            }
+            lock.lock();
+            try {
+                batch = coalesce(undispatched);
+                undispatched.clear();
+                dispatchedSequence = sequence;
+                for (Subscription subscription : subscriptions) {
+                    subscription.offer(batch);
+                }
+            } finally {
+                lock.unlock();
+            }
+        }
+    }
+
+    // Keeps the latest event per task, still reported as a creation if the task is new in this batch
+    private static List<TaskEvent> coalesce(List<TaskEvent> events) {
+        Map<Integer, TaskEvent> latest = new LinkedHashMap<>();
+        for (TaskEvent event : events) {
+            TaskEvent previous = latest.remove(event.taskId());
+            if (previous != null && previous.type() == TaskEvent.Type.CREATED) {
+                if (event.type() == TaskEvent.Type.DELETED) {
+                    // Created and deleted within the batch: nothing to report
+                    continue;
+                }
+                event = new TaskEvent(event.sequence(), TaskEvent.Type.CREATED, event.taskId(), event.task());
+            }
+            latest.put(event.taskId(), event);
+        }
+        return new ArrayList<>(latest.values());
+    }
+
+    private static TaskEvent reset(long sequence) {
+        return new TaskEvent(sequence, TaskEvent.Type.RESET, null, null);
+    }
+
+    /**
+     * One subscriber's bounded buffer and its sending state.
+     */
+    public final class Subscription {
+
+        private final Sink sink;
+        // A lock rather than a monitor, so a virtual request thread cancelling never pins its carrier
+        private final ReentrantLock pendingLock = new ReentrantLock();
+        private final ArrayDeque<TaskEvent> pending = new ArrayDeque<>();
+        private boolean sending;
+        private boolean cancelled;
+
+        private Subscription(Sink sink) {
+            this.sink = sink;
+        }
+
+        /**
+         * Stops delivering events to this subscriber.
+         */
+        public void cancel() {
+            pendingLock.lock();
+            try {
+                cancelled = true;
+                pending.clear();
+            } finally {
+                pendingLock.unlock();
+            }
+            if (subscriptions.remove(this)) {
+                logger.info("Change feed subscriber removed ({} active)", subscriptions.size());
+            }
+        }
+
+        private void offer(List<TaskEvent> events) {
+            if (events.isEmpty()) {
+                return;
+            }
+            pendingLock.lock();
+            try {
+                if (cancelled) {
+                    return;
+                }
+                if (pending.size() + events.size() > SUBSCRIBER_BUFFER_SIZE) {
+                    // Too far behind: drop the backlog and tell the subscriber to reload
+                    pending.clear();
+                    pending.add(reset(events.get(events.size() - 1).sequence()));
+                } else {
+                    pending.addAll(events);
+                }
+                if (sending) {
+                    return;
+                }
+                sending = true;
+            } finally {
+                pendingLock.unlock();
+            }
+            senders.execute(this::drain);
+        }
+
+        private void drain() {
+            while (true) {
+                TaskEvent event;
+                pendingLock.lock();
+                try {
+                    event = pending.poll();
+                    if (event == null || cancelled) {
+                        sending = false;
+                        return;
+                    }
+                } finally {
+                    pendingLock.unlock();
+                }
+                try {
+                    sink.send(event);
+                } catch (IOException | RuntimeException e) {
+                    logger.debug("Change feed subscriber failed: {}", e.getMessage());
+                    cancel();
+                    return;
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,275 @@
+package com.toDoList.services;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.toDoList.TaskPriority;
+import com.toDoList.models.ImportError;
+import com.toDoList.models.ImportReport;
+import com.toDoList.models.Tasks;
+
+import jakarta.annotation.PreDestroy;
+
+/**
+ * Streams large task dumps (NDJSON or CSV) into the repository.
+ * The request body is read line by line and cut into chunks; worker threads parse and validate
+ * the chunks in parallel, and the valid tasks of each chunk are committed as one batch, in file
+ * order. At most twice as many chunks as workers are in flight at a time, so memory stays bounded
+ * and reading slows down when validation or commits fall behind. The import is not atomic: rows
+ * committed before a failure stay stored.
+ */
+@Service
+public class TaskImporter {
+
+    private static final Logger logger = LoggerFactory.getLogger(TaskImporter.class);
+    static final int CHUNK_SIZE = 1000;
+    static final int MAX_REPORTED_ERRORS = 1000;
+
+    private final TaskRepository taskRepository;
+    private final TaskValidator taskValidator;
+    private final ObjectReader taskReader;
+    private final int parallelism = Runtime.getRuntime().availableProcessors();
+    private final ExecutorService workers;
+
+    /**
+     * Constructor to inject the repository, the validator and the object mapper.
+     *
+     * @param taskRepository the task repository
+     * @param taskValidator  the per-item task validator
+     * @param objectMapper   the object mapper from JacksonConfig
+     */
+    public TaskImporter(TaskRepository taskRepository, TaskValidator taskValidator, ObjectMapper objectMapper) {
+        this.taskRepository = taskRepository;
+        this.taskValidator = taskValidator;
+        this.taskReader = objectMapper.readerFor(Tasks.class);
+        AtomicInteger threads = new AtomicInteger();
+        this.workers = Executors.newFixedThreadPool(parallelism, runnable -> {
+            Thread thread = new Thread(runnable, "task-import-" + threads.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * Imports newline-delimited JSON, one task per line.
+     *
+     * @param input the NDJSON body
+     * @return the import report
+     * @throws IOException if the body cannot be read
+     */
+    public ImportReport importNdjson(InputStream input) throws IOException {
+        BufferedReader reader = new BufferedReader(new InputStreamReader(input, StandardCharsets.UTF_8));
+        return run(reader, 0, taskReader::readValue);
+    }
+
+    /**
+     * Imports CSV with a header row naming the columns (taskName, taskPriority, completed and
+     * taskDueDate, in any order). Fields may be quoted, with "" for a quote inside a field.
+     *
+     * @param input the CSV body
+     * @return the import report
+     * @throws IOException if the body cannot be read
+     */
+    public ImportReport importCsv(InputStream input) throws IOException {
+        BufferedReader reader = new BufferedReader(new InputStreamReader(input, StandardCharsets.UTF_8));
+        String header = reader.readLine();
+        if (header == null) {
+            return new ImportReport(0, 0, List.of());
+        }
+        Map<String, Integer> columns = new HashMap<>();
+        List<String> names = splitCsv(header);
+        for (int i = 0; i < names.size(); i++) {
+            columns.put(names.get(i).trim(), i);
+        }
+        if (!columns.containsKey("taskName")) {
+            throw new IllegalArgumentException("CSV header must contain a taskName column");
+        }
+        return run(reader, 1, line -> parseCsv(splitCsv(line), columns));
+    }
+
+    @PreDestroy
+    public void close() {
+        workers.shutdownNow();
+    }
+
+    private ImportReport run(BufferedReader reader, long linesBefore, RowParser parser) throws IOException {
+        Deque<Future<ChunkResult>> inFlight = new ArrayDeque<>();
+        Progress progress = new Progress();
+        try {
+            List<String> lines = new ArrayList<>(CHUNK_SIZE);
+            long firstLine = linesBefore + 1;
+            String line;
+            while ((line = reader.readLine()) != null) {
+                lines.add(line);
+                if (lines.size() == CHUNK_SIZE) {
+                    inFlight.add(submit(lines, firstLine, parser));
+                    firstLine += lines.size();
+                    lines = new ArrayList<>(CHUNK_SIZE);
+                    // Wait for the oldest chunk before reading further ahead
+                    if (inFlight.size() >= parallelism * 2) {
+                        commit(inFlight.poll(), progress);
+                    }
+                }
+            }
+            if (!lines.isEmpty()) {
+                inFlight.add(submit(lines, firstLine, parser));
+            }
+            while (!inFlight.isEmpty()) {
+                commit(inFlight.poll(), progress);
+            }
+        } finally {
+            inFlight.forEach(chunk -> chunk.cancel(true));
+        }
+        logger.info("Imported {} tasks, rejected {}", progress.imported, progress.failed);
+        return new ImportReport(progress.imported, progress.failed, progress.errors);
+    }
+
+    private Future<ChunkResult> submit(List<String> lines, long firstLine, RowParser parser) {
+        return workers.submit(() -> {
+            List<Tasks> valid = new ArrayList<>(lines.size());
+            List<ImportError> errors = new ArrayList<>();
+            for (int i = 0; i < lines.size(); i++) {
+                String line = lines.get(i);
+                if (line.isBlank()) {
+                    continue;
+                }
+                String error;
+                try {
+                    Tasks task = parser.parse(line);
+                    error = taskValidator.violations(task);
+                    if (error == null) {
+                        // Imported tasks always get a new ID
+                        task.setId(null);
+                        valid.add(task);
+                    }
+                } catch (IOException | RuntimeException e) {
+                    error = "Malformed row: " + e.getMessage();
+                }
+                if (error != null) {
+                    errors.add(new ImportError(firstLine + i, error));
+                }
+            }
+            return new ChunkResult(valid, errors);
+        });
+    }
+
+    private void commit(Future<ChunkResult> chunk, Progress progress) {
+        ChunkResult result;
+        try {
+            result = chunk.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Import interrupted", e);
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Import failed: " + e.getCause().getMessage(), e.getCause());
+        }
+        if (!result.valid().isEmpty()) {
+            taskRepository.createAll(result.valid());
+        }
+        progress.imported += result.valid().size();
+        progress.failed += result.errors().size();
+        for (ImportError error : result.errors()) {
+            if (progress.errors.size() < MAX_REPORTED_ERRORS) {
+                progress.errors.add(error);
+            }
+        }
+    }
+
+    private static Tasks parseCsv(List<String> fields, Map<String, Integer> columns) {
+        Tasks task = new Tasks();
+        task.setTaskName(field(fields, columns, "taskName"));
+        String priority = field(fields, columns, "taskPriority");
+        if (priority != null) {
+            task.setTaskPriority(TaskPriority.valueOf(priority.toUpperCase(Locale.ROOT)));
+        }
+        String completed = field(fields, columns, "completed");
+        if (completed != null) {
+            if (!completed.equalsIgnoreCase("true") && !completed.equalsIgnoreCase("false")) {
+                throw new IllegalArgumentException("Invalid completed value: " + completed);
+            }
+            task.setCompleted(Boolean.parseBoolean(completed));
+        }
+        String dueDate = field(fields, columns, "taskDueDate");
+        if (dueDate != null) {
+            task.setTaskDueDate(LocalDate.parse(dueDate));
+        }
+        return task;
+    }
+
+    // Returns the field of the named column, or null when the column is absent or the field empty
+    private static String field(List<String> fields, Map<String, Integer> columns, String column) {
+        Integer index = columns.get(column);
+        if (index == null || index >= fields.size() || fields.get(index).isEmpty()) {
+            return null;
+        }
+        return fields.get(index);
+    }
+
+    static List<String> splitCsv(String line) {
+        List<String> fields = new ArrayList<>();
+        StringBuilder field = new StringBuilder();
+        boolean quoted = false;
+        for (int i = 0; i < line.length(); i++) {
+            char c = line.charAt(i);
+            if (quoted) {
+                if (c == '"' && i + 1 < line.length() && line.charAt(i + 1) == '"') {
+                    field.append('"');
+                    i++;
+                } else if (c == '"') {
+                    quoted = false;
+                } else {
+                    field.append(c);
+                }
+            } else if (c == '"') {
+                quoted = true;
+            } else if (c == ',') {
+                fields.add(field.toString());
+                field.setLength(0);
+            } else {
+                field.append(c);
+            }
+        }
+        if (quoted) {
+            throw new IllegalArgumentException("Unterminated quoted field");
+        }
+        fields.add(field.toString());
+        return fields;
+    }
+
+    @FunctionalInterface
+    private interface RowParser {
+        Tasks parse(String line) throws IOException;
+    }
+
+    private record ChunkResult(List<Tasks> valid, List<ImportError> errors) {
+    }
+
+    // Totals of the committed chunks; only touched by the request thread
+    private static final class Progress {
+        private long imported;
+        private long failed;
+        private final List<ImportError> errors = new ArrayList<>();
+    }
+}
@@ -0,0 +1,164 @@
+package com.toDoList.services;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.springframework.stereotype.Service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.toDoList.config.CacheProperties;
+import com.toDoList.models.Tasks;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * Cache of the serialized JSON of each task, as UTF-8 bytes, so reads of unchanged tasks skip
+ * Jackson entirely. An entry is dropped when its task is mutated, and is only served for the task
+ * version it was serialized from. Stores bump a task's version after changing its fields, so the
+ * version is read before serializing and the bytes are only cached if it is unchanged afterwards:
+ * bytes from a read racing with a mutation are never cached under the new version.
+ * Past the configured size, entries are evicted by the CLOCK policy: a hit only sets the entry's
+ * referenced flag, and a new entry takes the position of the first one the hand finds unreferenced
+ * in a ring of cached ids, clearing the flags it passes. Hits stay lock-free; inserts, which
+ * already pay for a serialization, take the ring's lock.
+ */
+@Service
+public class TaskJsonCache implements TaskMutationListener {
+
+    private final ObjectMapper objectMapper;
+    private final int maxSize;
+    private final ConcurrentHashMap<Integer, Entry> entries = new ConcurrentHashMap<>();
+    // The id cached at each position, guarded by itself; stale once its entry is dropped
+    private final int[] ring;
+    private int used;
+    private int hand;
+    private final Counter hits;
+    private final Counter misses;
+    private final Counter evictions;
+
+    /**
+     * Creates the cache and subscribes it to the repository's mutations.
+     *
+     * @param taskRepository  the task repository
+     * @param objectMapper    the object mapper from JacksonConfig
+     * @param cacheProperties the cache settings
+     * @param meterRegistry   the meter registry receiving the hit and miss counters
+     */
+    public TaskJsonCache(TaskRepository taskRepository, ObjectMapper objectMapper, CacheProperties cacheProperties,
+            MeterRegistry meterRegistry) {
+        this.objectMapper = objectMapper;
+        this.maxSize = cacheProperties.getJsonMaxSize();
+        this.ring = new int[Math.max(maxSize, 0)];
+        hits = counter(meterRegistry, "hit");
+        misses = counter(meterRegistry, "miss");
+        evictions = Counter.builder("todo.json.cache.evictions")
+                .description("Task JSON cache entries evicted to make room")
+                .register(meterRegistry);
+        taskRepository.addMutationListener(this);
+    }
+
+    @Override
+    public void onMutation(TaskMutation mutation) {
+        entries.remove(mutation.task().getId());
+    }
+
+    /**
+     * Returns the JSON of a task, serializing it only if this version of the task is not cached.
+     * The returned array is shared and must not be modified.
+     *
+     * @param task the task
+     * @return the task's JSON as UTF-8 bytes
+     */
+    public byte[] json(Tasks task) {
+        long version = task.getVersion();
+        Entry entry = entries.get(task.getId());
+        if (entry != null && entry.version == version) {
+            if (!entry.referenced) {
+                entry.referenced = true;
+            }
+            hits.increment();
+            return entry.json;
+        }
+        misses.increment();
+        byte[] json;
+        try {
+            json = objectMapper.writeValueAsBytes(task);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not serialize task " + task.getId(), e);
+        }
+        // A mutation that overlapped the serialization may have left mixed fields in the bytes
+        if (task.getVersion() == version && maxSize > 0) {
+            cache(task.getId(), version, json);
+        }
+        return json;
+    }
+
+    /**
+     * Returns the number of cached tasks.
+     */
+    public int size() {
+        return entries.size();
+    }
+
+    private void cache(Integer id, long version, byte[] json) {
+        synchronized (ring) {
+            Entry current = entries.get(id);
+            int position;
+            if (current != null) {
+                position = current.position;
+            } else if (used < maxSize) {
+                position = used++;
+            } else {
+                position = evict();
+            }
+            ring[position] = id;
+            entries.put(id, new Entry(version, json, position));
+        }
+    }
+
+    // Advances the hand to the first position without a referenced entry and frees it
+    private int evict() {
+        while (true) {
+            int position = hand;
+            hand = (hand + 1) % maxSize;
+            Entry entry = entries.get(ring[position]);
+            if (entry == null || entry.position != position) {
+                // Its task changed or was deleted since
+                return position;
+            }
+            if (entry.referenced) {
+                entry.referenced = false;
+            } else {
+                // Fails only if a mutation dropped the entry meanwhile, which frees the position too
+                if (entries.remove(ring[position], entry)) {
+                    evictions.increment();
+                }
+                return position;
+            }
+        }
+    }
+
+    private static Counter counter(MeterRegistry meterRegistry, String result) {
+        return Counter.builder("todo.json.cache")
+                .description("Task JSON cache lookups by result")
+                .tag("result", result)
+                .register(meterRegistry);
+    }
+
+    private static final class Entry {
+
+        private final long version;
+        private final byte[] json;
+        private final int position;
+        // Set by hits, cleared as the clock hand passes
+        private volatile boolean referenced;
+
+        private Entry(long version, byte[] json, int position) {
+            this.version = version;
+            this.json = json;
+            this.position = position;
+        }
+    }
+}
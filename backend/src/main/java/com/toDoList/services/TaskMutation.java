@@ -0,0 +1,35 @@
+package com.toDoList.services;
+
+import com.toDoList.models.Tasks;
+
+/**
+ * A change applied to the task store, published to {@link TaskMutationListener}s in the
+ * order the changes were applied. For deletions the task is the removed one. For updates
+ * the previous state is a copy taken before the change (null for creations and deletions).
+ */
+public record TaskMutation(Type type, Tasks task, Tasks previous) {
+
+    public enum Type {
+        CREATED, UPDATED, COMPLETED, REOPENED, DELETED
+    }
+
+    /**
+     * Copies the fields of a task, to keep its state before a change.
+     *
+     * @param task the task to copy
+     * @return the copy
+     */
+    static Tasks copyOf(Tasks task) {
+        Tasks copy = new Tasks();
+        copy.setId(task.getId());
+        copy.setTaskName(task.getTaskName());
+        copy.setTaskPriority(task.getTaskPriority());
+        copy.setCompleted(task.getCompleted());
+        copy.setCreationDate(task.getCreationDate());
+        copy.setTaskDueDate(task.getTaskDueDate());
+        // Set after completed, which would otherwise stamp the current time
+        copy.setDoneDate(task.getDoneDate());
+        copy.setVersion(task.getVersion());
+        return copy;
+    }
+}
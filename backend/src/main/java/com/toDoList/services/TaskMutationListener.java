@@ -0,0 +1,12 @@
+package com.toDoList.services;
+
+/**
+ * Receives every mutation applied to the {@link TaskStore}.
+ * Listeners run on the writing thread while the store's write lock is held, so they see
+ * mutations in apply order and must only do quick, non-blocking work.
+ */
+@FunctionalInterface
+public interface TaskMutationListener {
+
+    void onMutation(TaskMutation mutation);
+}
@@ -0,0 +1,163 @@
+package com.toDoList.services;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.TreeSet;
+
+/**
+ * Trigram inverted index over lower-cased task names.
+ * Partial-match queries intersect the posting lists of the query's trigrams and verify the
+ * few remaining candidates, instead of lower-casing every task name on every request.
+ * Not thread-safe on its own: {@link TaskStore} guards it with its read/write lock.
+ */
+class TaskNameIndex {
+
+    private static final int GRAM = 3;
+
+    private final Map<String, Set<Integer>> postings = new HashMap<>();
+    private final Map<Integer, String> lowerNames = new HashMap<>();
+    // Lower-cased names in order, for prefix autocomplete
+    private final NavigableMap<String, Set<Integer>> idsByName = new TreeMap<>();
+
+    void add(Integer id, String taskName) {
+        if (taskName == null) {
+            return;
+        }
+        String lowerName = taskName.toLowerCase(Locale.ROOT);
+        lowerNames.put(id, lowerName);
+        idsByName.computeIfAbsent(lowerName, name -> new TreeSet<>()).add(id);
+        for (String gram : grams(lowerName)) {
+            postings.computeIfAbsent(gram, key -> new HashSet<>()).add(id);
+        }
+    }
+
+    void remove(Integer id) {
+        String lowerName = lowerNames.remove(id);
+        if (lowerName == null) {
+            return;
+        }
+        Set<Integer> sameName = idsByName.get(lowerName);
+        sameName.remove(id);
+        if (sameName.isEmpty()) {
+            idsByName.remove(lowerName);
+        }
+        for (String gram : grams(lowerName)) {
+            Set<Integer> posting = postings.get(gram);
+            posting.remove(id);
+            if (posting.isEmpty()) {
+                postings.remove(gram);
+            }
+        }
+    }
+
+    /**
+     * Finds the ids of tasks whose name contains the query, ignoring case.
+     *
+     * @param query the partial task name
+     * @return the matching ids
+     */
+    Set<Integer> search(String query) {
+        String lowerQuery = query.toLowerCase(Locale.ROOT);
+        Set<Integer> matches = new HashSet<>();
+        if (lowerQuery.length() < GRAM) {
+            // Too short for trigrams, check the pre-lowered names directly
+            lowerNames.forEach((id, name) -> {
+                if (name.contains(lowerQuery)) {
+                    matches.add(id);
+                }
+            });
+            return matches;
+        }
+
+        // Intersect posting lists starting from the rarest trigram
+        List<Set<Integer>> lists = new ArrayList<>();
+        for (String gram : grams(lowerQuery)) {
+            Set<Integer> posting = postings.get(gram);
+            if (posting == null) {
+                return matches;
+            }
+            lists.add(posting);
+        }
+        lists.sort(Comparator.comparingInt(Set::size));
+        candidates:
+        for (Integer id : lists.get(0)) {
+            for (int i = 1; i < lists.size(); i++) {
+                if (!lists.get(i).contains(id)) {
+                    continue candidates;
+                }
+            }
+            // Trigrams can match out of order, so confirm the substring
+            if (lowerNames.get(id).contains(lowerQuery)) {
+                matches.add(id);
+            }
+        }
+        return matches;
+    }
+
+    /**
+     * Ranks the matches of a query: exact names first, then names starting with the query,
+     * then names with a word starting with the query, then any other match. Ties favour
+     * earlier matches, shorter names and older tasks.
+     *
+     * @param query the partial task name
+     * @param limit the maximum number of ids to return
+     * @return the best matching ids, best first
+     */
+    List<Integer> rank(String query, int limit) {
+        String lowerQuery = query.toLowerCase(Locale.ROOT);
+        Comparator<Integer> relevance = Comparator
+                .comparingInt((Integer id) -> tier(lowerNames.get(id), lowerQuery))
+                .thenComparingInt(id -> lowerNames.get(id).indexOf(lowerQuery))
+                .thenComparingInt(id -> lowerNames.get(id).length())
+                .thenComparing(Comparator.naturalOrder());
+        return search(query).stream().sorted(relevance).limit(limit).toList();
+    }
+
+    /**
+     * Finds the ids of tasks whose name starts with the prefix, grouped per distinct name
+     * in alphabetical order.
+     *
+     * @param prefix the typed prefix
+     * @param limit  the maximum number of distinct names to return
+     * @return one id per matching name
+     */
+    List<Integer> complete(String prefix, int limit) {
+        String lowerPrefix = prefix.toLowerCase(Locale.ROOT);
+        return idsByName.subMap(lowerPrefix, true, lowerPrefix + Character.MAX_VALUE, false).values().stream()
+                .limit(limit)
+                .map(ids -> ids.iterator().next())
+                .toList();
+    }
+
+    static int tier(String name, String query) {
+        if (name.equals(query)) {
+            return 0;
+        } else if (name.startsWith(query)) {
+            return 1;
+        }
+        int from = name.indexOf(query);
+        while (from > 0) {
+            if (!Character.isLetterOrDigit(name.charAt(from - 1))) {
+                return 2;
+            }
+            from = name.indexOf(query, from + 1);
+        }
+        return 3;
+    }
+
+    private static Set<String> grams(String text) {
+        Set<String> grams = new HashSet<>();
+        for (int i = 0; i + GRAM <= text.length(); i++) {
+            grams.add(text.substring(i, i + GRAM));
+        }
+        return grams;
+    }
+}
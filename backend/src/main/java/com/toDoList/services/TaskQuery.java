@@ -0,0 +1,27 @@
+package com.toDoList.services;
+
+import com.toDoList.TaskPriority;
+
+/**
+ * A task list query: filters, order, keyset position and the window of results to return.
+ *
+ * @param sort      the order to return tasks in
+ * @param after     the position to resume after (optional)
+ * @param priority  the priority to match (optional)
+ * @param completed the completion status to match (optional)
+ * @param taskName  the partial task name to match, ignoring case (optional)
+ * @param offset    the number of matching tasks to skip
+ * @param limit     the maximum number of tasks to return
+ */
+public record TaskQuery(TaskSort sort, TaskCursor after, TaskPriority priority, Boolean completed, String taskName,
+        long offset, long limit) {
+
+    /**
+     * Returns a query matching every task, in creation order.
+     *
+     * @return the query
+     */
+    public static TaskQuery all() {
+        return new TaskQuery(TaskSort.ID, null, null, null, null, 0, Long.MAX_VALUE);
+    }
+}
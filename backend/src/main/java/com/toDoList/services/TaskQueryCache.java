@@ -0,0 +1,133 @@
+package com.toDoList.services;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Supplier;
+
+import com.toDoList.models.QueryCacheStats;
+import com.toDoList.models.Tasks;
+
+/**
+ * Bounded LRU cache of query results with a time-to-live. It listens to the store and drops
+ * exactly the entries a mutation can affect: those whose filters match the task before or after
+ * the change. Results loaded while a mutation was being applied are not cached, so a stale
+ * result can never be stored after its invalidation has run.
+ */
+class TaskQueryCache implements TaskMutationListener {
+
+    private final int maxSize;
+    private final long ttlNanos;
+    // Access-ordered, so the eldest entry is the least recently used
+    private final LinkedHashMap<TaskQuery, Entry> entries;
+    private final ReentrantLock lock = new ReentrantLock();
+    private long mutations;
+    private long hits;
+    private long misses;
+    private long evictions;
+    private long invalidations;
+
+    TaskQueryCache(int maxSize, long ttlNanos) {
+        this.maxSize = maxSize;
+        this.ttlNanos = ttlNanos;
+        this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<TaskQuery, Entry> eldest) {
+                if (size() > TaskQueryCache.this.maxSize) {
+                    evictions++;
+                    return true;
+                }
+                return false;
+            }
+        };
+    }
+
+    /**
+     * Returns the cached result of the query, loading and caching it on a miss.
+     *
+     * @param query  the query, with its task name filter normalized
+     * @param loader runs the query against the store
+     * @return the (unmodifiable) result
+     */
+    List<Tasks> get(TaskQuery query, Supplier<List<Tasks>> loader) {
+        if (maxSize <= 0) {
+            return loader.get();
+        }
+        long seenMutations;
+        lock.lock();
+        try {
+            Entry entry = entries.get(query);
+            if (entry != null && System.nanoTime() - entry.loadedAt() < ttlNanos) {
+                hits++;
+                return entry.tasks();
+            }
+            if (entry != null) {
+                entries.remove(query);
+            }
+            misses++;
+            seenMutations = mutations;
+        } finally {
+            lock.unlock();
+        }
+
+        // Load outside the lock so a slow query does not hold up hits on other entries
+        List<Tasks> tasks = List.copyOf(loader.get());
+        lock.lock();
+        try {
+            if (mutations == seenMutations) {
+                entries.put(query, new Entry(tasks, System.nanoTime()));
+            }
+        } finally {
+            lock.unlock();
+        }
+        return tasks;
+    }
+
+    @Override
+    public void onMutation(TaskMutation mutation) {
+        lock.lock();
+        try {
+            mutations++;
+            Iterator<TaskQuery> queries = entries.keySet().iterator();
+            while (queries.hasNext()) {
+                TaskQuery query = queries.next();
+                if (matches(query, mutation.previous()) || matches(query, mutation.task())) {
+                    queries.remove();
+                    invalidations++;
+                }
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    QueryCacheStats stats() {
+        lock.lock();
+        try {
+            return new QueryCacheStats(entries.size(), hits, misses, evictions, invalidations);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    // Whether the task passes the query's filters, i.e. its presence can change the result
+    private static boolean matches(TaskQuery query, Tasks task) {
+        if (task == null) {
+            return false;
+        }
+        if (query.priority() != null && query.priority() != task.getTaskPriority()) {
+            return false;
+        }
+        if (query.completed() != null && !query.completed().equals(task.getCompleted())) {
+            return false;
+        }
+        return query.taskName() == null
+                || (task.getTaskName() != null && task.getTaskName().toLowerCase(Locale.ROOT).contains(query.taskName()));
+    }
+
+    private record Entry(List<Tasks> tasks, long loadedAt) {
+    }
+}
@@ -1,31 +1,154 @@
 package com.toDoList.services;
 
-import java.time.Duration;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Path;
 import java.time.LocalDate;
 import java.util.ArrayList;
-import java.util.Comparator;
 import java.util.List;
+import java.util.Locale;
 import java.util.Map;
 import java.util.Optional;
-import java.util.stream.Collectors;
+import java.util.function.Consumer;
+import java.util.function.Function;
 import java.util.stream.Stream;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Repository;
 
 import com.toDoList.TaskPriority;
+import com.toDoList.config.CacheProperties;
+import com.toDoList.config.StorageProperties;
 import com.toDoList.exceptions.EntityNotFoundException;
+import com.toDoList.exceptions.PreconditionFailedException;
+import com.toDoList.models.CompletionTimeReport;
+import com.toDoList.models.QueryCacheStats;
+import com.toDoList.models.TaskPage;
 import com.toDoList.models.Tasks;
 
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.composite.CompositeMeterRegistry;
 import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
 
 @Repository
 public class TaskRepository {
 
     private static final Logger logger = LoggerFactory.getLogger(TaskRepository.class);
-    private List<Tasks> tasks = new ArrayList<>();
-    private int currentId = 0;
+    // Tasks read per store query when streaming the whole set
+    private static final int STREAM_CHUNK_SIZE = 1000;
+    private final TaskStore store;
+    private final StorageProperties storageProperties;
+    private final TaskQueryCache queryCache;
+    private TaskWriteAheadLog writeAheadLog;
+
+    // Per-operation timers, resolved once so timing a call is only two clock reads
+    private final Timer findAllTimer;
+    private final Timer findPageTimer;
+    private final Timer searchTimer;
+    private final Timer autocompleteTimer;
+    private final Timer createTimer;
+    private final Timer findByIdTimer;
+    private final Timer patchUpdateTimer;
+    private final Timer markAsDoneTimer;
+    private final Timer markAsUnDoneTimer;
+    private final Timer deleteTimer;
+    private final Timer createAllTimer;
+    private final Timer patchUpdateAllTimer;
+    private final Timer deleteAllTimer;
+    private final Timer completionStatsTimer;
+
+    /**
+     * Creates an in-memory repository without persistence.
+     */
+    public TaskRepository() {
+        this(new StorageProperties());
+    }
+
+    /**
+     * Creates an in-memory repository with the given storage settings.
+     *
+     * @param storageProperties the storage settings
+     */
+    public TaskRepository(StorageProperties storageProperties) {
+        this(storageProperties, new InMemoryTaskStore());
+    }
+
+    /**
+     * Creates a repository over the given engine, with the default cache settings.
+     *
+     * @param storageProperties the storage settings
+     * @param store             the storage engine
+     */
+    public TaskRepository(StorageProperties storageProperties, TaskStore store) {
+        this(storageProperties, new CacheProperties(), store);
+    }
+
+    /**
+     * Creates a repository over the given engine, without metrics.
+     *
+     * @param storageProperties the storage settings
+     * @param cacheProperties   the query cache settings
+     * @param store             the storage engine
+     */
+    public TaskRepository(StorageProperties storageProperties, CacheProperties cacheProperties, TaskStore store) {
+        // A composite registry without children hands out no-op meters
+        this(storageProperties, cacheProperties, store, new CompositeMeterRegistry());
+    }
+
+    /**
+     * Constructor to inject the storage and cache settings, the storage engine and the meter
+     * registry receiving the operation timers and task count gauges.
+     *
+     * @param storageProperties the storage settings
+     * @param cacheProperties   the query cache settings
+     * @param store             the storage engine selected by todo.storage.mode
+     * @param meterRegistry     the meter registry
+     */
+    @Autowired
+    public TaskRepository(StorageProperties storageProperties, CacheProperties cacheProperties, TaskStore store,
+            MeterRegistry meterRegistry) {
+        this.storageProperties = storageProperties;
+        this.store = store;
+        this.queryCache = new TaskQueryCache(cacheProperties.getMaxSize(), cacheProperties.getTtl().toNanos());
+        store.addListener(queryCache);
+
+        findAllTimer = timer(meterRegistry, "findAll");
+        findPageTimer = timer(meterRegistry, "findPage");
+        searchTimer = timer(meterRegistry, "search");
+        autocompleteTimer = timer(meterRegistry, "autocomplete");
+        createTimer = timer(meterRegistry, "create");
+        findByIdTimer = timer(meterRegistry, "findById");
+        patchUpdateTimer = timer(meterRegistry, "patchUpdate");
+        markAsDoneTimer = timer(meterRegistry, "markAsDone");
+        markAsUnDoneTimer = timer(meterRegistry, "markAsUnDone");
+        deleteTimer = timer(meterRegistry, "delete");
+        createAllTimer = timer(meterRegistry, "createAll");
+        patchUpdateAllTimer = timer(meterRegistry, "patchUpdateAll");
+        deleteAllTimer = timer(meterRegistry, "deleteAll");
+        completionStatsTimer = timer(meterRegistry, "completionStats");
+        // Counts are kept by the store, so the gauges cost nothing until they are scraped
+        for (TaskPriority taskPriority : TaskPriority.values()) {
+            for (boolean completed : new boolean[] { false, true }) {
+                Gauge.builder("todo.tasks", store, s -> s.count(taskPriority, completed))
+                        .description("Number of tasks by priority and completion state")
+                        .tag("priority", taskPriority.name())
+                        .tag("completed", Boolean.toString(completed))
+                        .register(meterRegistry);
+            }
+        }
+    }
+
+    private static Timer timer(MeterRegistry meterRegistry, String operation) {
+        return Timer.builder("todo.repository")
+                .description("Time spent in task repository operations")
+                .tag("operation", operation)
+                .register(meterRegistry);
+    }
 
     /**
      * Finds all tasks with optional filtering and sorting.
@@ -40,43 +163,104 @@ public class TaskRepository {
      * @return a list of tasks matching the criteria
      */
     public List<Tasks> findAll(int page, int size, String sortBy, String filterBy, String priority, Boolean completed, String taskName) {
+        // Priority, completion status and task name are answered by the store's indexes, and the
+        // requested order by walking its pre-sorted views, so no per-request sort is needed.
+        // Name filters are case-insensitive, so they are lowered to share one cache entry.
+        String nameFilter = taskName == null || taskName.isEmpty() ? null : taskName.toLowerCase(Locale.ROOT);
+        TaskQuery query = new TaskQuery(TaskSort.fromParam(sortBy), null, parsePriority(priority), completed, nameFilter,
+                (long) page * size, size);
+        return findAllTimer.record(() -> queryCache.get(query, () -> store.find(query)));
+    }
 
-        // Create a stream from the list of tasks
-        Stream<Tasks> taskStream = tasks.stream();
+    /**
+     * Finds a page of tasks using keyset pagination. Instead of skipping over earlier pages,
+     * the store's sorted index is resumed right after the position encoded in the cursor.
+     *
+     * @param cursor    the continuation token from the previous page (null or empty for the first page)
+     * @param size      the page size
+     * @param sortBy    the field to sort by (optional)
+     * @param priority  the task priority to filter by (optional)
+     * @param completed the completion status to filter by (optional)
+     * @param taskName  the task name to filter by (optional)
+     * @return the page of tasks and the cursor for the next one
+     */
+    public TaskPage findPage(String cursor, int size, String sortBy, String priority, Boolean completed, String taskName) {
+        return findPageTimer.record(() -> page(cursor, size, sortBy, priority, completed, taskName));
+    }
 
-        // Filter tasks by completion status if provided
-        if (completed != null) {
-            taskStream = taskStream.filter(task -> task.getCompleted().equals(completed));
+    private TaskPage page(String cursor, int size, String sortBy, String priority, Boolean completed, String taskName) {
+        if (size < 1) {
+            throw new IllegalArgumentException("Invalid page size: " + size);
         }
-
-        // Filter tasks by task name if provided (case insensitive partial match)
-        if (taskName != null && !taskName.isEmpty()) {
-            taskStream = taskStream.filter(task -> task.getTaskName().toLowerCase().contains(taskName.toLowerCase()));
+        TaskSort sort = TaskSort.fromParam(sortBy);
+        TaskCursor after = cursor == null || cursor.isEmpty() ? null : TaskCursor.decode(cursor);
+        if (after != null && after.sort() != sort) {
+            logger.warn("Cursor sorted by {} used with sortBy {}", after.sort(), sortBy);
+            throw new IllegalArgumentException("Cursor does not match sortBy: " + sortBy);
         }
 
-        // Filter tasks by priority if provided
-        if (priority != null) {
-            try {
-                TaskPriority taskPriority = TaskPriority.valueOf(priority.toUpperCase());
-                taskStream = taskStream.filter(task -> task.getTaskPriority() == taskPriority);
-            } catch (IllegalArgumentException e) {
-                logger.warn("Invalid priority filter: {}", priority);
-                throw new IllegalArgumentException("Invalid priority value: " + priority);
-            }
-        }
+        List<Tasks> tasks = store.find(new TaskQuery(sort, after, parsePriority(priority), completed, taskName, 0, size));
 
-        // Sort tasks by the specified field if provided
-        if ("priority".equalsIgnoreCase(sortBy)) {
-            taskStream = taskStream.sorted(Comparator.comparing(Tasks::getTaskPriority));
-        } else if ("taskDueDate".equalsIgnoreCase(sortBy)) {
-            taskStream = taskStream.sorted(Comparator.comparing(Tasks::getTaskDueDate, Comparator.nullsLast(Comparator.naturalOrder())));
+        // A full page means there may be more tasks after the last one
+        String nextCursor = tasks.size() == size ? TaskCursor.after(sort, tasks.get(tasks.size() - 1)).encode() : null;
+        return new TaskPage(tasks, nextCursor);
+    }
+
+    /**
+     * Streams every task matching the filters, in sort order, without materializing them all.
+     * Tasks are read lazily in keyset chunks, so the store is only locked briefly per chunk and
+     * a slow consumer holds back further reads. The result is weakly consistent: a task changed
+     * during the export may appear with either its old or new position.
+     *
+     * @param sortBy    the field to sort by (optional)
+     * @param priority  the task priority to filter by (optional)
+     * @param completed the completion status to filter by (optional)
+     * @param taskName  the task name to filter by (optional)
+     * @return the lazily read tasks
+     */
+    public Stream<Tasks> streamAll(String sortBy, String priority, Boolean completed, String taskName) {
+        TaskSort sort = TaskSort.fromParam(sortBy);
+        TaskPriority taskPriority = parsePriority(priority);
+        Function<TaskCursor, List<Tasks>> chunk = after -> store.find(
+                new TaskQuery(sort, after, taskPriority, completed, taskName, 0, STREAM_CHUNK_SIZE));
+        return Stream.iterate(chunk.apply(null), tasks -> !tasks.isEmpty(),
+                        tasks -> tasks.size() < STREAM_CHUNK_SIZE ? List.of() : chunk.apply(TaskCursor.after(sort, tasks.get(tasks.size() - 1))))
+                .flatMap(List::stream);
+    }
+
+    private TaskPriority parsePriority(String priority) {
+        // Resolve the priority filter if provided
+        if (priority == null) {
+            return null;
         }
+        try {
+            return TaskPriority.valueOf(priority.toUpperCase());
+        } catch (IllegalArgumentException e) {
+            logger.warn("Invalid priority filter: {}", priority);
+            throw new IllegalArgumentException("Invalid priority value: " + priority);
+        }
+    }
+
+    /**
+     * Searches tasks by partial name, ranked by relevance.
+     *
+     * @param query the partial task name
+     * @param limit the maximum number of tasks to return
+     * @return the matching tasks, most relevant first
+     */
+    public List<Tasks> search(String query, int limit) {
+        return searchTimer.record(() -> store.search(query, limit));
+    }
 
-        // Apply pagination to the stream
-        return taskStream
-                .skip(page * size)
-                .limit(size)
-                .collect(Collectors.toList());
+    /**
+     * Suggests task names starting with the given prefix.
+     *
+     * @param prefix the typed prefix
+     * @param limit  the maximum number of suggestions
+     * @return the suggested task names
+     */
+    public List<String> autocomplete(String prefix, int limit) {
+        return autocompleteTimer.record(() -> store.complete(prefix, limit));
     }
 
     /**
@@ -85,17 +269,15 @@ public class TaskRepository {
      * @param task the task to create
      */
     public void create(Tasks task) {
-        // Check if the task is null or already exists
-        if (task == null || findById(task.getId()).isPresent()) {
-            logger.warn("Attempted to create an invalid or existing task: {}", task);
-            throw new IllegalArgumentException("Task already exists or is invalid.");
-        }
-        // Increment the current ID and set it to the task
-        currentId++;
-        task.setId(currentId);
-        // Add the task to the list
-        tasks.add(task);
-        logger.info("Task created: {}", task);
+        createTimer.record(() -> {
+            // Check if the task is null or already exists
+            if (task == null || store.get(task.getId()).isPresent()) {
+                logger.warn("Attempted to create an invalid or existing task: {}", task);
+                throw new IllegalArgumentException("Task already exists or is invalid.");
+            }
+            // Allocate the next ID and store the task
+            durable(store.insert(task));
+        });
     }
 
     /**
@@ -105,8 +287,8 @@ public class TaskRepository {
      * @return an Optional containing the found task or empty if not found
      */
     public Optional<Tasks> findById(Integer id) {
-        // Find the task by ID in the list
-        return tasks.stream().filter(task -> task.getId().equals(id)).findFirst();
+        // Look the task up in the primary index
+        return findByIdTimer.record(() -> store.get(id));
     }
 
     /**
@@ -117,26 +299,23 @@ public class TaskRepository {
      * @return the updated task
      */
     public Tasks patchUpdate(Integer id, Tasks partialUpdate) {
+        return patchUpdate(id, partialUpdate, null);
+    }
+
+    /**
+     * Updates a task using partial data, provided it is still at the expected version.
+     *
+     * @param id              the ID of the task to update
+     * @param partialUpdate   the partial data to update the task with
+     * @param expectedVersion the version the caller last read (null to update unconditionally)
+     * @return the updated task
+     */
+    public Tasks patchUpdate(Integer id, Tasks partialUpdate, Long expectedVersion) {
         // Find the task by ID and update its fields if present
-        return findById(id).map(existingTask -> {
-            if (partialUpdate.getTaskName() != null) {
-                existingTask.setTaskName(partialUpdate.getTaskName());
-            }
-            if (partialUpdate.getTaskPriority() != null) {
-                existingTask.setTaskPriority(partialUpdate.getTaskPriority());
-            }
-            if (partialUpdate.getCompleted() != null) {
-                existingTask.setCompleted(partialUpdate.getCompleted());
-            }
-            if (partialUpdate.getTaskDueDate() != null) {
-                existingTask.setTaskDueDate(partialUpdate.getTaskDueDate());
-            }
-            logger.info("Task with ID {} updated successfully", id);
-            return existingTask;
-        }).orElseThrow(() -> {
+        return patchUpdateTimer.record(() -> durable(store.update(id, expect(id, expectedVersion, patch(partialUpdate)))).orElseThrow(() -> {
             logger.warn("Task with ID {} not found for update", id);
             return new EntityNotFoundException("Task with ID " + id + " not found for update", id);
-        });
+        }));
     }
 
     /**
@@ -146,17 +325,26 @@ public class TaskRepository {
      * @return an Optional containing the updated task or empty if not found
      */
     public Optional<Tasks> markAsDone(Integer id) {
+        return markAsDone(id, null);
+    }
+
+    /**
+     * Marks a task as completed, provided it is still at the expected version.
+     *
+     * @param id              the ID of the task to mark as completed
+     * @param expectedVersion the version the caller last read (null to update unconditionally)
+     * @return an Optional containing the updated task or empty if not found
+     */
+    public Optional<Tasks> markAsDone(Integer id, Long expectedVersion) {
         // Find the task by ID and mark it as completed if present
-        return findById(id).map(task -> {
+        return markAsDoneTimer.record(() -> durable(store.update(id, expect(id, expectedVersion, task -> {
             if (!task.getCompleted()) {
                 task.setCompleted(true);
-                logger.info("Task with ID {} marked as done", id);
             }
-            return task;
-        }).or(() -> {
+        }))).or(() -> {
             logger.warn("Task with ID {} not found for marking as done", id);
             throw new EntityNotFoundException("Task with ID " + id + " not found for marking as done", id);
-        });
+        }));
     }
 
     /**
@@ -166,17 +354,53 @@ public class TaskRepository {
      * @return an Optional containing the updated task or empty if not found
      */
     public Optional<Tasks> markAsUnDone(Integer id) {
+        return markAsUnDone(id, null);
+    }
+
+    /**
+     * Marks a task as not completed, provided it is still at the expected version.
+     *
+     * @param id              the ID of the task to mark as not completed
+     * @param expectedVersion the version the caller last read (null to update unconditionally)
+     * @return an Optional containing the updated task or empty if not found
+     */
+    public Optional<Tasks> markAsUnDone(Integer id, Long expectedVersion) {
         // Find the task by ID and mark it as not completed if present
-        return findById(id).map(task -> {
+        return markAsUnDoneTimer.record(() -> durable(store.update(id, expect(id, expectedVersion, task -> {
             if (task.getCompleted()) {
                 task.setCompleted(false);
-                logger.info("Task with ID {} marked as undone", id);
             }
-            return task;
-        }).or(() -> {
+        }))).or(() -> {
             logger.warn("Task with ID {} not found for marking as undone", id);
             throw new EntityNotFoundException("Task with ID " + id + " not found for marking as undone", id);
-        });
+        }));
+    }
+
+    /**
+     * Returns the hit, miss, eviction and invalidation counters of the findAll cache.
+     *
+     * @return the cache statistics
+     */
+    public QueryCacheStats getQueryCacheStats() {
+        return queryCache.stats();
+    }
+
+    /**
+     * Returns the store version, which changes with every mutation of any task.
+     *
+     * @return the store version
+     */
+    public long getVersion() {
+        return store.version();
+    }
+
+    /**
+     * Registers a listener notified of every task mutation, in commit order.
+     *
+     * @param listener the listener to notify
+     */
+    public void addMutationListener(TaskMutationListener listener) {
+        store.addListener(listener);
     }
 
     /**
@@ -185,12 +409,8 @@ public class TaskRepository {
      * @return the average completion time in minutes
      */
     public double getAverageCompletionTime() {
-        // Calculate the average completion time of completed tasks
-        return tasks.stream()
-                .filter(Tasks::getCompleted)
-                .mapToDouble(task -> Math.floor(Duration.between(task.getCreationDate(), task.getDoneDate()).toMinutes()))
-                .average()
-                .orElse(0.0);
+        // Read the running aggregate kept up to date by every mutation
+        return completionStatsTimer.record(store::averageCompletionTime);
     }
 
     /**
@@ -199,13 +419,17 @@ public class TaskRepository {
      * @return a map with the task priority and its average completion time
      */
     public Map<TaskPriority, Double> getAverageCompletionTimePerPriority() {
-        // Calculate the average completion time per priority for completed tasks
-        return tasks.stream()
-                .filter(Tasks::getCompleted)
-                .collect(Collectors.groupingBy(
-                        Tasks::getTaskPriority,
-                        Collectors.averagingDouble(task -> Math.floor(Duration.between(task.getCreationDate(), task.getDoneDate()).toMinutes()))
-                ));
+        // Read the running per-priority aggregates kept up to date by every mutation
+        return completionStatsTimer.record(store::averageCompletionTimePerPriority);
+    }
+
+    /**
+     * Returns completion time percentiles and histograms, overall and per priority.
+     *
+     * @return the completion time distribution in minutes
+     */
+    public CompletionTimeReport getCompletionTimeDistribution() {
+        return completionStatsTimer.record(store::completionTimeDistribution);
     }
 
     /**
@@ -215,29 +439,145 @@ public class TaskRepository {
      * @return true if the task was deleted successfully, false otherwise
      */
     public boolean delete(Integer id) {
-        // Remove the task by ID from the list
-        boolean removed = tasks.removeIf(task -> task.getId().equals(id));
-        if (!removed) {
-            logger.warn("Task with ID {} not found for deletion", id);
-            throw new EntityNotFoundException("Task with ID " + id + " not found for deletion", id);
+        return deleteTimer.record(() -> {
+            // Remove the task by ID from the primary index
+            boolean removed = durable(store.remove(id)).isPresent();
+            if (!removed) {
+                logger.warn("Task with ID {} not found for deletion", id);
+                throw new EntityNotFoundException("Task with ID " + id + " not found for deletion", id);
+            }
+            return true;
+        });
+    }
+
+    /**
+     * Creates several tasks as one batch: one lock acquisition, one ID range and one durable write.
+     *
+     * @param tasks the validated tasks to create
+     * @return the created tasks, with their assigned IDs
+     */
+    public List<Tasks> createAll(List<Tasks> tasks) {
+        List<Tasks> created = createAllTimer.record(() -> durable(store.insertAll(tasks)));
+        logger.info("Created {} tasks in bulk", created.size());
+        return created;
+    }
+
+    /**
+     * Updates several tasks using partial data, as one batch.
+     *
+     * @param partialUpdates the partial data, each carrying the ID of the task to update
+     * @return for each partial update, an Optional containing the updated task or empty if not found
+     */
+    public List<Optional<Tasks>> patchUpdateAll(List<Tasks> partialUpdates) {
+        List<Integer> ids = new ArrayList<>(partialUpdates.size());
+        List<Consumer<Tasks>> mutators = new ArrayList<>(partialUpdates.size());
+        for (Tasks partialUpdate : partialUpdates) {
+            ids.add(partialUpdate.getId());
+            mutators.add(patch(partialUpdate));
         }
-        logger.info("Task with ID {} deleted successfully", id);
-        return true;
+        List<Optional<Tasks>> updated = patchUpdateAllTimer.record(() -> durable(store.updateAll(ids, mutators)));
+        logger.info("Updated {} of {} tasks in bulk", updated.stream().filter(Optional::isPresent).count(), ids.size());
+        return updated;
     }
 
     /**
-     * Initializes the repository with sample data.
+     * Deletes several tasks by their IDs, as one batch.
+     *
+     * @param ids the IDs of the tasks to delete
+     * @return for each ID, true if the task was deleted or false if it was not found
+     */
+    public List<Boolean> deleteAll(List<Integer> ids) {
+        List<Boolean> deleted = deleteAllTimer.record(() -> durable(store.removeAll(ids)).stream().map(Optional::isPresent).toList());
+        logger.info("Deleted {} of {} tasks in bulk", deleted.stream().filter(Boolean::booleanValue).count(), ids.size());
+        return deleted;
+    }
+
+    /**
+     * Initializes the repository, recovering persisted tasks when a data directory is
+     * configured, and adds sample data if the repository is empty.
+     *
+     * @throws IllegalStateException if a data directory is configured for an engine that cannot
+     *                               persist to it
      */
     @PostConstruct
     public void init() {
-        // Add a sample task to the list
-        tasks.add(new Tasks(
-                ++currentId,
+        // Mapped mode keeps its own files there; no other engine can be made durable with the log
+        if (storageProperties.getDataDir() != null && !(store instanceof InMemoryTaskStore)
+                && !(store instanceof MappedTaskStore)) {
+            throw new IllegalStateException("todo.storage.data-dir is only supported by the memory and mapped "
+                    + "storage modes, not by " + store.getClass().getSimpleName());
+        }
+        if (storageProperties.getDataDir() != null && writeAheadLog == null && store instanceof InMemoryTaskStore memoryStore) {
+            writeAheadLog = new TaskWriteAheadLog(Path.of(storageProperties.getDataDir()), memoryStore, storageProperties.getSnapshotEvery());
+            try {
+                writeAheadLog.open();
+            } catch (IOException e) {
+                throw new UncheckedIOException("Could not recover tasks from " + storageProperties.getDataDir(), e);
+            }
+        }
+        if (store.size() > 0) {
+            return;
+        }
+        // Add a sample task to the store
+        durable(store.insert(new Tasks(
+                null,
                 "Do a to-do list",
                 TaskPriority.HIGH,
                 false,
                 LocalDate.now()
-        ));
+        )));
         logger.info("Initialized Task Repository with sample data.");
     }
+
+    /**
+     * Flushes and closes the write-ahead log, if any.
+     *
+     * @throws IOException if the log cannot be closed
+     */
+    @PreDestroy
+    public void close() throws IOException {
+        if (writeAheadLog != null) {
+            writeAheadLog.close();
+        }
+    }
+
+    // Checks the version inside the store's update, so no other writer can slip in between
+    private static Consumer<Tasks> expect(Integer id, Long expectedVersion, Consumer<Tasks> mutator) {
+        if (expectedVersion == null) {
+            return mutator;
+        }
+        return task -> {
+            if (task.getVersion() != expectedVersion) {
+                logger.warn("Task with ID {} is at version {}, expected {}", id, task.getVersion(), expectedVersion);
+                throw new PreconditionFailedException("Task with ID " + id + " has been modified", id);
+            }
+            mutator.accept(task);
+        };
+    }
+
+    // Copies the non-null fields of a partial update onto the stored task
+    private static Consumer<Tasks> patch(Tasks partialUpdate) {
+        return existingTask -> {
+            if (partialUpdate.getTaskName() != null) {
+                existingTask.setTaskName(partialUpdate.getTaskName());
+            }
+            if (partialUpdate.getTaskPriority() != null) {
+                existingTask.setTaskPriority(partialUpdate.getTaskPriority());
+            }
+            if (partialUpdate.getCompleted() != null) {
+                existingTask.setCompleted(partialUpdate.getCompleted());
+            }
+            if (partialUpdate.getTaskDueDate() != null) {
+                existingTask.setTaskDueDate(partialUpdate.getTaskDueDate());
+            }
+        };
+    }
+
+    // Waits until the mutation that produced the result is durable, when persistence is on
+    private <T> T durable(T result) {
+        if (writeAheadLog != null) {
+            writeAheadLog.sync();
+        }
+        return result;
+    }
 }
\ No newline at end of file
@@ -0,0 +1,23 @@
+package com.toDoList.services;
+
+/**
+ * Orderings supported by the task store's sorted indexes.
+ */
+public enum TaskSort {
+    ID, PRIORITY, DUE_DATE;
+
+    /**
+     * Resolves the sortBy request parameter. Unknown or missing values keep creation order.
+     *
+     * @param sortBy the field to sort by (optional)
+     * @return the matching sort order
+     */
+    public static TaskSort fromParam(String sortBy) {
+        if ("priority".equalsIgnoreCase(sortBy)) {
+            return PRIORITY;
+        } else if ("taskDueDate".equalsIgnoreCase(sortBy)) {
+            return DUE_DATE;
+        }
+        return ID;
+    }
+}
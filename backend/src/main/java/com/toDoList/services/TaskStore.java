@@ -0,0 +1,178 @@
+package com.toDoList.services;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import com.toDoList.TaskPriority;
+import com.toDoList.models.CompletionTimeReport;
+import com.toDoList.models.Tasks;
+
+/**
+ * Storage engine behind {@link TaskRepository}, selected with the todo.storage.mode property:
+ * {@link InMemoryTaskStore} by default, or {@link JdbcTaskStore} for datasets larger than the heap.
+ */
+public interface TaskStore {
+
+    /**
+     * Allocates the next id, assigns it to the task and stores it.
+     *
+     * @param task the task to store
+     * @return the stored task
+     */
+    Tasks insert(Tasks task);
+
+    /**
+     * Stores several new tasks as one batch, assigning them consecutive ids.
+     *
+     * @param tasks the tasks to store
+     * @return the stored tasks
+     */
+    List<Tasks> insertAll(List<Tasks> tasks);
+
+    /**
+     * Looks up a task by its ID.
+     *
+     * @param id the ID of the task
+     * @return an Optional containing the task or empty if not found
+     */
+    Optional<Tasks> get(Integer id);
+
+    /**
+     * Applies a change to a stored task and saves it, atomically with respect to other writers.
+     *
+     * @param id      the ID of the task
+     * @param mutator the change to apply
+     * @return an Optional containing the updated task or empty if not found
+     */
+    Optional<Tasks> update(Integer id, Consumer<Tasks> mutator);
+
+    /**
+     * Applies changes to several stored tasks as one batch.
+     *
+     * @param ids      the IDs of the tasks
+     * @param mutators the change to apply to the task at the same position in ids
+     * @return for each ID, an Optional containing the updated task or empty if not found
+     */
+    List<Optional<Tasks>> updateAll(List<Integer> ids, List<Consumer<Tasks>> mutators);
+
+    /**
+     * Removes a task by its ID.
+     *
+     * @param id the ID of the task
+     * @return an Optional containing the removed task or empty if not found
+     */
+    Optional<Tasks> remove(Integer id);
+
+    /**
+     * Removes several tasks as one batch.
+     *
+     * @param ids the IDs of the tasks
+     * @return for each ID, an Optional containing the removed task or empty if not found
+     */
+    List<Optional<Tasks>> removeAll(List<Integer> ids);
+
+    /**
+     * Returns a counter bumped by every mutation of the store, so that an unchanged value means
+     * unchanged contents. Each task's own counter is available from {@link Tasks#getVersion()}.
+     *
+     * @return the store version
+     */
+    long version();
+
+    /**
+     * Runs a read-only query, handing the matching tasks to the reader as a stream that is
+     * only valid until the reader returns.
+     *
+     * @param query  the filters, order and window of tasks to read
+     * @param reader the code consuming the matching tasks
+     * @return the reader's result
+     */
+    <R> R select(TaskQuery query, Function<Stream<Tasks>, R> reader);
+
+    /**
+     * Returns the tasks matching a query.
+     *
+     * @param query the filters, order and window of tasks to read
+     * @return the matching tasks
+     */
+    default List<Tasks> find(TaskQuery query) {
+        return select(query, tasks -> tasks.collect(Collectors.toList()));
+    }
+
+    /**
+     * Finds the tasks whose name contains the query, most relevant first.
+     *
+     * @param query the partial task name
+     * @param limit the maximum number of tasks to return
+     * @return the matching tasks
+     */
+    List<Tasks> search(String query, int limit);
+
+    /**
+     * Suggests distinct task names starting with the prefix, in alphabetical order.
+     *
+     * @param prefix the typed prefix
+     * @param limit  the maximum number of suggestions
+     * @return the suggested task names
+     */
+    List<String> complete(String prefix, int limit);
+
+    /**
+     * Returns the average completion time of all completed tasks.
+     *
+     * @return the average completion time in minutes, or 0 when none are completed
+     */
+    double averageCompletionTime();
+
+    /**
+     * Returns the average completion time per priority.
+     *
+     * @return the average completion time in minutes for each priority with completed tasks
+     */
+    Map<TaskPriority, Double> averageCompletionTimePerPriority();
+
+    /**
+     * Returns completion time percentiles and histograms, overall and per priority.
+     *
+     * @return the completion time distribution
+     */
+    CompletionTimeReport completionTimeDistribution();
+
+    /**
+     * Returns the tasks due within the given range, in due date order.
+     *
+     * @param from the first due date, inclusive
+     * @param to   the last due date, inclusive
+     * @return the matching tasks
+     */
+    List<Tasks> findDueBetween(LocalDate from, LocalDate to);
+
+    /**
+     * Registers a listener notified of every mutation.
+     *
+     * @param listener the listener to add
+     */
+    void addListener(TaskMutationListener listener);
+
+    /**
+     * Returns the number of stored tasks.
+     *
+     * @return the task count
+     */
+    int size();
+
+    /**
+     * Returns the number of tasks with the given priority and completion state.
+     *
+     * @param priority  the task priority
+     * @param completed the completion state
+     * @return the task count
+     */
+    int count(TaskPriority priority, boolean completed);
+}
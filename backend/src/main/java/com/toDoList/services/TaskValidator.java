@@ -0,0 +1,51 @@
+package com.toDoList.services;
+
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import org.springframework.stereotype.Component;
+
+import com.toDoList.models.Tasks;
+
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+
+/**
+ * Runs the same bean-validation constraints as {@code @Valid} on a single task, for requests
+ * that carry many tasks and report violations per item instead of rejecting the whole body.
+ * Thread-safe.
+ */
+@Component
+public class TaskValidator {
+
+    private final Validator validator;
+
+    /**
+     * Constructor to inject the bean validator.
+     *
+     * @param validator the bean validator
+     */
+    public TaskValidator(Validator validator) {
+        this.validator = validator;
+    }
+
+    /**
+     * Validates a task.
+     *
+     * @param task the task to validate
+     * @return the violations as "field: message" pairs, or null if the task is valid
+     */
+    public String violations(Tasks task) {
+        if (task == null) {
+            return "task: must not be null";
+        }
+        Set<ConstraintViolation<Tasks>> violations = validator.validate(task);
+        if (violations.isEmpty()) {
+            return null;
+        }
+        return violations.stream()
+                .map(violation -> violation.getPropertyPath() + ": " + violation.getMessage())
+                .sorted()
+                .collect(Collectors.joining(", "));
+    }
+}
@@ -0,0 +1,444 @@
+package com.toDoList.services;
+
+import java.io.BufferedInputStream;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayDeque;
+import java.util.Iterator;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.stream.Stream;
+import java.util.zip.CRC32;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.toDoList.models.Tasks;
+
+/**
+ * Durable, append-only log of task mutations plus periodic compact snapshots.
+ * Mutations are framed and queued while the store's write lock is held, so the log order
+ * matches the apply order. A single writer thread drains everything queued since its last
+ * flush into one gathering write followed by one fsync (group commit), and request threads
+ * only wait for the batch holding their record. On startup the latest snapshot is loaded
+ * and the log tail replayed; a torn record at the end of the log is truncated away.
+ * Snapshots copy the store under its read lock but are written outside it, and the writer
+ * thread then drops the log records they cover. Records are whole task states applied in
+ * order, so replaying some the snapshot already holds, after a crash in between, is harmless.
+ */
+public class TaskWriteAheadLog implements TaskMutationListener, AutoCloseable {
+
+    private static final Logger logger = LoggerFactory.getLogger(TaskWriteAheadLog.class);
+    static final String LOG_FILE = "tasks.wal";
+    static final String SNAPSHOT_FILE = "tasks.snapshot";
+    private static final int SNAPSHOT_MAGIC = 0x54534E50;
+    private static final byte OP_PUT = 1;
+    private static final byte OP_DELETE = 2;
+    private static final int HEADER_BYTES = Integer.BYTES * 2;
+
+    private final Path directory;
+    private final InMemoryTaskStore store;
+    private final int snapshotEvery;
+    private FileChannel channel;
+    // Log position of the first byte of the file, only touched by the writer thread
+    private long fileStart;
+
+    // Guards the queue and sequence numbers shared with the writer thread
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Condition pending = lock.newCondition();
+    private final Condition flushed = lock.newCondition();
+    private final ArrayDeque<ByteBuffer> queue = new ArrayDeque<>();
+    private long enqueuedSeq;
+    private long flushedSeq;
+    // Log positions count bytes appended since the log was created, not offsets in the file
+    private long enqueuedBytes;
+    private long truncateTo = -1;
+    private long truncatedTo;
+    private long recordsSinceSnapshot;
+    private IOException failure;
+    private boolean closed;
+    // Set once the writer thread has drained its queue after close
+    private boolean stopped;
+
+    private Thread writer;
+    private final ExecutorService snapshotter = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "task-wal-snapshot");
+        thread.setDaemon(true);
+        return thread;
+    });
+    private final AtomicBoolean snapshotScheduled = new AtomicBoolean();
+
+    /**
+     * Creates a log for the given store.
+     *
+     * @param directory     the directory holding the log and snapshot files
+     * @param store         the store to recover into and snapshot
+     * @param snapshotEvery the number of logged mutations after which a snapshot is taken
+     */
+    public TaskWriteAheadLog(Path directory, InMemoryTaskStore store, int snapshotEvery) {
+        this.directory = directory;
+        this.store = store;
+        this.snapshotEvery = snapshotEvery;
+    }
+
+    /**
+     * Recovers the store from disk, then starts logging its mutations.
+     *
+     * @throws IOException if the files cannot be read or opened
+     */
+    public void open() throws IOException {
+        Files.createDirectories(directory);
+        loadSnapshot();
+        long replayed = replayLog();
+        channel = FileChannel.open(directory.resolve(LOG_FILE),
+                StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.APPEND);
+        recordsSinceSnapshot = replayed;
+        enqueuedBytes = channel.size();
+        writer = new Thread(this::writeLoop, "task-wal-writer");
+        writer.setDaemon(true);
+        writer.start();
+        store.addListener(this);
+        logger.info("Recovered {} tasks from {} ({} log records replayed)", store.size(), directory, replayed);
+    }
+
+    @Override
+    public void onMutation(TaskMutation mutation) {
+        ByteBuffer record = frame(mutation);
+        boolean snapshotDue;
+        lock.lock();
+        try {
+            if (closed) {
+                // The writer may already have drained its queue and exited
+                throw new IllegalStateException("Write-ahead log is closed");
+            }
+            queue.add(record);
+            enqueuedSeq++;
+            enqueuedBytes += record.remaining();
+            recordsSinceSnapshot++;
+            snapshotDue = recordsSinceSnapshot >= snapshotEvery;
+            pending.signal();
+        } finally {
+            lock.unlock();
+        }
+        if (snapshotDue && snapshotScheduled.compareAndSet(false, true)) {
+            snapshotter.execute(this::snapshotQuietly);
+        }
+    }
+
+    /**
+     * Blocks until every mutation logged so far, including the caller's, is on disk.
+     *
+     * @throws IllegalStateException if the log was closed before they could be written
+     */
+    public void sync() {
+        lock.lock();
+        try {
+            long target = enqueuedSeq;
+            while (flushedSeq < target && failure == null && !stopped) {
+                flushed.awaitUninterruptibly();
+            }
+            if (failure != null) {
+                throw new UncheckedIOException("Write-ahead log is unavailable", failure);
+            }
+            if (flushedSeq < target) {
+                throw new IllegalStateException("Write-ahead log is closed");
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Writes a snapshot of the whole store and truncates the log up to it. The tasks and the
+     * log position are captured under the store's read lock, so they match exactly, and the
+     * snapshot is written and forced to disk after writers are let back in.
+     *
+     * @throws IOException if the snapshot cannot be written or the log truncated
+     */
+    public void snapshot() throws IOException {
+        Capture capture;
+        try {
+            capture = store.select(TaskQuery.all(), this::capture);
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+        writeSnapshot(capture);
+        lock.lock();
+        try {
+            if (closed) {
+                // The writer may be gone; the log is kept whole and replays harmlessly
+                return;
+            }
+            if (truncatedTo < capture.logPosition()) {
+                truncateTo = Math.max(truncateTo, capture.logPosition());
+                pending.signal();
+            }
+            while (truncatedTo < capture.logPosition() && failure == null) {
+                flushed.awaitUninterruptibly();
+            }
+            if (failure != null) {
+                throw new IOException("Write-ahead log is unavailable", failure);
+            }
+            recordsSinceSnapshot = enqueuedSeq - capture.sequence();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        lock.lock();
+        try {
+            closed = true;
+            pending.signalAll();
+        } finally {
+            lock.unlock();
+        }
+        snapshotter.shutdown();
+        try {
+            writer.join();
+            snapshotter.awaitTermination(30, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        channel.close();
+    }
+
+    private void writeLoop() {
+        while (true) {
+            ByteBuffer[] batch;
+            long batchEnd;
+            long truncation;
+            lock.lock();
+            try {
+                while (queue.isEmpty() && truncateTo < 0 && !closed) {
+                    pending.awaitUninterruptibly();
+                }
+                if (queue.isEmpty() && truncateTo < 0) {
+                    stopped = true;
+                    flushed.signalAll();
+                    return;
+                }
+                batch = queue.toArray(new ByteBuffer[0]);
+                queue.clear();
+                batchEnd = enqueuedSeq;
+                // Everything up to the requested position was queued before the request
+                truncation = truncateTo;
+                truncateTo = -1;
+            } finally {
+                lock.unlock();
+            }
+
+            IOException error = null;
+            try {
+                long remaining = 0;
+                for (ByteBuffer buffer : batch) {
+                    remaining += buffer.remaining();
+                }
+                while (remaining > 0) {
+                    remaining -= channel.write(batch);
+                }
+                channel.force(false);
+                if (truncation >= 0) {
+                    truncateLog(truncation);
+                }
+            } catch (IOException e) {
+                logger.error("Failed to write the task write-ahead log: {}", e.getMessage(), e);
+                error = e;
+            }
+
+            lock.lock();
+            try {
+                if (error != null) {
+                    failure = error;
+                } else {
+                    flushedSeq = batchEnd;
+                    truncatedTo = Math.max(truncatedTo, truncation);
+                }
+                flushed.signalAll();
+            } finally {
+                lock.unlock();
+            }
+            if (error != null) {
+                return;
+            }
+        }
+    }
+
+    private void snapshotQuietly() {
+        try {
+            snapshot();
+            logger.info("Wrote task snapshot to {}", directory);
+        } catch (IOException | RuntimeException e) {
+            logger.error("Failed to write task snapshot: {}", e.getMessage(), e);
+        } finally {
+            snapshotScheduled.set(false);
+        }
+    }
+
+    private static ByteBuffer frame(TaskMutation mutation) {
+        ByteArrayOutputStream body = new ByteArrayOutputStream(64);
+        try (DataOutputStream out = new DataOutputStream(body)) {
+            if (mutation.type() == TaskMutation.Type.DELETED) {
+                out.writeByte(OP_DELETE);
+                out.writeInt(mutation.task().getId());
+            } else {
+                out.writeByte(OP_PUT);
+                TaskCodec.write(out, mutation.task());
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        byte[] bytes = body.toByteArray();
+        CRC32 crc = new CRC32();
+        crc.update(bytes);
+        ByteBuffer record = ByteBuffer.allocate(HEADER_BYTES + bytes.length);
+        record.putInt(bytes.length).putInt((int) crc.getValue()).put(bytes).flip();
+        return record;
+    }
+
+    // Runs under the store's read lock: encodes the tasks in memory and reads the log position
+    private Capture capture(Stream<Tasks> tasks) {
+        ByteArrayOutputStream body = new ByteArrayOutputStream(1 << 16);
+        try (DataOutputStream out = new DataOutputStream(body)) {
+            Iterator<Tasks> iterator = tasks.iterator();
+            while (iterator.hasNext()) {
+                out.writeBoolean(true);
+                TaskCodec.write(out, iterator.next());
+            }
+            out.writeBoolean(false);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        lock.lock();
+        try {
+            return new Capture(store.currentId(), body.toByteArray(), enqueuedSeq, enqueuedBytes);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void writeSnapshot(Capture capture) throws IOException {
+        Path temporary = directory.resolve(SNAPSHOT_FILE + ".tmp");
+        try (FileChannel snapshotChannel = FileChannel.open(temporary,
+                StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+            ByteBuffer header = ByteBuffer.allocate(Integer.BYTES * 2).putInt(SNAPSHOT_MAGIC).putInt(capture.currentId()).flip();
+            ByteBuffer[] buffers = { header, ByteBuffer.wrap(capture.tasks()) };
+            long remaining = header.remaining() + capture.tasks().length;
+            while (remaining > 0) {
+                remaining -= snapshotChannel.write(buffers);
+            }
+            snapshotChannel.force(true);
+        }
+        Files.move(temporary, directory.resolve(SNAPSHOT_FILE), StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    // Runs on the writer thread: copies the records after the position to a new log file and swaps it in
+    private void truncateLog(long position) throws IOException {
+        if (position <= fileStart) {
+            return;
+        }
+        Path log = directory.resolve(LOG_FILE);
+        Path temporary = directory.resolve(LOG_FILE + ".tmp");
+        try (FileChannel source = FileChannel.open(log, StandardOpenOption.READ);
+                FileChannel tail = FileChannel.open(temporary,
+                        StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+            long offset = position - fileStart;
+            long size = source.size();
+            while (offset < size) {
+                offset += source.transferTo(offset, size - offset, tail);
+            }
+            tail.force(true);
+        }
+        Files.move(temporary, log, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        channel.close();
+        channel = FileChannel.open(log, StandardOpenOption.WRITE, StandardOpenOption.APPEND);
+        fileStart = position;
+    }
+
+    private void loadSnapshot() throws IOException {
+        Path snapshot = directory.resolve(SNAPSHOT_FILE);
+        if (!Files.exists(snapshot)) {
+            return;
+        }
+        try (FileChannel snapshotChannel = FileChannel.open(snapshot, StandardOpenOption.READ)) {
+            DataInputStream in = new DataInputStream(new BufferedInputStream(Channels.newInputStream(snapshotChannel), 1 << 16));
+            if (in.readInt() != SNAPSHOT_MAGIC) {
+                throw new IOException("Not a task snapshot: " + snapshot);
+            }
+            store.advanceCurrentId(in.readInt());
+            while (in.readBoolean()) {
+                store.restore(TaskCodec.read(in));
+            }
+        }
+    }
+
+    private long replayLog() throws IOException {
+        Path log = directory.resolve(LOG_FILE);
+        if (!Files.exists(log)) {
+            return 0;
+        }
+        long replayed = 0;
+        long validBytes = 0;
+        try (FileChannel logChannel = FileChannel.open(log, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            DataInputStream in = new DataInputStream(new BufferedInputStream(Channels.newInputStream(logChannel), 1 << 16));
+            while (true) {
+                byte[] body;
+                try {
+                    int length = in.readInt();
+                    int checksum = in.readInt();
+                    if (length < 0 || length > logChannel.size() - validBytes - HEADER_BYTES) {
+                        break;
+                    }
+                    body = new byte[length];
+                    in.readFully(body);
+                    CRC32 crc = new CRC32();
+                    crc.update(body);
+                    if ((int) crc.getValue() != checksum) {
+                        break;
+                    }
+                } catch (EOFException e) {
+                    break;
+                }
+                apply(body);
+                validBytes += HEADER_BYTES + body.length;
+                replayed++;
+            }
+            if (validBytes < logChannel.size()) {
+                logger.warn("Truncating torn write-ahead log tail at byte {}", validBytes);
+                logChannel.truncate(validBytes);
+                logChannel.force(true);
+            }
+        }
+        return replayed;
+    }
+
+    private void apply(byte[] body) throws IOException {
+        DataInputStream in = new DataInputStream(new ByteArrayInputStream(body));
+        byte op = in.readByte();
+        if (op == OP_DELETE) {
+            store.restoreRemoval(in.readInt());
+        } else {
+            store.restore(TaskCodec.read(in));
+        }
+    }
+
+    private record Capture(int currentId, byte[] tasks, long sequence, long logPosition) {
+    }
+}
@@ -0,0 +1,91 @@
+package com.toDoList;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import org.junit.jupiter.api.Test;
+
+import com.toDoList.models.Tasks;
+import com.toDoList.services.ColumnarTaskStore;
+import com.toDoList.services.TaskRepository;
+
+class ColumnarTaskRepositoryTest extends TaskStoreContractTest<ColumnarTaskStore> {
+
+    @Override
+    protected ColumnarTaskStore newStore() {
+        return new ColumnarTaskStore();
+    }
+
+    @Test
+    void givenDueDateBeyondEpochDayRange_whenInsertingOrUpdating_thenNothingIsWritten() {
+        // Given
+        List<Integer> idsBefore = ids(repository.findAll(0, 100, null, null, null, null, null));
+        int sizeBefore = store.size();
+        int[] countsBefore = counts(store);
+        Tasks farFuture = new Tasks(null, "Far future", TaskPriority.HIGH, false, LocalDate.MAX);
+
+        // When
+        assertThrows(IllegalArgumentException.class, () -> repository.create(farFuture));
+        assertThrows(IllegalArgumentException.class, () -> repository.createAll(List.of(
+                new Tasks(null, "Fits", TaskPriority.LOW, false), new Tasks(null, "Far future", TaskPriority.LOW, false, LocalDate.MAX))));
+        assertThrows(IllegalArgumentException.class,
+                () -> repository.patchUpdate(7, new Tasks(null, "Renamed", null, null, LocalDate.MAX)));
+
+        // Then: no ghost task, no drifted count, and the updated task is unchanged
+        assertEquals(sizeBefore, store.size());
+        assertEquals(idsBefore, ids(repository.findAll(0, 100, null, null, null, null, null)));
+        assertArrayEquals(countsBefore, counts(store));
+        assertEquals(memoryRepository.findById(7).orElseThrow().getTaskName(), repository.findById(7).orElseThrow().getTaskName());
+        assertEquals(memoryRepository.findById(7).orElseThrow().getTaskDueDate(), repository.findById(7).orElseThrow().getTaskDueDate());
+    }
+
+    @Test
+    void givenManyInterleavedChanges_whenSortedByDueDate_thenStoreMatchesInMemoryStore() {
+        // Given: a bulk insert, then enough single changes to merge the pending ones several times
+        List<Tasks> batch = new ArrayList<>();
+        for (int i = 0; i < 1500; i++) {
+            batch.add(new Tasks(null, "Bulk " + i, TaskPriority.MEDIUM, false, i % 9 == 0 ? null : LocalDate.of(2031, 1, 1).plusDays(i % 50)));
+        }
+        repository.createAll(batch.stream().map(ColumnarTaskRepositoryTest::copy).toList());
+        memoryRepository.createAll(batch.stream().map(ColumnarTaskRepositoryTest::copy).toList());
+
+        // When
+        Random random = new Random(42);
+        for (int i = 0; i < 6000; i++) {
+            int id = 1 + random.nextInt(1540);
+            int operation = memoryRepository.findById(id).isPresent() ? random.nextInt(10) : 8 + random.nextInt(2);
+            LocalDate dueDate = LocalDate.of(2031, 1, 1).plusDays(random.nextInt(60));
+            for (TaskRepository engine : List.of(repository, memoryRepository)) {
+                if (operation < 6) {
+                    engine.patchUpdate(id, new Tasks(null, null, null, null, dueDate));
+                } else if (operation < 8) {
+                    engine.delete(id);
+                } else {
+                    engine.create(new Tasks(null, "Single " + i, TaskPriority.LOW, false, operation == 8 ? dueDate : null));
+                }
+            }
+        }
+
+        // Then
+        assertEquals(memoryStore.size(), store.size());
+        assertSameIds(memoryRepository.findAll(0, 10000, "taskDueDate", null, null, null, null),
+                repository.findAll(0, 10000, "taskDueDate", null, null, null, null));
+        assertSameIds(memoryRepository.findAll(3, 25, "taskDueDate", null, null, false, null),
+                repository.findAll(3, 25, "taskDueDate", null, null, false, null));
+        assertSameIds(memoryStore.findDueBetween(LocalDate.of(2031, 1, 10), LocalDate.of(2031, 1, 20)),
+                store.findDueBetween(LocalDate.of(2031, 1, 10), LocalDate.of(2031, 1, 20)));
+    }
+
+    private static Tasks copy(Tasks task) {
+        return new Tasks(null, task.getTaskName(), task.getTaskPriority(), task.getCompleted(), task.getTaskDueDate());
+    }
+
+    private static List<Integer> ids(List<Tasks> tasks) {
+        return tasks.stream().map(Tasks::getId).toList();
+    }
+}
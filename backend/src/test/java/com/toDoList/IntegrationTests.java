@@ -1,8 +1,11 @@
 package com.toDoList;
 
 import java.time.LocalDate;
+import java.util.List;
 
 import static org.hamcrest.Matchers.greaterThan;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -10,21 +13,31 @@ import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMock
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.patch;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.toDoList.config.JacksonConfig;
 import com.toDoList.models.Tasks;
+import com.toDoList.services.TaskJsonCache;
 import com.toDoList.services.TaskRepository;
 
 @SpringBootTest
 @AutoConfigureMockMvc
 class IntegrationTests {
 
+    private static final MediaType CBOR = MediaType.parseMediaType("application/cbor");
+    private static final MediaType SMILE = MediaType.parseMediaType("application/x-jackson-smile");
+
     @Autowired
     private MockMvc mockMvc; 
 
@@ -34,6 +47,9 @@ class IntegrationTests {
     @Autowired
     private ObjectMapper objectMapper; 
 
+    @Autowired
+    private TaskJsonCache taskJsonCache;
+
     @BeforeEach
     void setUp() {
         taskRepository.init();
@@ -46,6 +62,24 @@ class IntegrationTests {
                 .andExpect(jsonPath("$.length()", greaterThan(0)));
     }
 
+    @Test
+    void givenTasks_whenGetAllWithCursor_thenNextCursorHeaderIsReturned() throws Exception {
+        taskRepository.create(new Tasks(null, "Cursor Task", TaskPriority.LOW, false, LocalDate.now()));
+
+        String nextCursor = mockMvc.perform(get("/todos").param("cursor", "").param("size", "1"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(1))
+                .andExpect(header().exists("X-Next-Cursor"))
+                .andReturn().getResponse().getHeader("X-Next-Cursor");
+
+        mockMvc.perform(get("/todos").param("cursor", nextCursor).param("size", "1"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(1));
+
+        mockMvc.perform(get("/todos").param("cursor", "garbage"))
+                .andExpect(status().isBadRequest());
+    }
+
     @Test
     void givenTask_whenCreate_thenTaskIsCreated() throws Exception {
         Tasks task = new Tasks(null, "New Integration Task", TaskPriority.MEDIUM, false, LocalDate.now());
@@ -56,6 +90,34 @@ class IntegrationTests {
                 .andExpect(status().isCreated());
     }
 
+    @Test
+    void givenCborTask_whenCreateAndGetAsSmile_thenTaskRoundTrips() throws Exception {
+        // Given
+        JacksonConfig jacksonConfig = new JacksonConfig();
+        Tasks task = new Tasks(null, "Binary Task", TaskPriority.HIGH, false, LocalDate.of(2030, 5, 17));
+        String location = mockMvc.perform(post("/todos")
+                .contentType(CBOR)
+                .content(jacksonConfig.cborMapper().writeValueAsBytes(task)))
+                .andExpect(status().isCreated())
+                .andReturn().getResponse().getHeader("Location");
+
+        // When
+        byte[] body = mockMvc.perform(get(location).accept(SMILE))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(SMILE))
+                .andReturn().getResponse().getContentAsByteArray();
+
+        // Then
+        Tasks found = jacksonConfig.smileMapper().readValue(body, Tasks.class);
+        assertEquals("Binary Task", found.getTaskName());
+        assertEquals(TaskPriority.HIGH, found.getTaskPriority());
+        assertEquals(LocalDate.of(2030, 5, 17), found.getTaskDueDate());
+        mockMvc.perform(get(location).accept(CBOR))
+                .andExpect(content().contentType(CBOR));
+        mockMvc.perform(get(location))
+                .andExpect(jsonPath("$.taskDueDate").value("2030-05-17"));
+    }
+
     @Test
     void givenExistingTask_whenGetById_thenReturnTask() throws Exception {
         Tasks task = new Tasks(null, "Find Me", TaskPriority.LOW, false, LocalDate.now());
@@ -66,6 +128,28 @@ class IntegrationTests {
                 .andExpect(jsonPath("$.taskName").value("Find Me"));
     }
 
+    @Test
+    void givenCachedTaskJson_whenTaskChanges_thenResponsesMatchJacksonOutput() throws Exception {
+        // Given: the first read caches the task's JSON
+        Tasks task = new Tasks(null, "Cached \"JSON\" ✓", TaskPriority.LOW, false, LocalDate.now());
+        taskRepository.create(task);
+        mockMvc.perform(get("/todos/" + task.getId()))
+                .andExpect(content().json(objectMapper.writeValueAsString(task), true));
+        assertTrue(taskJsonCache.size() > 0);
+
+        // When
+        taskRepository.patchUpdate(task.getId(), new Tasks(null, "Renamed", null, null));
+
+        // Then: single and list responses carry the new state, byte for byte as Jackson writes it
+        Tasks renamed = taskRepository.findById(task.getId()).orElseThrow();
+        mockMvc.perform(get("/todos/" + task.getId()))
+                .andExpect(content().contentType(MediaType.APPLICATION_JSON))
+                .andExpect(content().string(objectMapper.writeValueAsString(renamed)));
+        List<Tasks> found = taskRepository.search("Renamed", 10);
+        mockMvc.perform(get("/todos/search").param("q", "Renamed"))
+                .andExpect(content().string(objectMapper.writeValueAsString(found)));
+    }
+
     @Test
     void givenNonExistingTask_whenGetById_thenReturnNotFound() throws Exception {
         mockMvc.perform(get("/todos/999"))
@@ -95,4 +179,112 @@ class IntegrationTests {
         mockMvc.perform(get("/todos/" + task.getId()))
                 .andExpect(jsonPath("$.completed").value(true)); 
     }
+
+    @Test
+    void givenMixedBatch_whenBulkCreateAndDelete_thenResultsArePerItem() throws Exception {
+        List<Tasks> tasks = List.of(
+                new Tasks(null, "Bulk Task", TaskPriority.LOW, false, LocalDate.now()),
+                new Tasks(null, "", TaskPriority.LOW, false, LocalDate.now()));
+
+        String body = mockMvc.perform(post("/todos/bulk")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(tasks)))
+                .andExpect(status().isMultiStatus())
+                .andExpect(jsonPath("$.succeeded").value(1))
+                .andExpect(jsonPath("$.results[0].status").value(201))
+                .andExpect(jsonPath("$.results[1].status").value(400))
+                .andReturn().getResponse().getContentAsString();
+        int id = objectMapper.readTree(body).at("/results/0/id").asInt();
+
+        mockMvc.perform(delete("/todos/bulk")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(List.of(id))))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.results[0].status").value(204));
+    }
+
+    @Test
+    void givenTasks_whenExport_thenTasksAreStreamedAsNdjson() throws Exception {
+        taskRepository.create(new Tasks(null, "Export Me", TaskPriority.LOW, true, LocalDate.now()));
+
+        MvcResult result = mockMvc.perform(get("/todos/export").param("taskName", "export me"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        String body = mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType("application/x-ndjson"))
+                .andReturn().getResponse().getContentAsString();
+        String[] lines = body.split("\n");
+        assertTrue(lines.length > 0);
+        for (String line : lines) {
+            assertEquals("Export Me", objectMapper.readTree(line).get("taskName").asText());
+        }
+
+        mockMvc.perform(get("/todos/export").param("priority", "URGENT"))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void givenCsvDump_whenImport_thenReportIsReturned() throws Exception {
+        mockMvc.perform(post("/todos/import")
+                .contentType("text/csv")
+                .content("taskName,taskPriority,completed\nImported Task,LOW,false\n,LOW,false\n"))
+                .andExpect(status().isMultiStatus())
+                .andExpect(jsonPath("$.imported").value(1))
+                .andExpect(jsonPath("$.failed").value(1))
+                .andExpect(jsonPath("$.errors[0].line").value(3));
+    }
+
+    @Test
+    void givenUnchangedTask_whenConditionalGet_thenNotModifiedIsReturned() throws Exception {
+        Tasks task = new Tasks(null, "Cache Me", TaskPriority.LOW, false, LocalDate.now());
+        taskRepository.create(task);
+
+        String taskTag = mockMvc.perform(get("/todos/" + task.getId()))
+                .andExpect(status().isOk())
+                .andExpect(header().exists("ETag"))
+                .andReturn().getResponse().getHeader("ETag");
+        String listTag = mockMvc.perform(get("/todos"))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getHeader("ETag");
+
+        mockMvc.perform(get("/todos/" + task.getId()).header("If-None-Match", taskTag))
+                .andExpect(status().isNotModified());
+        mockMvc.perform(get("/todos").header("If-None-Match", listTag))
+                .andExpect(status().isNotModified());
+
+        // Any mutation invalidates both tags
+        String newTag = mockMvc.perform(patch("/todos/" + task.getId() + "/done").header("If-Match", taskTag))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getHeader("ETag");
+        mockMvc.perform(get("/todos/" + task.getId()).header("If-None-Match", taskTag))
+                .andExpect(status().isOk())
+                .andExpect(header().string("ETag", newTag));
+        mockMvc.perform(get("/todos").header("If-None-Match", listTag))
+                .andExpect(status().isOk());
+
+        // A stale If-Match is rejected without changing the task
+        mockMvc.perform(patch("/todos/" + task.getId() + "/undone").header("If-Match", taskTag))
+                .andExpect(status().isPreconditionFailed());
+        mockMvc.perform(get("/todos/" + task.getId()))
+                .andExpect(jsonPath("$.completed").value(true));
+    }
+
+    @Test
+    void givenMissingTask_whenGet_thenNotFoundCounterAndEndpointTimerAreExposed() throws Exception {
+        double before = objectMapper.readTree(mockMvc.perform(get("/actuator/metrics/todo.errors").param("tag", "type:not_found"))
+                .andReturn().getResponse().getContentAsString()).path("measurements").path(0).path("value").asDouble();
+
+        mockMvc.perform(get("/todos/999999"))
+                .andExpect(status().isNotFound());
+
+        mockMvc.perform(get("/actuator/metrics/todo.errors").param("tag", "type:not_found"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.measurements[0].value").value(before + 1));
+        mockMvc.perform(get("/actuator/metrics/http.server.requests").param("tag", "uri:/todos/{id}"))
+                .andExpect(status().isOk());
+        mockMvc.perform(get("/actuator/metrics/todo.tasks"))
+                .andExpect(status().isOk());
+    }
 }
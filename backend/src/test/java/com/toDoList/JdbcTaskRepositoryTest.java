@@ -0,0 +1,106 @@
+package com.toDoList;
+
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.toDoList.models.Tasks;
+import com.toDoList.services.JdbcTaskStore;
+import com.toDoList.services.TaskMutation;
+
+class JdbcTaskRepositoryTest extends TaskStoreContractTest<JdbcTaskStore> {
+
+    private TransactionTemplate outerTransaction;
+
+    @Override
+    protected JdbcTaskStore newStore() {
+        DriverManagerDataSource dataSource = new DriverManagerDataSource(
+                "jdbc:h2:mem:" + UUID.randomUUID() + ";DB_CLOSE_DELAY=-1", "sa", "");
+        DataSourceTransactionManager transactionManager = new DataSourceTransactionManager(dataSource);
+        outerTransaction = new TransactionTemplate(transactionManager);
+        JdbcTaskStore jdbcStore = new JdbcTaskStore(new JdbcTemplate(dataSource), new TransactionTemplate(transactionManager));
+        jdbcStore.initialize();
+        return jdbcStore;
+    }
+
+    @Test
+    void givenOuterTransaction_whenChangingTasks_thenListenersAreNotifiedOnlyAfterItCommits() {
+        // Given
+        List<TaskMutation> mutations = new CopyOnWriteArrayList<>();
+        repository.addMutationListener(mutations::add);
+        long versionBefore = repository.getVersion();
+
+        // When: the store's own transaction joins the open one, as under a @Transactional controller
+        outerTransaction.executeWithoutResult(status -> {
+            repository.markAsDone(5);
+            repository.delete(6);
+
+            // Then: nothing is visible to other connections yet, so nothing is published
+            assertTrue(mutations.isEmpty());
+            assertEquals(versionBefore, repository.getVersion());
+        });
+        assertEquals(List.of(TaskMutation.Type.COMPLETED, TaskMutation.Type.DELETED),
+                mutations.stream().map(TaskMutation::type).toList());
+        assertEquals(versionBefore + 2, repository.getVersion());
+        assertTrue(repository.findAll(0, 100, null, null, null, true, null).stream().anyMatch(task -> task.getId() == 5));
+
+        // And a rolled back change is neither published nor counted
+        mutations.clear();
+        double averageBefore = repository.getAverageCompletionTime();
+        outerTransaction.executeWithoutResult(status -> {
+            repository.markAsUnDone(3);
+            status.setRollbackOnly();
+        });
+        assertTrue(mutations.isEmpty());
+        assertTrue(repository.findById(3).orElseThrow().getCompleted());
+        assertEquals(averageBefore, repository.getAverageCompletionTime());
+    }
+
+    @Test
+    void givenTwoWritersCommittingCloseTogether_whenPublishing_thenListenersSeeCommitOrder() throws Exception {
+        // Given: a listener that is slow on the first writer's change, after that change has committed
+        List<String> delivered = new CopyOnWriteArrayList<>();
+        CountDownLatch firstCommitted = new CountDownLatch(1);
+        repository.addMutationListener(mutation -> {
+            if (mutation.task().getTaskName().equals("First")) {
+                firstCommitted.countDown();
+                sleep(200);
+            }
+            delivered.add(mutation.task().getTaskName());
+        });
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        try {
+            // When: the second writer commits while the first is still being published
+            Future<?> first = executor.submit(() -> repository.patchUpdate(5, new Tasks(null, "First", null, null)));
+            firstCommitted.await();
+            Future<?> second = executor.submit(() -> repository.patchUpdate(6, new Tasks(null, "Second", null, null)));
+            first.get();
+            second.get();
+        } finally {
+            executor.shutdownNow();
+        }
+
+        // Then
+        assertEquals(List.of("First", "Second"), delivered);
+    }
+
+    private static void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,149 @@
+package com.toDoList;
+
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import com.toDoList.config.StorageProperties;
+import com.toDoList.models.Tasks;
+import com.toDoList.services.MappedTaskStore;
+import com.toDoList.services.TaskRepository;
+
+class MappedTaskRepositoryTest extends TaskStoreContractTest<MappedTaskStore> {
+
+    @TempDir
+    Path dataDir;
+
+    @Override
+    protected MappedTaskStore newStore() throws IOException {
+        MappedTaskStore mappedStore = new MappedTaskStore(dataDir);
+        mappedStore.open();
+        return mappedStore;
+    }
+
+    @AfterEach
+    void tearDown() throws IOException {
+        store.close();
+    }
+
+    @Test
+    void givenMappedFiles_whenReopening_thenTasksAndAggregatesAreRestored() throws IOException {
+        // Given
+        List<Tasks> before = repository.findAll(0, 100, null, null, null, null, null);
+        double averageBefore = repository.getAverageCompletionTime();
+        store.close();
+
+        // When
+        store = new MappedTaskStore(dataDir);
+        store.open();
+        TaskRepository reopened = new TaskRepository(new StorageProperties(), store);
+
+        // Then
+        List<Tasks> after = reopened.findAll(0, 100, null, null, null, null, null);
+        assertSameIds(before, after);
+        for (int i = 0; i < before.size(); i++) {
+            assertEquals(before.get(i).toString(), after.get(i).toString());
+            assertEquals(before.get(i).getCreationDate(), after.get(i).getCreationDate());
+            assertEquals(before.get(i).getDoneDate(), after.get(i).getDoneDate());
+        }
+        assertEquals("Buy 100% organic_milk ✓", reopened.findById(10).orElseThrow().getTaskName());
+        assertEquals(averageBefore, reopened.getAverageCompletionTime());
+        assertEquals(before.size(), store.size());
+        assertFalse(reopened.findById(12).isPresent());
+    }
+
+    @Test
+    void givenDeletedTasks_whenInserting_thenSlotsAreReusedAndIdsAreNot() {
+        // Given
+        int slots = store.slotCount();
+        repository.delete(20);
+        repository.delete(21);
+
+        // When
+        Tasks first = new Tasks(null, "Reuses a slot", TaskPriority.HIGH, false);
+        Tasks second = new Tasks(null, "Reuses another slot", TaskPriority.HIGH, false);
+        repository.create(first);
+        repository.create(second);
+
+        // Then
+        assertEquals(slots, store.slotCount());
+        assertEquals(42, first.getId());
+        assertEquals(43, second.getId());
+        assertFalse(repository.findById(20).isPresent());
+        assertEquals("Reuses a slot", repository.findById(42).orElseThrow().getTaskName());
+        assertEquals(2, repository.findAll(0, 100, null, null, "HIGH", false, "reuses").size());
+    }
+
+    @Test
+    void givenDueDateBeyondEpochDayRange_whenInsertingOrUpdating_thenFilesAreUntouched() throws IOException {
+        // Given
+        List<Tasks> before = repository.findAll(0, 100, null, null, null, null, null);
+        int slots = store.slotCount();
+        int[] countsBefore = counts(store);
+
+        // When
+        assertThrows(IllegalArgumentException.class,
+                () -> repository.create(new Tasks(null, "Far future", TaskPriority.HIGH, false, LocalDate.MAX)));
+        assertThrows(IllegalArgumentException.class, () -> repository.createAll(List.of(
+                new Tasks(null, "Fits", TaskPriority.LOW, false), new Tasks(null, "Far future", TaskPriority.LOW, false, LocalDate.MAX))));
+        assertThrows(IllegalArgumentException.class,
+                () -> repository.patchUpdate(7, new Tasks(null, "Renamed", null, null, LocalDate.MAX)));
+
+        // Then: no leaked slot, no drifted count, and the same state after the statistics are rebuilt
+        assertEquals(slots, store.slotCount());
+        assertArrayEquals(countsBefore, counts(store));
+        assertEquals(memoryRepository.findById(7).orElseThrow().toString(), repository.findById(7).orElseThrow().toString());
+        store.close();
+        store = new MappedTaskStore(dataDir);
+        store.open();
+        TaskRepository reopened = new TaskRepository(new StorageProperties(), store);
+        assertSameIds(before, reopened.findAll(0, 100, null, null, null, null, null));
+        assertEquals(before.size(), store.size());
+        assertArrayEquals(countsBefore, counts(store));
+    }
+
+    @Test
+    void givenWritesInterruptedByCrash_whenReopening_thenHalfWrittenSlotsAreReclaimed() throws IOException {
+        // Given: files as a crash leaves them mid-delete of task 20 (unindexed, still present)
+        // and mid-insert of task 21 (indexed, not yet present)
+        int slots = store.slotCount();
+        store.close();
+        try (RandomAccessFile index = new RandomAccessFile(dataDir.resolve("index.dat").toFile(), "rw");
+                RandomAccessFile records = new RandomAccessFile(dataDir.resolve("tasks.dat").toFile(), "rw")) {
+            index.seek(19 * Integer.BYTES);
+            index.writeInt(0);
+            index.seek(20 * Integer.BYTES);
+            int slot = index.readInt() - 1;
+            // Records start one record length in, after the header; the flags are their first byte
+            records.seek((long) (slot + 1) * 64);
+            records.writeByte(0);
+        }
+        memoryRepository.delete(20);
+        memoryRepository.delete(21);
+
+        // When
+        store = new MappedTaskStore(dataDir);
+        store.open();
+        TaskRepository reopened = new TaskRepository(new StorageProperties(), store);
+
+        // Then: neither task exists, the counts agree with the tasks, and both slots are reused
+        assertFalse(reopened.findById(20).isPresent());
+        assertFalse(reopened.findById(21).isPresent());
+        assertSameIds(memoryRepository.findAll(0, 100, null, null, null, null, null), reopened.findAll(0, 100, null, null, null, null, null));
+        assertEquals(memoryStore.size(), store.size());
+        assertArrayEquals(counts(memoryStore), counts(store));
+        reopened.create(new Tasks(null, "Reuses a slot", TaskPriority.HIGH, false));
+        reopened.create(new Tasks(null, "Reuses another slot", TaskPriority.HIGH, false));
+        assertEquals(slots, store.slotCount());
+    }
+}
@@ -0,0 +1,64 @@
+package com.toDoList;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import org.junit.jupiter.api.Test;
+
+import com.toDoList.models.Tasks;
+import com.toDoList.services.ShardedTaskStore;
+
+class ShardedTaskRepositoryTest extends TaskStoreContractTest<ShardedTaskStore> {
+
+    @Override
+    protected ShardedTaskStore newStore() {
+        return new ShardedTaskStore(4);
+    }
+
+    @Test
+    void givenConcurrentWriters_whenCreateAndDelete_thenIdsStayUniqueAndRoutable() throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        try {
+            // When
+            List<Future<List<Integer>>> results = new ArrayList<>();
+            for (int thread = 0; thread < 8; thread++) {
+                results.add(executor.submit(() -> {
+                    List<Integer> ids = new ArrayList<>();
+                    for (int i = 0; i < 250; i++) {
+                        Tasks task = new Tasks(null, "Concurrent " + i, TaskPriority.HIGH, false);
+                        repository.create(task);
+                        ids.add(task.getId());
+                        if (i % 5 == 0) {
+                            assertTrue(repository.delete(task.getId()));
+                        }
+                    }
+                    return ids;
+                }));
+            }
+
+            // Then
+            Set<Integer> ids = new HashSet<>();
+            for (Future<List<Integer>> result : results) {
+                List<Integer> created = result.get();
+                ids.addAll(created);
+                for (int i = 0; i < created.size(); i++) {
+                    // Every id is found on the shard it routes to, unless it was deleted
+                    assertEquals(i % 5 != 0, repository.findById(created.get(i)).isPresent());
+                }
+            }
+            assertEquals(2000, ids.size());
+            assertEquals(40 + 2000 - 400, store.size());
+            assertFalse(repository.findById(12).isPresent());
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+}
@@ -0,0 +1,58 @@
+package com.toDoList;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.slf4j.LoggerFactory;
+
+import com.toDoList.models.Tasks;
+import com.toDoList.services.TaskAuditLog;
+import com.toDoList.services.TaskRepository;
+
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.core.read.ListAppender;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+class TaskAuditLogTest {
+
+    private final Logger auditLogger = (Logger) LoggerFactory.getLogger("com.toDoList.audit");
+    private final ListAppender<ILoggingEvent> appender = new ListAppender<>();
+    private TaskRepository taskRepository;
+    private TaskAuditLog taskAuditLog;
+
+    @BeforeEach
+    void setUp() {
+        appender.start();
+        auditLogger.addAppender(appender);
+        taskRepository = new TaskRepository();
+        taskAuditLog = new TaskAuditLog(taskRepository, new SimpleMeterRegistry());
+    }
+
+    @AfterEach
+    void tearDown() {
+        auditLogger.detachAppender(appender);
+    }
+
+    @Test
+    void givenMutations_whenAuditLogIsClosed_thenOneStructuredEventPerMutationIsLogged() {
+        // Given
+        Tasks task = new Tasks(null, "Audited", TaskPriority.HIGH, false);
+        taskRepository.create(task);
+        taskRepository.markAsDone(task.getId());
+        taskRepository.delete(task.getId());
+
+        // When: closing drains the queue
+        taskAuditLog.close();
+
+        // Then
+        List<String> events = appender.list.stream()
+                .map(event -> event.getKeyValuePairs().get(0).value + " " + event.getKeyValuePairs().get(1).value)
+                .toList();
+        assertEquals(List.of("CREATED " + task.getId(), "COMPLETED " + task.getId(), "DELETED " + task.getId()), events);
+        assertEquals("true", String.valueOf(appender.list.get(1).getKeyValuePairs().get(3).value));
+    }
+}
@@ -0,0 +1,158 @@
+package com.toDoList;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Function;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import com.toDoList.config.StorageProperties;
+import com.toDoList.models.Tasks;
+import com.toDoList.services.InMemoryTaskStore;
+import com.toDoList.services.TaskDueScheduler;
+import com.toDoList.services.TaskQuery;
+import com.toDoList.services.TaskRepository;
+import com.toDoList.services.TaskSort;
+
+class TaskDueSchedulerTest {
+
+    private static final LocalDate TODAY = LocalDate.of(2030, 1, 10);
+
+    private final MutableClock clock = new MutableClock(TODAY.atStartOfDay(ZoneOffset.UTC).toInstant().plusSeconds(3600));
+    private final List<Tasks> overdue = new ArrayList<>();
+    private TaskRepository taskRepository;
+    private TaskDueScheduler taskDueScheduler;
+
+    @BeforeEach
+    void setUp() {
+        taskRepository = new TaskRepository();
+        taskRepository.init();
+        taskRepository.delete(1);
+        // Loaded on start-up: two overdue, one due today, one due tomorrow, one done and one undated
+        taskRepository.create(new Tasks(null, "Overdue for a week", TaskPriority.HIGH, false, TODAY.minusDays(7)));
+        taskRepository.create(new Tasks(null, "Overdue since yesterday", TaskPriority.LOW, false, TODAY.minusDays(1)));
+        taskRepository.create(new Tasks(null, "Due today", TaskPriority.MEDIUM, false, TODAY));
+        taskRepository.create(new Tasks(null, "Due tomorrow", TaskPriority.MEDIUM, false, TODAY.plusDays(1)));
+        taskRepository.create(new Tasks(null, "Done long ago", TaskPriority.LOW, true, TODAY.minusDays(3)));
+        taskRepository.create(new Tasks(null, "Someday", TaskPriority.LOW, false));
+        taskDueScheduler = new TaskDueScheduler(taskRepository, List.of(overdue::add), clock);
+    }
+
+    @AfterEach
+    void tearDown() {
+        taskDueScheduler.close();
+    }
+
+    @Test
+    void givenLoadedTasks_whenFindOverdueAndDueSoon_thenOnlyOpenDatedTasksInRangeAreReturned() {
+        assertEquals(List.of(2, 3), ids(taskDueScheduler.findOverdue(100)));
+        assertEquals(List.of(2), ids(taskDueScheduler.findOverdue(1)));
+        assertEquals(List.of(4), ids(taskDueScheduler.findDueSoon(0, 100)));
+        assertEquals(List.of(4, 5), ids(taskDueScheduler.findDueSoon(1, 100)));
+        assertThrows(IllegalArgumentException.class, () -> taskDueScheduler.findDueSoon(-1, 100));
+    }
+
+    @Test
+    void givenMutations_whenFindOverdueAndDueSoon_thenTheIndexFollowsTheTasks() {
+        // When
+        taskRepository.markAsDone(2);
+        taskRepository.patchUpdate(5, new Tasks(null, null, null, null, TODAY.minusDays(2)));
+        taskRepository.delete(4);
+        taskRepository.markAsUnDone(6);
+        Tasks created = new Tasks(null, "Created due today", TaskPriority.HIGH, false, TODAY);
+        taskRepository.create(created);
+
+        // Then
+        assertEquals(List.of(6, 5, 3), ids(taskDueScheduler.findOverdue(100)));
+        assertEquals(List.of(created.getId()), ids(taskDueScheduler.findDueSoon(3, 100)));
+    }
+
+    @Test
+    void givenDayChange_whenAdvance_thenOnlyTasksCrossingTheirDueDateAreReported() {
+        // Given
+        taskRepository.markAsDone(5);
+        assertEquals(0, taskDueScheduler.advance());
+
+        // When: two days pass, so today's task and tomorrow's (now done) task cross their due date
+        clock.instant = clock.instant.plusSeconds(2 * 86400);
+        int reported = taskDueScheduler.advance();
+
+        // Then
+        assertEquals(1, reported);
+        assertEquals(List.of(4), ids(overdue));
+        assertEquals(0, taskDueScheduler.advance());
+        assertEquals(List.of(2, 3, 4), ids(taskDueScheduler.findOverdue(100)));
+    }
+
+    @Test
+    void givenChangesWhileLoading_whenFindOverdueAndDueSoon_thenTheyAreIndexed() {
+        // Given: a store that takes writes right after the load has read the tasks
+        TaskRepository[] changing = new TaskRepository[1];
+        InMemoryTaskStore store = new InMemoryTaskStore() {
+            @Override
+            public <R> R select(TaskQuery query, Function<Stream<Tasks>, R> reader) {
+                R result = super.select(query, reader);
+                TaskRepository repository = changing[0];
+                if (repository != null && query.sort() == TaskSort.DUE_DATE) {
+                    changing[0] = null;
+                    repository.create(new Tasks(null, "Created while loading", TaskPriority.HIGH, false, TODAY.minusDays(1)));
+                    repository.delete(2);
+                }
+                return result;
+            }
+        };
+        TaskRepository repository = new TaskRepository(new StorageProperties(), store);
+        repository.init();
+        repository.patchUpdate(1, new Tasks(null, null, null, null, TODAY.plusDays(1)));
+        repository.create(new Tasks(null, "Deleted while loading", TaskPriority.LOW, false, TODAY.plusDays(2)));
+        changing[0] = repository;
+
+        // When
+        TaskDueScheduler scheduler = new TaskDueScheduler(repository, List.of(), clock);
+        try {
+            // Then: the listener saw both changes, and the load did not bring back the deleted task
+            assertEquals(List.of(3), ids(scheduler.findOverdue(100)));
+            assertEquals(List.of(1), ids(scheduler.findDueSoon(5, 100)));
+        } finally {
+            scheduler.close();
+        }
+    }
+
+    private static List<Integer> ids(List<Tasks> tasks) {
+        return tasks.stream().map(Tasks::getId).toList();
+    }
+
+    private static final class MutableClock extends Clock {
+
+        private Instant instant;
+
+        private MutableClock(Instant instant) {
+            this.instant = instant;
+        }
+
+        @Override
+        public ZoneId getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public Instant instant() {
+            return instant;
+        }
+    }
+}
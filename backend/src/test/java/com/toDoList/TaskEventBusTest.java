@@ -0,0 +1,176 @@
+package com.toDoList;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import com.toDoList.models.TaskEvent;
+import com.toDoList.models.Tasks;
+import com.toDoList.services.TaskEventBus;
+import com.toDoList.services.TaskRepository;
+
+class TaskEventBusTest {
+
+    private TaskRepository taskRepository;
+    private TaskEventBus taskEventBus;
+
+    @BeforeEach
+    void setUp() {
+        taskRepository = new TaskRepository();
+        taskRepository.init();
+        taskEventBus = new TaskEventBus(taskRepository);
+    }
+
+    @AfterEach
+    void tearDown() {
+        taskEventBus.close();
+    }
+
+    @Test
+    void givenBurstOfChanges_whenDispatched_thenOneEventPerTaskIsPushed() throws InterruptedException {
+        // Given
+        BlockingQueue<TaskEvent> received = new LinkedBlockingQueue<>();
+        taskEventBus.subscribe(null, received::add);
+        Tasks kept = new Tasks(null, "Kept", TaskPriority.LOW, false);
+        Tasks dropped = new Tasks(null, "Dropped", TaskPriority.LOW, false);
+
+        // When: all changes land within one coalescing window
+        taskRepository.create(kept);
+        taskRepository.create(dropped);
+        taskRepository.patchUpdate(kept.getId(), new Tasks(null, "Kept and renamed", null, null));
+        taskRepository.markAsDone(kept.getId());
+        taskRepository.delete(dropped.getId());
+
+        // Then
+        TaskEvent event = received.poll(5, TimeUnit.SECONDS);
+        assertEquals(TaskEvent.Type.CREATED, event.type());
+        assertEquals(kept.getId(), event.taskId());
+        assertEquals("Kept and renamed", event.task().getTaskName());
+        assertTrue(event.task().getCompleted());
+        assertNull(received.poll(300, TimeUnit.MILLISECONDS));
+    }
+
+    @Test
+    void givenLastSeenSequence_whenResubscribing_thenMissedEventsAreReplayed() throws InterruptedException {
+        // Given
+        BlockingQueue<TaskEvent> first = new LinkedBlockingQueue<>();
+        TaskEventBus.Subscription subscription = taskEventBus.subscribe(null, first::add);
+        Tasks task = new Tasks(null, "Task", TaskPriority.HIGH, false);
+        taskRepository.create(task);
+        long lastSeen = first.poll(5, TimeUnit.SECONDS).sequence();
+        subscription.cancel();
+        taskRepository.markAsDone(task.getId());
+        Thread.sleep(300);
+        taskRepository.delete(task.getId());
+
+        // When
+        BlockingQueue<TaskEvent> resumed = new LinkedBlockingQueue<>();
+        taskEventBus.subscribe(lastSeen, resumed::add);
+
+        // Then: the dispatched change is replayed and the pending one follows live
+        List<TaskEvent.Type> types = new ArrayList<>();
+        types.add(resumed.poll(5, TimeUnit.SECONDS).type());
+        types.add(resumed.poll(5, TimeUnit.SECONDS).type());
+        assertEquals(List.of(TaskEvent.Type.DONE, TaskEvent.Type.DELETED), types);
+        assertEquals(1, taskEventBus.subscriberCount());
+    }
+
+    @Test
+    void givenEventId_whenResuming_thenMissedEventsAreReplayed() throws InterruptedException {
+        // Given
+        BlockingQueue<TaskEvent> first = new LinkedBlockingQueue<>();
+        TaskEventBus.Subscription subscription = taskEventBus.subscribe(null, first::add);
+        Tasks task = new Tasks(null, "Task", TaskPriority.HIGH, false);
+        taskRepository.create(task);
+        String lastEventId = taskEventBus.eventId(first.poll(5, TimeUnit.SECONDS));
+        subscription.cancel();
+        taskRepository.markAsDone(task.getId());
+
+        // When
+        BlockingQueue<TaskEvent> resumed = new LinkedBlockingQueue<>();
+        taskEventBus.resume(lastEventId, resumed::add);
+
+        // Then
+        assertEquals(TaskEvent.Type.DONE, resumed.poll(5, TimeUnit.SECONDS).type());
+    }
+
+    @Test
+    void givenEventIdFromAnotherRunOrAheadOfTheFeed_whenResuming_thenSubscriberIsReset() throws InterruptedException {
+        // Given: the feed has dispatched one event in this run
+        BlockingQueue<TaskEvent> first = new LinkedBlockingQueue<>();
+        taskEventBus.subscribe(null, first::add);
+        taskRepository.create(new Tasks(null, "Task", TaskPriority.HIGH, false));
+        TaskEvent dispatched = first.poll(5, TimeUnit.SECONDS);
+        String current = taskEventBus.eventId(dispatched);
+        String epoch = current.substring(0, current.lastIndexOf('-'));
+
+        // When: ids from before a restart, past the current sequence, or not ours at all
+        for (String lastEventId : List.of("0-" + dispatched.sequence(), epoch + "-" + (dispatched.sequence() + 5),
+                epoch + "-x", "42")) {
+            BlockingQueue<TaskEvent> resumed = new LinkedBlockingQueue<>();
+            taskEventBus.resume(lastEventId, resumed::add);
+
+            // Then
+            TaskEvent event = resumed.poll(5, TimeUnit.SECONDS);
+            assertEquals(TaskEvent.Type.RESET, event.type(), lastEventId);
+            assertEquals(dispatched.sequence(), event.sequence(), lastEventId);
+        }
+        BlockingQueue<TaskEvent> ahead = new LinkedBlockingQueue<>();
+        taskEventBus.subscribe(dispatched.sequence() + 5, ahead::add);
+        assertEquals(TaskEvent.Type.RESET, ahead.poll(5, TimeUnit.SECONDS).type());
+    }
+
+    @Test
+    void givenStalledSubscriber_whenBufferOverflows_thenItGetsResetAndOthersKeepUp() throws InterruptedException {
+        // Given: one subscriber blocks on its first event
+        CountDownLatch release = new CountDownLatch(1);
+        BlockingQueue<TaskEvent> slow = new LinkedBlockingQueue<>();
+        taskEventBus.subscribe(null, event -> {
+            slow.add(event);
+            try {
+                release.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        });
+        BlockingQueue<TaskEvent> fast = new LinkedBlockingQueue<>();
+        AtomicBoolean sentOnVirtualThread = new AtomicBoolean();
+        taskEventBus.subscribe(null, event -> {
+            // A blocking send on a virtual thread would pin its carrier inside SseEmitter.send
+            sentOnVirtualThread.compareAndSet(false, Thread.currentThread().isVirtual());
+            fast.add(event);
+        });
+
+        // When
+        taskRepository.create(new Tasks(null, "First", TaskPriority.LOW, false));
+        slow.poll(5, TimeUnit.SECONDS);
+        for (int batch = 0; batch < 2; batch++) {
+            // Two dispatch batches, each fitting a subscriber buffer on its own
+            for (int i = 0; i < 600; i++) {
+                taskRepository.create(new Tasks(null, "Task " + i, TaskPriority.LOW, false));
+            }
+            Thread.sleep(300);
+        }
+        for (int i = 0; i < 1200; i++) {
+            assertTrue(fast.poll(5, TimeUnit.SECONDS) != null);
+        }
+        release.countDown();
+
+        // Then
+        assertFalse(sentOnVirtualThread.get());
+        assertEquals(TaskEvent.Type.RESET, slow.poll(5, TimeUnit.SECONDS).type());
+        assertNull(slow.poll(300, TimeUnit.MILLISECONDS));
+    }
+}
@@ -0,0 +1,99 @@
+package com.toDoList;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import com.toDoList.config.JacksonConfig;
+import com.toDoList.models.ImportReport;
+import com.toDoList.models.Tasks;
+import com.toDoList.services.TaskImporter;
+import com.toDoList.services.TaskRepository;
+import com.toDoList.services.TaskValidator;
+
+import jakarta.validation.Validation;
+
+class TaskImporterTest {
+
+    private TaskRepository taskRepository;
+    private TaskImporter taskImporter;
+
+    @BeforeEach
+    void setUp() {
+        taskRepository = new TaskRepository();
+        taskRepository.init();
+        taskImporter = new TaskImporter(taskRepository,
+                new TaskValidator(Validation.buildDefaultValidatorFactory().getValidator()),
+                new JacksonConfig().objectMapper());
+    }
+
+    @AfterEach
+    void tearDown() {
+        taskImporter.close();
+    }
+
+    @Test
+    void givenLargeNdjsonDump_whenImport_thenValidRowsAreStoredInFileOrder() throws IOException {
+        // Given: every 100th row is too long and every 250th is not JSON at all
+        StringBuilder dump = new StringBuilder();
+        for (int i = 1; i <= 5000; i++) {
+            if (i % 250 == 0) {
+                dump.append("{not json\n");
+            } else if (i % 100 == 0) {
+                dump.append("{\"taskName\":\"").append("x".repeat(121)).append("\",\"taskPriority\":\"LOW\",\"completed\":false}\n");
+            } else {
+                dump.append("{\"taskName\":\"Imported ").append(i).append("\",\"taskPriority\":\"MEDIUM\",\"completed\":false}\n");
+            }
+        }
+
+        // When
+        ImportReport report = taskImporter.importNdjson(stream(dump.toString()));
+
+        // Then
+        assertEquals(4940, report.imported());
+        assertEquals(60, report.failed());
+        assertEquals(100, report.errors().get(0).line());
+        assertTrue(report.errors().get(0).error().contains("taskName"));
+        assertEquals(250, report.errors().get(2).line());
+        assertTrue(report.errors().get(2).error().startsWith("Malformed row"));
+        List<Tasks> imported = taskRepository.findAll(0, 10000, null, null, "MEDIUM", null, "imported");
+        assertEquals(4940, imported.size());
+        assertEquals("Imported 1", imported.get(0).getTaskName());
+        assertEquals("Imported 4999", imported.get(imported.size() - 1).getTaskName());
+    }
+
+    @Test
+    void givenCsvDump_whenImport_thenQuotedFieldsAreParsedAndBadRowsReported() throws IOException {
+        // Given
+        String dump = "taskPriority,taskName,completed,taskDueDate\n"
+                + "HIGH,\"Buy milk, eggs\",false," + LocalDate.now().plusDays(1) + "\n"
+                + "low,\"Say \"\"hi\"\"\",false,\n"
+                + "URGENT,Bad priority,false,\n"
+                + "LOW,Past due,false,2000-01-01\n";
+
+        // When
+        ImportReport report = taskImporter.importCsv(stream(dump));
+
+        // Then
+        assertEquals(2, report.imported());
+        assertEquals(2, report.failed());
+        assertEquals(4, report.errors().get(0).line());
+        assertEquals(5, report.errors().get(1).line());
+        assertEquals(1, taskRepository.findAll(0, 10, null, null, null, null, "milk, eggs").size());
+        assertEquals("Say \"hi\"", taskRepository.findAll(0, 10, null, null, "LOW", false, "say \"hi\"").get(0).getTaskName());
+        assertThrows(IllegalArgumentException.class, () -> taskImporter.importCsv(stream("name,priority\n")));
+    }
+
+    private static ByteArrayInputStream stream(String content) {
+        return new ByteArrayInputStream(content.getBytes(StandardCharsets.UTF_8));
+    }
+}
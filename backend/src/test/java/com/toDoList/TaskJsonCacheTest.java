@@ -0,0 +1,187 @@
+package com.toDoList;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.toDoList.config.CacheProperties;
+import com.toDoList.config.JacksonConfig;
+import com.toDoList.models.Tasks;
+import com.toDoList.services.TaskJsonCache;
+import com.toDoList.services.TaskRepository;
+
+import io.micrometer.core.instrument.composite.CompositeMeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+class TaskJsonCacheTest {
+
+    private final ObjectMapper objectMapper = new JacksonConfig().objectMapper();
+    private TaskRepository taskRepository;
+    private Tasks task;
+
+    @BeforeEach
+    void setUp() {
+        taskRepository = new TaskRepository();
+        taskRepository.init();
+        task = new Tasks(null, "Name 0", TaskPriority.LOW, false);
+        taskRepository.create(task);
+    }
+
+    @Test
+    void givenMutationDuringSerialization_whenReadingAgain_thenCurrentJsonIsReturned() throws Exception {
+        // Given: the mutation lands after the fields were serialized but before the read completes
+        AtomicBoolean mutate = new AtomicBoolean(true);
+        ObjectMapper racingMapper = new JacksonConfig().objectMapper();
+        ObjectMapper interleaving = new ObjectMapper() {
+            @Override
+            public byte[] writeValueAsBytes(Object value) throws JsonProcessingException {
+                byte[] json = racingMapper.writeValueAsBytes(value);
+                if (mutate.getAndSet(false)) {
+                    taskRepository.patchUpdate(task.getId(), new Tasks(null, "Renamed", null, null));
+                }
+                return json;
+            }
+        };
+        TaskJsonCache taskJsonCache = newCache(interleaving);
+        Tasks live = taskRepository.findById(task.getId()).orElseThrow();
+
+        // When
+        taskJsonCache.json(live);
+
+        // Then
+        Tasks current = taskRepository.findById(task.getId()).orElseThrow();
+        assertEquals("Renamed", current.getTaskName());
+        assertArrayEquals(objectMapper.writeValueAsBytes(current), taskJsonCache.json(current));
+    }
+
+    @Test
+    void givenConcurrentReadsAndMutations_whenQuiescent_thenCachedJsonMatchesTheTask() throws Exception {
+        TaskJsonCache taskJsonCache = newCache(objectMapper);
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        try {
+            for (int round = 1; round <= 200; round++) {
+                // When: readers serialize the task while it is renamed
+                AtomicBoolean writing = new AtomicBoolean(true);
+                List<Future<?>> readers = new ArrayList<>();
+                for (int reader = 0; reader < 3; reader++) {
+                    readers.add(executor.submit(() -> {
+                        do {
+                            taskRepository.findById(task.getId()).ifPresent(taskJsonCache::json);
+                        } while (writing.get());
+                    }));
+                }
+                taskRepository.patchUpdate(task.getId(), new Tasks(null, "Name " + round, null, null));
+                writing.set(false);
+                for (Future<?> reader : readers) {
+                    reader.get();
+                }
+
+                // Then
+                Tasks current = taskRepository.findById(task.getId()).orElseThrow();
+                assertArrayEquals(objectMapper.writeValueAsBytes(current), taskJsonCache.json(current), "round " + round);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    void givenFullCache_whenCachingAnotherTask_thenTheFirstUnreadEntryIsEvicted() {
+        // Given: three cached tasks, the oldest read again since
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        TaskJsonCache taskJsonCache = newCache(3, meterRegistry);
+        List<Tasks> tasks = createTasks(4);
+        taskJsonCache.json(tasks.get(0));
+        taskJsonCache.json(tasks.get(1));
+        taskJsonCache.json(tasks.get(2));
+        taskJsonCache.json(tasks.get(0));
+
+        // When
+        taskJsonCache.json(tasks.get(3));
+
+        // Then: the hand spared the task read again and took the next one
+        assertEquals(3, taskJsonCache.size());
+        assertEquals(1, meterRegistry.get("todo.json.cache.evictions").counter().count());
+        double hitsBefore = hits(meterRegistry);
+        taskJsonCache.json(tasks.get(0));
+        taskJsonCache.json(tasks.get(2));
+        taskJsonCache.json(tasks.get(3));
+        assertEquals(hitsBefore + 3, hits(meterRegistry));
+        taskJsonCache.json(tasks.get(1));
+        assertEquals(hitsBefore + 3, hits(meterRegistry));
+    }
+
+    @Test
+    void givenFullCacheWithChangedTask_whenCachingAnotherTask_thenItsPositionIsReusedWithoutEviction() {
+        // Given
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        TaskJsonCache taskJsonCache = newCache(2, meterRegistry);
+        List<Tasks> tasks = createTasks(3);
+        taskJsonCache.json(tasks.get(0));
+        taskJsonCache.json(tasks.get(1));
+        taskRepository.patchUpdate(tasks.get(0).getId(), new Tasks(null, "Renamed", null, null));
+
+        // When
+        taskJsonCache.json(tasks.get(2));
+
+        // Then
+        assertEquals(2, taskJsonCache.size());
+        assertEquals(0, meterRegistry.get("todo.json.cache.evictions").counter().count());
+        double hitsBefore = hits(meterRegistry);
+        taskJsonCache.json(tasks.get(1));
+        taskJsonCache.json(tasks.get(2));
+        assertEquals(hitsBefore + 2, hits(meterRegistry));
+    }
+
+    @Test
+    void givenManyTasks_whenReadRepeatedly_thenSizeNeverExceedsTheLimit() throws Exception {
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        TaskJsonCache taskJsonCache = newCache(10, meterRegistry);
+        List<Tasks> tasks = createTasks(50);
+        for (int round = 0; round < 3; round++) {
+            for (Tasks created : tasks) {
+                Tasks current = taskRepository.findById(created.getId()).orElseThrow();
+                assertArrayEquals(objectMapper.writeValueAsBytes(current), taskJsonCache.json(current));
+                assertTrue(taskJsonCache.size() <= 10);
+            }
+        }
+        assertEquals(10, taskJsonCache.size());
+        assertEquals(140, meterRegistry.get("todo.json.cache.evictions").counter().count());
+        assertEquals(0, newCache(0, meterRegistry).size());
+    }
+
+    private List<Tasks> createTasks(int count) {
+        List<Tasks> tasks = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            Tasks created = new Tasks(null, "Cached " + i, TaskPriority.MEDIUM, false);
+            taskRepository.create(created);
+            tasks.add(created);
+        }
+        return tasks;
+    }
+
+    private static double hits(SimpleMeterRegistry meterRegistry) {
+        return meterRegistry.get("todo.json.cache").tag("result", "hit").counter().count();
+    }
+
+    private TaskJsonCache newCache(int maxSize, SimpleMeterRegistry meterRegistry) {
+        CacheProperties cacheProperties = new CacheProperties();
+        cacheProperties.setJsonMaxSize(maxSize);
+        return new TaskJsonCache(taskRepository, objectMapper, cacheProperties, meterRegistry);
+    }
+
+    private TaskJsonCache newCache(ObjectMapper mapper) {
+        return new TaskJsonCache(taskRepository, mapper, new CacheProperties(), new CompositeMeterRegistry());
+    }
+}
@@ -0,0 +1,120 @@
+package com.toDoList;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import com.toDoList.models.Tasks;
+import com.toDoList.services.TaskRepository;
+
+class TaskRepositoryConcurrencyTest {
+
+    private static final int THREADS = 8;
+    private static final int TASKS_PER_THREAD = 500;
+
+    private TaskRepository taskRepository;
+    private ExecutorService executor;
+
+    @BeforeEach
+    void setUp() {
+        taskRepository = new TaskRepository();
+        executor = Executors.newFixedThreadPool(THREADS);
+    }
+
+    @AfterEach
+    void tearDown() throws InterruptedException {
+        executor.shutdownNow();
+        executor.awaitTermination(10, TimeUnit.SECONDS);
+    }
+
+    @Test
+    void givenConcurrentWriters_whenCreateTasks_thenEveryTaskGetsAUniqueId() throws Exception {
+        // When
+        List<Future<List<Integer>>> results = runConcurrently(() -> {
+            List<Integer> ids = new ArrayList<>();
+            for (int i = 0; i < TASKS_PER_THREAD; i++) {
+                Tasks task = new Tasks(null, "Task " + i, TaskPriority.MEDIUM, false, LocalDate.now());
+                taskRepository.create(task);
+                ids.add(task.getId());
+            }
+            return ids;
+        });
+
+        // Then
+        Set<Integer> allIds = new HashSet<>();
+        for (Future<List<Integer>> result : results) {
+            allIds.addAll(result.get());
+        }
+        assertEquals(THREADS * TASKS_PER_THREAD, allIds.size());
+        assertEquals(THREADS * TASKS_PER_THREAD, taskRepository.findAll(0, Integer.MAX_VALUE, null, null, null, null, null).size());
+        for (Integer id : allIds) {
+            assertTrue(taskRepository.findById(id).isPresent());
+        }
+    }
+
+    @Test
+    void givenConcurrentWriters_whenMixingMutations_thenStoreStaysConsistent() throws Exception {
+        // When: each thread creates tasks, completes the even ones and deletes every third one
+        List<Future<List<Integer>>> results = runConcurrently(() -> {
+            List<Integer> survivors = new ArrayList<>();
+            for (int i = 0; i < TASKS_PER_THREAD; i++) {
+                Tasks task = new Tasks(null, "Task " + i, TaskPriority.values()[i % 3], false, LocalDate.now());
+                taskRepository.create(task);
+                if (i % 2 == 0) {
+                    taskRepository.markAsDone(task.getId());
+                }
+                if (i % 3 == 0) {
+                    taskRepository.delete(task.getId());
+                } else {
+                    survivors.add(task.getId());
+                }
+            }
+            return survivors;
+        });
+
+        // Then
+        List<Integer> survivors = new ArrayList<>();
+        for (Future<List<Integer>> result : results) {
+            survivors.addAll(result.get());
+        }
+        List<Tasks> stored = taskRepository.findAll(0, Integer.MAX_VALUE, null, null, null, null, null);
+        assertEquals(survivors.size(), stored.size());
+        for (Tasks task : stored) {
+            assertTrue(survivors.contains(task.getId()));
+        }
+        long completed = taskRepository.findAll(0, Integer.MAX_VALUE, null, null, null, true, null).size();
+        long expectedCompleted = survivors.stream()
+                .filter(id -> taskRepository.findById(id).orElseThrow().getCompleted())
+                .count();
+        assertEquals(expectedCompleted, completed);
+        assertFalse(stored.isEmpty());
+    }
+
+    private <T> List<Future<T>> runConcurrently(Callable<T> work) throws InterruptedException {
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<T>> futures = new ArrayList<>();
+        for (int i = 0; i < THREADS; i++) {
+            futures.add(executor.submit(() -> {
+                start.await();
+                return work.call();
+            }));
+        }
+        start.countDown();
+        return futures;
+    }
+}
@@ -0,0 +1,183 @@
+package com.toDoList;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTimeoutPreemptively;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import com.toDoList.config.StorageProperties;
+import com.toDoList.models.Tasks;
+import com.toDoList.services.ColumnarTaskStore;
+import com.toDoList.services.ShardedTaskStore;
+import com.toDoList.services.TaskRepository;
+import com.toDoList.services.TaskStore;
+
+class TaskRepositoryPersistenceTest {
+
+    @TempDir
+    Path dataDir;
+
+    @Test
+    void givenLoggedMutations_whenRestarting_thenStateIsRecovered() throws IOException {
+        // Given
+        TaskRepository taskRepository = open(10000);
+        Tasks kept = new Tasks(null, "Kept", TaskPriority.LOW, false, LocalDate.now());
+        Tasks deleted = new Tasks(null, "Deleted", TaskPriority.MEDIUM, false);
+        taskRepository.create(kept);
+        taskRepository.create(deleted);
+        taskRepository.patchUpdate(kept.getId(), new Tasks(null, "Kept and renamed", TaskPriority.HIGH, null));
+        taskRepository.markAsDone(kept.getId());
+        taskRepository.delete(deleted.getId());
+        List<Tasks> before = taskRepository.findAll(0, 100, null, null, null, null, null);
+        taskRepository.close();
+
+        // When
+        TaskRepository recovered = open(10000);
+
+        // Then
+        assertSameTasks(before, recovered.findAll(0, 100, null, null, null, null, null));
+        Tasks restored = recovered.findById(kept.getId()).orElseThrow();
+        assertEquals("Kept and renamed", restored.getTaskName());
+        assertTrue(restored.getCompleted());
+        assertEquals(kept.getDoneDate(), restored.getDoneDate());
+        assertFalse(recovered.findById(deleted.getId()).isPresent());
+        assertEquals(1, recovered.findAll(0, 100, null, null, "HIGH", true, "renamed").size());
+
+        // Ids are never reused, even for deleted tasks
+        Tasks next = new Tasks(null, "Next", TaskPriority.LOW, false);
+        recovered.create(next);
+        assertEquals(deleted.getId() + 1, next.getId());
+        recovered.close();
+    }
+
+    @Test
+    void givenManyMutations_whenSnapshotting_thenLogIsCompactedAndStateIsRecovered() throws Exception {
+        // Given
+        TaskRepository taskRepository = open(10);
+        for (int i = 0; i < 55; i++) {
+            taskRepository.create(new Tasks(null, "Task " + i, TaskPriority.values()[i % 3], false));
+        }
+        List<Tasks> before = taskRepository.findAll(0, 100, null, null, null, null, null);
+        taskRepository.close();
+
+        // Then
+        assertTrue(Files.exists(dataDir.resolve("tasks.snapshot")));
+        assertTrue(Files.size(dataDir.resolve("tasks.wal")) < Files.size(dataDir.resolve("tasks.snapshot")));
+        TaskRepository recovered = open(10);
+        assertSameTasks(before, recovered.findAll(0, 100, null, null, null, null, null));
+        recovered.close();
+    }
+
+    @Test
+    void givenTornLogTail_whenRestarting_thenCompleteRecordsAreRecovered() throws IOException {
+        // Given
+        TaskRepository taskRepository = open(10000);
+        taskRepository.create(new Tasks(null, "Survivor", TaskPriority.LOW, false));
+        List<Tasks> before = taskRepository.findAll(0, 100, null, null, null, null, null);
+        taskRepository.close();
+        Files.write(dataDir.resolve("tasks.wal"), new byte[] { 0, 0, 0, 42, 1, 2 }, StandardOpenOption.APPEND);
+
+        // When
+        TaskRepository recovered = open(10000);
+
+        // Then
+        assertSameTasks(before, recovered.findAll(0, 100, null, null, null, null, null));
+        recovered.create(new Tasks(null, "After recovery", TaskPriority.LOW, false));
+        recovered.close();
+        TaskRepository reopened = open(10000);
+        assertEquals(before.size() + 1, reopened.findAll(0, 100, null, null, null, null, null).size());
+        reopened.close();
+    }
+
+    @Test
+    void givenWritesDuringSnapshots_whenRestarting_thenEveryChangeIsRecovered() throws Exception {
+        // Given: writers keep going while snapshots are written and the log truncated
+        TaskRepository taskRepository = open(25);
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        try {
+            List<Future<?>> writers = new ArrayList<>();
+            for (int writer = 0; writer < 4; writer++) {
+                int offset = writer;
+                writers.add(executor.submit(() -> {
+                    for (int i = 0; i < 200; i++) {
+                        Tasks task = new Tasks(null, "Task " + offset + "-" + i, TaskPriority.values()[i % 3], false);
+                        taskRepository.create(task);
+                        taskRepository.patchUpdate(task.getId(), new Tasks(null, "Renamed " + offset + "-" + i, null, null));
+                    }
+                }));
+            }
+            for (Future<?> writer : writers) {
+                writer.get();
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+        List<Tasks> before = taskRepository.findAll(0, 1000, null, null, null, null, null);
+        taskRepository.close();
+
+        // When
+        TaskRepository recovered = open(25);
+
+        // Then
+        assertTrue(Files.size(dataDir.resolve("tasks.wal")) < Files.size(dataDir.resolve("tasks.snapshot")));
+        assertSameTasks(before, recovered.findAll(0, 1000, null, null, null, null, null));
+        recovered.close();
+    }
+
+    @Test
+    void givenDataDir_whenEngineCannotPersist_thenStartupFails() {
+        StorageProperties properties = new StorageProperties();
+        properties.setDataDir(dataDir.toString());
+        for (TaskStore store : List.of(new ShardedTaskStore(2), new ColumnarTaskStore())) {
+            TaskRepository taskRepository = new TaskRepository(properties, store);
+            assertThrows(IllegalStateException.class, taskRepository::init, store.getClass().getSimpleName());
+        }
+    }
+
+    @Test
+    void givenClosedLog_whenMutating_thenRequestFailsInsteadOfWaiting() throws IOException {
+        // Given: a request still in flight while the application shuts down
+        TaskRepository taskRepository = open(10000);
+        taskRepository.close();
+
+        // When / Then
+        assertTimeoutPreemptively(Duration.ofSeconds(5), () -> assertThrows(IllegalStateException.class,
+                () -> taskRepository.create(new Tasks(null, "Too late", TaskPriority.LOW, false))));
+    }
+
+    private TaskRepository open(int snapshotEvery) {
+        StorageProperties properties = new StorageProperties();
+        properties.setDataDir(dataDir.toString());
+        properties.setSnapshotEvery(snapshotEvery);
+        TaskRepository taskRepository = new TaskRepository(properties);
+        taskRepository.init();
+        return taskRepository;
+    }
+
+    private static void assertSameTasks(List<Tasks> expected, List<Tasks> actual) {
+        assertEquals(expected.size(), actual.size());
+        for (int i = 0; i < expected.size(); i++) {
+            assertEquals(expected.get(i).getId(), actual.get(i).getId());
+            assertEquals(expected.get(i).getTaskName(), actual.get(i).getTaskName());
+            assertEquals(expected.get(i).getTaskPriority(), actual.get(i).getTaskPriority());
+            assertEquals(expected.get(i).getCompleted(), actual.get(i).getCompleted());
+            assertEquals(expected.get(i).getCreationDate(), actual.get(i).getCreationDate());
+            assertEquals(expected.get(i).getTaskDueDate(), actual.get(i).getTaskDueDate());
+        }
+    }
+}
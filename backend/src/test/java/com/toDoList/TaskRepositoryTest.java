@@ -2,7 +2,10 @@ package com.toDoList;
 
 import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
@@ -12,10 +15,20 @@ import static org.junit.jupiter.api.Assertions.assertTrue;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
+import com.toDoList.config.CacheProperties;
+import com.toDoList.config.StorageProperties;
 import com.toDoList.exceptions.EntityNotFoundException;
+import com.toDoList.exceptions.PreconditionFailedException;
+import com.toDoList.models.CompletionTimeReport;
+import com.toDoList.models.CompletionTimeStats;
+import com.toDoList.models.QueryCacheStats;
+import com.toDoList.models.TaskPage;
 import com.toDoList.models.Tasks;
+import com.toDoList.services.InMemoryTaskStore;
 import com.toDoList.services.TaskRepository;
 
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
 class TaskRepositoryTest {
 
     private TaskRepository taskRepository;
@@ -134,6 +147,112 @@ class TaskRepositoryTest {
         assertThrows(EntityNotFoundException.class, () -> taskRepository.delete(nonExistingId));
     }
 
+    @Test
+    void givenTaskBatch_whenBulkMutations_thenEachItemIsReportedInOrder() {
+        // Given
+        List<Tasks> batch = new ArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            batch.add(new Tasks(null, "Bulk " + i, TaskPriority.LOW, false));
+        }
+
+        // When
+        List<Tasks> created = taskRepository.createAll(batch);
+
+        // Then ids are one consecutive range
+        for (int i = 1; i < created.size(); i++) {
+            assertEquals(created.get(0).getId() + i, created.get(i).getId());
+        }
+
+        // When
+        Tasks rename = new Tasks(created.get(1).getId(), "Bulk renamed", null, true);
+        Tasks missing = new Tasks(999, "Missing", null, null);
+        List<Optional<Tasks>> updated = taskRepository.patchUpdateAll(List.of(rename, missing));
+        List<Boolean> deleted = taskRepository.deleteAll(List.of(created.get(2).getId(), 999));
+
+        // Then
+        assertTrue(updated.get(0).isPresent());
+        assertFalse(updated.get(1).isPresent());
+        assertEquals("Bulk renamed", taskRepository.findById(created.get(1).getId()).orElseThrow().getTaskName());
+        assertEquals(1, taskRepository.findAll(0, 10, null, null, null, true, "bulk").size());
+        assertEquals(List.of(true, false), deleted);
+        assertFalse(taskRepository.findById(created.get(2).getId()).isPresent());
+    }
+
+    @Test
+    void givenMoreTasksThanOneChunk_whenStreamAll_thenEveryTaskIsStreamedInSortOrder() {
+        // Given
+        List<Tasks> batch = new ArrayList<>();
+        for (int i = 0; i < 2500; i++) {
+            batch.add(new Tasks(null, "Streamed " + i, TaskPriority.values()[i % 3], i % 2 == 0));
+        }
+        taskRepository.createAll(batch);
+
+        // When
+        List<Tasks> streamed = taskRepository.streamAll("priority", null, null, null).toList();
+        List<Tasks> open = taskRepository.streamAll(null, null, false, "streamed").toList();
+
+        // Then
+        assertEquals(taskRepository.findAll(0, 3000, "priority", null, null, null, null), streamed);
+        assertEquals(1250, open.size());
+    }
+
+    @Test
+    void givenStaleVersion_whenPatchUpdate_thenTaskIsLeftUnchanged() {
+        // Given
+        Tasks task = new Tasks(null, "Versioned", TaskPriority.LOW, false);
+        taskRepository.create(task);
+        long storeVersion = taskRepository.getVersion();
+        assertEquals(1, task.getVersion());
+
+        // When
+        taskRepository.patchUpdate(task.getId(), new Tasks(null, "Versioned twice", null, null), 1L);
+
+        // Then
+        assertEquals(2, task.getVersion());
+        assertEquals(storeVersion + 1, taskRepository.getVersion());
+        assertThrows(PreconditionFailedException.class,
+                () -> taskRepository.patchUpdate(task.getId(), new Tasks(null, "Lost update", TaskPriority.HIGH, null), 1L));
+        assertThrows(PreconditionFailedException.class, () -> taskRepository.markAsDone(task.getId(), 1L));
+        assertEquals("Versioned twice", taskRepository.findById(task.getId()).orElseThrow().getTaskName());
+        assertEquals(1, taskRepository.findAll(0, 10, null, null, "LOW", false, "versioned").size());
+        assertEquals(storeVersion + 1, taskRepository.getVersion());
+    }
+
+    @Test
+    void givenCachedQueries_whenUnrelatedAndRelatedTasksChange_thenOnlyAffectedResultsAreReloaded() {
+        // Given
+        Tasks low = new Tasks(null, "Cached low", TaskPriority.LOW, false);
+        Tasks high = new Tasks(null, "Cached high", TaskPriority.HIGH, false);
+        taskRepository.create(low);
+        taskRepository.create(high);
+        taskRepository.findAll(0, 10, null, null, "LOW", null, null);
+        taskRepository.findAll(0, 10, null, null, null, null, "Cached");
+
+        // When the same queries are repeated (with the name filter in another case)
+        taskRepository.findAll(0, 10, null, null, "LOW", null, null);
+        taskRepository.findAll(0, 10, null, null, null, null, "cached");
+
+        // Then
+        QueryCacheStats stats = taskRepository.getQueryCacheStats();
+        assertEquals(2, stats.hits());
+        assertEquals(2, stats.misses());
+
+        // When a HIGH task changes, only the name query can be affected
+        taskRepository.markAsDone(high.getId());
+
+        // Then
+        assertEquals(1, taskRepository.getQueryCacheStats().size());
+        assertEquals(1, taskRepository.findAll(0, 10, null, null, "LOW", null, null).size());
+        assertEquals(3, taskRepository.getQueryCacheStats().hits());
+
+        // When a task moves into the LOW filter, that result is reloaded too
+        taskRepository.patchUpdate(high.getId(), new Tasks(null, null, TaskPriority.LOW, null));
+
+        // Then
+        assertEquals(2, taskRepository.findAll(0, 10, null, null, "LOW", null, null).size());
+        assertEquals(3, taskRepository.getQueryCacheStats().hits());
+    }
+
     @Test
     void givenTasks_whenFindAllWithParams_thenTasksAreReturned() {
         // Given
@@ -150,6 +269,125 @@ class TaskRepositoryTest {
         assertEquals("Task 1", tasks.get(1).getTaskName());
     }
 
+    @Test
+    void givenMutatedTasks_whenFindAllWithFilters_thenIndexesReflectChanges() {
+        // Given
+        Tasks task1 = new Tasks(null, "Task 1", TaskPriority.LOW, false, LocalDate.now());
+        Tasks task2 = new Tasks(null, "Task 2", TaskPriority.LOW, false, LocalDate.now());
+        taskRepository.create(task1);
+        taskRepository.create(task2);
+
+        // When
+        taskRepository.patchUpdate(task1.getId(), new Tasks(null, null, TaskPriority.MEDIUM, null));
+        taskRepository.markAsDone(task2.getId());
+
+        // Then
+        List<Tasks> medium = taskRepository.findAll(0, 10, null, null, "MEDIUM", null, null);
+        assertEquals(1, medium.size());
+        assertEquals(task1.getId(), medium.get(0).getId());
+        List<Tasks> lowAndDone = taskRepository.findAll(0, 10, null, null, "LOW", true, null);
+        assertEquals(1, lowAndDone.size());
+        assertEquals(task2.getId(), lowAndDone.get(0).getId());
+        assertTrue(taskRepository.findAll(0, 10, null, null, "LOW", false, null).isEmpty());
+
+        // When deleted, the task leaves every index
+        taskRepository.delete(task2.getId());
+        assertTrue(taskRepository.findAll(0, 10, null, null, null, true, null).isEmpty());
+    }
+
+    @Test
+    void givenTasks_whenFindAllSorted_thenPreSortedViewsMatchStableSort() {
+        // Given
+        taskRepository.create(new Tasks(null, "Low no date", TaskPriority.LOW, false));
+        taskRepository.create(new Tasks(null, "Medium later", TaskPriority.MEDIUM, false, LocalDate.now().plusDays(3)));
+        taskRepository.create(new Tasks(null, "High soon", TaskPriority.HIGH, false, LocalDate.now().plusDays(1)));
+        taskRepository.create(new Tasks(null, "Low soon", TaskPriority.LOW, false, LocalDate.now().plusDays(1)));
+        List<Tasks> all = taskRepository.findAll(0, 100, null, null, null, null, null);
+
+        // When
+        List<Tasks> byPriority = taskRepository.findAll(0, 100, "priority", null, null, null, null);
+        List<Tasks> byDueDate = taskRepository.findAll(0, 100, "taskDueDate", null, null, null, null);
+        List<Tasks> secondDueDatePage = taskRepository.findAll(1, 2, "taskDueDate", null, null, null, null);
+
+        // Then
+        assertEquals(all.stream().sorted(Comparator.comparing(Tasks::getTaskPriority)).toList(), byPriority);
+        List<Tasks> expectedByDueDate = all.stream()
+                .sorted(Comparator.comparing(Tasks::getTaskDueDate, Comparator.nullsLast(Comparator.naturalOrder())))
+                .toList();
+        assertEquals(expectedByDueDate, byDueDate);
+        assertEquals("Low no date", byDueDate.get(byDueDate.size() - 1).getTaskName());
+        assertEquals(expectedByDueDate.subList(2, 4), secondDueDatePage);
+    }
+
+    @Test
+    void givenTasks_whenPagingWithCursor_thenPagesFollowSortOrderWithoutGaps() {
+        // Given
+        taskRepository.create(new Tasks(null, "Low later", TaskPriority.LOW, false, LocalDate.now().plusDays(2)));
+        taskRepository.create(new Tasks(null, "High no date", TaskPriority.HIGH, false));
+        taskRepository.create(new Tasks(null, "Medium soon", TaskPriority.MEDIUM, false, LocalDate.now().plusDays(1)));
+        taskRepository.create(new Tasks(null, "High later", TaskPriority.HIGH, false, LocalDate.now().plusDays(2)));
+
+        for (String sortBy : new String[] { null, "priority", "taskDueDate" }) {
+            // When
+            List<Tasks> expected = taskRepository.findAll(0, 100, sortBy, null, null, null, null);
+            List<Tasks> walked = new ArrayList<>();
+            TaskPage page = taskRepository.findPage("", 2, sortBy, null, null, null);
+            walked.addAll(page.tasks());
+            while (page.nextCursor() != null) {
+                page = taskRepository.findPage(page.nextCursor(), 2, sortBy, null, null, null);
+                walked.addAll(page.tasks());
+            }
+
+            // Then
+            assertEquals(expected.stream().map(Tasks::getId).toList(), walked.stream().map(Tasks::getId).toList());
+        }
+    }
+
+    @Test
+    void givenCursorForAnotherSort_whenFindPage_thenExceptionIsThrown() {
+        // Given
+        taskRepository.create(new Tasks(null, "Task", TaskPriority.LOW, false, LocalDate.now()));
+        String cursor = taskRepository.findPage("", 1, "priority", null, null, null).nextCursor();
+
+        // When & Then
+        assertThrows(IllegalArgumentException.class, () -> taskRepository.findPage(cursor, 1, "taskDueDate", null, null, null));
+        assertThrows(IllegalArgumentException.class, () -> taskRepository.findPage("not-a-cursor", 1, null, null, null, null));
+    }
+
+    @Test
+    void givenRenamedTask_whenFindAllByTaskName_thenNameIndexIsUpdated() {
+        // Given
+        Tasks task = new Tasks(null, "Buy groceries", TaskPriority.LOW, false, LocalDate.now());
+        taskRepository.create(task);
+
+        // When
+        taskRepository.patchUpdate(task.getId(), new Tasks(null, "Pay rent", null, null));
+
+        // Then
+        assertTrue(taskRepository.findAll(0, 10, null, null, null, null, "GROCER").isEmpty());
+        assertEquals(task.getId(), taskRepository.findAll(0, 10, null, null, null, null, "RENT").get(0).getId());
+        assertEquals(task.getId(), taskRepository.findAll(0, 10, null, null, null, null, "y r").get(0).getId());
+        assertTrue(taskRepository.findAll(0, 10, null, null, null, null, "rent pay").isEmpty());
+    }
+
+    @Test
+    void givenTasks_whenSearchAndAutocomplete_thenBestMatchesComeFirst() {
+        // Given
+        taskRepository.create(new Tasks(null, "Review report", TaskPriority.LOW, false));
+        taskRepository.create(new Tasks(null, "Report", TaskPriority.LOW, false));
+        taskRepository.create(new Tasks(null, "Reporting tool", TaskPriority.LOW, false));
+        taskRepository.create(new Tasks(null, "Misreported numbers", TaskPriority.LOW, false));
+
+        // When
+        List<Tasks> results = taskRepository.search("report", 10);
+        List<String> suggestions = taskRepository.autocomplete("rep", 10);
+
+        // Then
+        assertEquals(List.of("Report", "Reporting tool", "Review report", "Misreported numbers"),
+                results.stream().map(Tasks::getTaskName).toList());
+        assertEquals(List.of("Report", "Reporting tool"), suggestions);
+    }
+
     @Test
     void givenCompletedTasks_whenGetAverageCompletionTime_thenAverageTimeIsReturned() {
         // Given
@@ -169,4 +407,106 @@ class TaskRepositoryTest {
         assertTrue(avgTime >= 1440.0 && avgTime <= 2880.0); 
     }
 
-}
\ No newline at end of file
+    @Test
+    void givenCompletionChanges_whenGetAverageCompletionTimePerPriority_thenAggregatesFollowMutations() {
+        // Given
+        Tasks high = new Tasks(null, "High", TaskPriority.HIGH, true, LocalDate.now());
+        high.setDoneDate(high.getCreationDate().plusMinutes(90).plusSeconds(59));
+        Tasks low = new Tasks(null, "Low", TaskPriority.LOW, true, LocalDate.now());
+        low.setDoneDate(low.getCreationDate().plusMinutes(30));
+        taskRepository.create(high);
+        taskRepository.create(low);
+
+        // Then: whole minutes are averaged, as before
+        assertEquals(60.0, taskRepository.getAverageCompletionTime());
+        assertEquals(Map.of(TaskPriority.HIGH, 90.0, TaskPriority.LOW, 30.0), taskRepository.getAverageCompletionTimePerPriority());
+
+        // When the low task moves to HIGH, then is reopened and the high one deleted
+        taskRepository.patchUpdate(low.getId(), new Tasks(null, null, TaskPriority.HIGH, null));
+        assertEquals(Map.of(TaskPriority.HIGH, 60.0), taskRepository.getAverageCompletionTimePerPriority());
+        taskRepository.markAsUnDone(low.getId());
+        taskRepository.delete(high.getId());
+
+        // Then
+        assertEquals(0.0, taskRepository.getAverageCompletionTime());
+        assertTrue(taskRepository.getAverageCompletionTimePerPriority().isEmpty());
+    }
+
+    @Test
+    void givenCompletedTasks_whenGetCompletionTimeDistribution_thenPercentilesAndHistogramAreReturned() {
+        // Given: 100 high priority tasks done after 1..100 minutes and one low priority task done after two days
+        for (int minutes = 1; minutes <= 100; minutes++) {
+            Tasks task = new Tasks(null, "Task " + minutes, TaskPriority.HIGH, true);
+            task.setDoneDate(task.getCreationDate().plusMinutes(minutes));
+            taskRepository.create(task);
+        }
+        Tasks slow = new Tasks(null, "Slow task", TaskPriority.LOW, true);
+        slow.setDoneDate(slow.getCreationDate().plusDays(2));
+        taskRepository.create(slow);
+
+        // When
+        CompletionTimeReport report = taskRepository.getCompletionTimeDistribution();
+
+        // Then
+        CompletionTimeStats high = report.perPriority().get(TaskPriority.HIGH);
+        assertEquals(100, high.count());
+        assertEquals(50, high.p50());
+        assertEquals(90, high.p90());
+        assertEquals(99, high.p99());
+        assertEquals(14L, high.histogram().get("<15m"));
+        assertEquals(45L, high.histogram().get("15m-1h"));
+        assertEquals(101, report.overall().count());
+        assertEquals(1L, report.overall().histogram().get("1d-7d"));
+        long slowMinutes = report.perPriority().get(TaskPriority.LOW).p50();
+        assertTrue(Math.abs(slowMinutes - 2880) <= 2880 * 0.016);
+
+        // When the slow task is reopened it leaves the distribution
+        taskRepository.markAsUnDone(slow.getId());
+        assertEquals(100, taskRepository.getCompletionTimeDistribution().overall().count());
+        assertFalse(taskRepository.getCompletionTimeDistribution().perPriority().containsKey(TaskPriority.LOW));
+    }
+
+    @Test
+    void givenCompletionTimesAtRangeBounds_whenGetCompletionTimeDistribution_thenEachFallsInTheRangeItStarts() {
+        // Given: times on either side of each bound, including 7d and 30d which fall inside wide buckets
+        long[] bounds = { 15, 60, 240, 1440, 10080, 43200 };
+        for (long bound : bounds) {
+            for (long minutes : new long[] { bound - 1, bound }) {
+                Tasks task = new Tasks(null, "Done after " + minutes, TaskPriority.MEDIUM, true);
+                task.setDoneDate(task.getCreationDate().plusMinutes(minutes));
+                taskRepository.create(task);
+            }
+        }
+
+        // When
+        Map<String, Long> histogram = taskRepository.getCompletionTimeDistribution().perPriority().get(TaskPriority.MEDIUM).histogram();
+
+        // Then: a time equal to a bound opens the next range
+        assertEquals(Map.of("<15m", 1L, "15m-1h", 2L, "1h-4h", 2L, "4h-1d", 2L, "1d-7d", 2L, "7d-30d", 2L, ">=30d", 1L), histogram);
+    }
+
+
+    @Test
+    void givenMeterRegistry_whenOperating_thenTimersAndTaskCountGaugesAreRecorded() {
+        // Given
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        TaskRepository metered = new TaskRepository(new StorageProperties(), new CacheProperties(), new InMemoryTaskStore(), meterRegistry);
+        Tasks task = new Tasks(null, "Metered", TaskPriority.HIGH, false);
+
+        // When
+        metered.create(task);
+        metered.create(new Tasks(null, "Open", TaskPriority.HIGH, false));
+        metered.markAsDone(task.getId());
+        metered.findById(task.getId());
+        metered.findById(task.getId());
+        assertThrows(EntityNotFoundException.class, () -> metered.delete(999));
+
+        // Then
+        assertEquals(2, meterRegistry.get("todo.repository").tag("operation", "create").timer().count());
+        assertEquals(2, meterRegistry.get("todo.repository").tag("operation", "findById").timer().count());
+        assertEquals(1, meterRegistry.get("todo.repository").tag("operation", "delete").timer().count());
+        assertEquals(1, meterRegistry.get("todo.tasks").tags("priority", "HIGH", "completed", "true").gauge().value());
+        assertEquals(1, meterRegistry.get("todo.tasks").tags("priority", "HIGH", "completed", "false").gauge().value());
+        assertEquals(0, meterRegistry.get("todo.tasks").tags("priority", "LOW", "completed", "false").gauge().value());
+    }
+}
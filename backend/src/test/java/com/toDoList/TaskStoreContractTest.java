@@ -0,0 +1,167 @@
+package com.toDoList;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import com.toDoList.config.StorageProperties;
+import com.toDoList.models.TaskPage;
+import com.toDoList.models.Tasks;
+import com.toDoList.services.InMemoryTaskStore;
+import com.toDoList.services.TaskRepository;
+import com.toDoList.services.TaskStore;
+
+/**
+ * Checks a storage engine against the default in-memory store: both get the same mutations,
+ * then every read is compared. Subclasses provide the engine and add tests of their own.
+ */
+abstract class TaskStoreContractTest<S extends TaskStore> {
+
+    protected S store;
+    protected InMemoryTaskStore memoryStore;
+    protected TaskRepository repository;
+    protected TaskRepository memoryRepository;
+
+    /**
+     * Creates the engine under test, empty and ready for use.
+     */
+    protected abstract S newStore() throws Exception;
+
+    @BeforeEach
+    void setUpStores() throws Exception {
+        store = newStore();
+        repository = new TaskRepository(new StorageProperties(), store);
+        repository.init();
+        memoryStore = new InMemoryTaskStore();
+        memoryRepository = new TaskRepository(new StorageProperties(), memoryStore);
+        memoryRepository.init();
+
+        // The same mutations on both engines, so every read below can be compared
+        for (TaskRepository engine : List.of(repository, memoryRepository)) {
+            List<Tasks> batch = new ArrayList<>();
+            for (int i = 0; i < 40; i++) {
+                LocalDate dueDate = i % 4 == 0 ? null : LocalDate.of(2030, 1, 1).plusDays(i % 7);
+                batch.add(new Tasks(null, "Task " + i % 13 + (i % 5 == 0 ? " groceries" : ""), TaskPriority.values()[i % 3], false, dueDate));
+            }
+            batch.subList(0, 20).forEach(engine::create);
+            engine.createAll(batch.subList(20, 40));
+            engine.markAsDone(3);
+            engine.markAsDone(8);
+            engine.markAsDone(22);
+            engine.patchUpdate(10, new Tasks(null, "Buy 100% organic_milk ✓", TaskPriority.LOW, null, LocalDate.of(2030, 1, 2)));
+            engine.delete(12);
+        }
+    }
+
+    @Test
+    void givenSameMutations_whenFindAll_thenStoreMatchesInMemoryStore() {
+        for (String sortBy : new String[] { null, "priority", "taskDueDate" }) {
+            assertSameIds(memoryRepository.findAll(0, 100, sortBy, null, null, null, null),
+                    repository.findAll(0, 100, sortBy, null, null, null, null));
+            assertSameIds(memoryRepository.findAll(1, 7, sortBy, null, "MEDIUM", false, "task"),
+                    repository.findAll(1, 7, sortBy, null, "MEDIUM", false, "task"));
+            assertSameIds(memoryRepository.findAll(0, 100, sortBy, null, null, true, null),
+                    repository.findAll(0, 100, sortBy, null, null, true, null));
+        }
+        // LIKE wildcards in the filter are matched literally
+        assertSameIds(memoryRepository.findAll(0, 100, null, null, null, null, "100% organic_"),
+                repository.findAll(0, 100, null, null, null, null, "100% organic_"));
+        assertEquals(1, repository.findAll(0, 100, null, null, null, null, "100% organic_").size());
+        assertSameIds(memoryStore.findDueBetween(LocalDate.of(2030, 1, 2), LocalDate.of(2030, 1, 5)),
+                store.findDueBetween(LocalDate.of(2030, 1, 2), LocalDate.of(2030, 1, 5)));
+    }
+
+    @Test
+    void givenSameMutations_whenPagingWithCursor_thenStoreMatchesInMemoryStore() {
+        for (String sortBy : new String[] { null, "priority", "taskDueDate" }) {
+            List<Tasks> walked = new ArrayList<>();
+            String cursor = null;
+            do {
+                TaskPage page = repository.findPage(cursor, 6, sortBy, null, null, null);
+                walked.addAll(page.tasks());
+                cursor = page.nextCursor();
+            } while (cursor != null);
+            assertSameIds(memoryRepository.findAll(0, 100, sortBy, null, null, null, null), walked);
+        }
+    }
+
+    @Test
+    void givenDueDateChanges_whenSortedByDueDate_thenStoreMatchesInMemoryStore() {
+        // Given: the due date order has been read once
+        repository.findAll(0, 100, "taskDueDate", null, null, null, null);
+
+        // When
+        for (TaskRepository engine : List.of(repository, memoryRepository)) {
+            engine.patchUpdate(5, new Tasks(null, null, null, null, LocalDate.of(2029, 12, 31)));
+            engine.create(new Tasks(null, "Late", TaskPriority.HIGH, false, LocalDate.of(2029, 6, 1)));
+            engine.delete(7);
+        }
+
+        // Then
+        assertSameIds(memoryRepository.findAll(0, 100, "taskDueDate", null, null, null, null),
+                repository.findAll(0, 100, "taskDueDate", null, null, null, null));
+        assertSameIds(memoryStore.findDueBetween(LocalDate.of(2029, 1, 1), LocalDate.of(2030, 1, 3)),
+                store.findDueBetween(LocalDate.of(2029, 1, 1), LocalDate.of(2030, 1, 3)));
+    }
+
+    @Test
+    void givenCompletionChanges_whenGetAggregates_thenStoreMatchesInMemoryStore() {
+        // When
+        repository.markAsUnDone(3);
+        memoryRepository.markAsUnDone(3);
+        repository.patchUpdate(7, new Tasks(null, null, TaskPriority.HIGH, null));
+        memoryRepository.patchUpdate(7, new Tasks(null, null, TaskPriority.HIGH, null));
+
+        // Then
+        assertEquals(memoryRepository.getAverageCompletionTime(), repository.getAverageCompletionTime());
+        assertEquals(memoryRepository.getAverageCompletionTimePerPriority(), repository.getAverageCompletionTimePerPriority());
+        assertEquals(memoryRepository.getCompletionTimeDistribution(), repository.getCompletionTimeDistribution());
+        assertEquals(memoryStore.size(), store.size());
+        for (TaskPriority priority : TaskPriority.values()) {
+            assertEquals(memoryStore.count(priority, true), store.count(priority, true));
+            assertEquals(memoryStore.count(priority, false), store.count(priority, false));
+        }
+    }
+
+    @Test
+    void givenTasks_whenSearchAndAutocomplete_thenStoreMatchesInMemoryStore() {
+        assertSameIds(memoryRepository.search("groceries", 10), repository.search("groceries", 10));
+        assertSameIds(memoryRepository.search("task 1", 5), repository.search("task 1", 5));
+        assertEquals(memoryRepository.autocomplete("task 1", 5), repository.autocomplete("task 1", 5));
+    }
+
+    @Test
+    void givenStoredTask_whenFindById_thenAllFieldsRoundTrip() {
+        assertFalse(repository.findById(12).isPresent());
+        for (int id : new int[] { 1, 3, 7, 10, 22 }) {
+            Tasks expected = memoryRepository.findById(id).orElseThrow();
+            Tasks actual = repository.findById(id).orElseThrow();
+            assertEquals(expected.getTaskName(), actual.getTaskName());
+            assertEquals(expected.getTaskPriority(), actual.getTaskPriority());
+            assertEquals(expected.getCompleted(), actual.getCompleted());
+            assertEquals(expected.getTaskDueDate(), actual.getTaskDueDate());
+            assertEquals(expected.getVersion(), actual.getVersion());
+            assertEquals(expected.getDoneDate() == null, actual.getDoneDate() == null);
+        }
+        assertTrue(repository.findById(3).orElseThrow().getCompleted());
+    }
+
+    protected static int[] counts(TaskStore taskStore) {
+        int[] counts = new int[TaskPriority.values().length * 2];
+        for (TaskPriority priority : TaskPriority.values()) {
+            counts[priority.ordinal() * 2] = taskStore.count(priority, false);
+            counts[priority.ordinal() * 2 + 1] = taskStore.count(priority, true);
+        }
+        return counts;
+    }
+
+    protected static void assertSameIds(List<Tasks> expected, List<Tasks> actual) {
+        assertEquals(expected.stream().map(Tasks::getId).toList(), actual.stream().map(Tasks::getId).toList());
+    }
+}
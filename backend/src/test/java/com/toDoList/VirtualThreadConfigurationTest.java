@@ -0,0 +1,28 @@
+package com.toDoList;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.autoconfigure.AutoConfigurations;
+import org.springframework.boot.autoconfigure.task.TaskExecutionAutoConfiguration;
+import org.springframework.boot.test.context.runner.ApplicationContextRunner;
+import org.springframework.core.task.AsyncTaskExecutor;
+
+class VirtualThreadConfigurationTest {
+
+    private final ApplicationContextRunner contextRunner = new ApplicationContextRunner()
+            .withConfiguration(AutoConfigurations.of(TaskExecutionAutoConfiguration.class));
+
+    @Test
+    void givenVirtualThreadsSetting_whenRunningAsyncWork_thenItRunsOnThatKindOfThread() {
+        for (boolean virtualThreads : new boolean[] { false, true }) {
+            contextRunner.withPropertyValues("spring.threads.virtual.enabled=" + virtualThreads).run(context -> {
+                // The executor behind MVC async work such as streaming exports
+                AsyncTaskExecutor executor = context.getBean("applicationTaskExecutor", AsyncTaskExecutor.class);
+                boolean ranOnVirtualThread = executor.submit(() -> Thread.currentThread().isVirtual()).get(5, TimeUnit.SECONDS);
+                assertEquals(virtualThreads, ranOnVirtualThread);
+            });
+        }
+    }
+}
@@ -0,0 +1,128 @@
+package com.toDoList;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.boot.web.servlet.context.ServletWebServerApplicationContext;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import jakarta.servlet.Filter;
+import jakarta.servlet.http.HttpServletResponse;
+
+/**
+ * Load comparison of the platform-thread and virtual-thread request modes: the same burst of
+ * durable creates (each one waiting on the write-ahead log's fsync) is sent to the application
+ * started in each mode, and the throughput of both runs is logged side by side. Tagged as a load
+ * test, so it only runs when asked for: mvn test -Dgroups=load -DexcludedGroups=none
+ */
+@Tag("load")
+class VirtualThreadLoadTest {
+
+    private static final Logger logger = LoggerFactory.getLogger(VirtualThreadLoadTest.class);
+    private static final int CLIENTS = 100;
+    private static final int REQUESTS_PER_CLIENT = 4;
+    private static final String HANDLER_THREAD_HEADER = "X-Virtual-Handler";
+
+    @TempDir
+    Path dataDir;
+
+    @Test
+    void givenBurstOfDurableCreates_whenServedInEachMode_thenEveryRequestRunsOnThatModesThreads() throws Exception {
+        // When
+        LoadResult platform = run(false);
+        LoadResult virtual = run(true);
+        logger.info("Platform threads: {} requests in {} ms ({} req/s)", platform.requests(), platform.millis(), platform.throughput());
+        logger.info("Virtual threads: {} requests in {} ms ({} req/s)", virtual.requests(), virtual.millis(), virtual.throughput());
+
+        // Then
+        int total = CLIENTS * REQUESTS_PER_CLIENT;
+        assertEquals(total, platform.created());
+        assertEquals(0, platform.virtualHandlers());
+        assertEquals(total, virtual.created());
+        assertEquals(total, virtual.virtualHandlers());
+    }
+
+    private LoadResult run(boolean virtualThreads) throws Exception {
+        try (var context = (ServletWebServerApplicationContext) new SpringApplicationBuilder(ToDoListApplication.class, HandlerThreadProbe.class)
+                .run("--server.port=0",
+                        "--spring.main.banner-mode=off",
+                        "--spring.threads.virtual.enabled=" + virtualThreads,
+                        // A small platform pool, so blocking on the log is what limits that mode
+                        "--server.tomcat.threads.max=20",
+                        "--todo.storage.data-dir=" + dataDir.resolve(virtualThreads ? "virtual" : "platform"));
+                HttpClient client = HttpClient.newBuilder().executor(Executors.newVirtualThreadPerTaskExecutor()).build();
+                ExecutorService clients = Executors.newVirtualThreadPerTaskExecutor()) {
+            URI uri = URI.create("http://localhost:" + context.getWebServer().getPort() + "/todos");
+            long start = System.nanoTime();
+            List<Future<int[]>> results = new ArrayList<>();
+            for (int c = 0; c < CLIENTS; c++) {
+                int clientId = c;
+                results.add(clients.submit(() -> send(client, uri, clientId)));
+            }
+            int created = 0;
+            int virtualHandlers = 0;
+            for (Future<int[]> result : results) {
+                created += result.get()[0];
+                virtualHandlers += result.get()[1];
+            }
+            return new LoadResult(CLIENTS * REQUESTS_PER_CLIENT, created, virtualHandlers, (System.nanoTime() - start) / 1_000_000);
+        }
+    }
+
+    private static int[] send(HttpClient client, URI uri, int clientId) throws IOException, InterruptedException {
+        int created = 0;
+        int virtualHandlers = 0;
+        for (int i = 0; i < REQUESTS_PER_CLIENT; i++) {
+            HttpRequest request = HttpRequest.newBuilder(uri)
+                    .header("Content-Type", "application/json")
+                    .POST(HttpRequest.BodyPublishers.ofString(
+                            "{\"taskName\":\"Load " + clientId + "-" + i + "\",\"taskPriority\":\"LOW\",\"completed\":false}"))
+                    .build();
+            HttpResponse<Void> response = client.send(request, HttpResponse.BodyHandlers.discarding());
+            if (response.statusCode() == 201) {
+                created++;
+            }
+            if (response.headers().firstValue(HANDLER_THREAD_HEADER).map(Boolean::parseBoolean).orElse(false)) {
+                virtualHandlers++;
+            }
+        }
+        return new int[] { created, virtualHandlers };
+    }
+
+    private record LoadResult(int requests, int created, int virtualHandlers, long millis) {
+
+        long throughput() {
+            return requests * 1000L / Math.max(1, millis);
+        }
+    }
+
+    @Configuration
+    static class HandlerThreadProbe {
+
+        @Bean
+        FilterRegistrationBean<Filter> handlerThreadFilter() {
+            return new FilterRegistrationBean<>((request, response, chain) -> {
+                ((HttpServletResponse) response).setHeader(HANDLER_THREAD_HEADER, Boolean.toString(Thread.currentThread().isVirtual()));
+                chain.doFilter(request, response);
+            });
+        }
+    }
+}